@@ -51,4 +51,25 @@ public abstract class AbstractApiClient {
         this.agent = agent.trim();
     }
 
-}
\ No newline at end of file
+    /**
+     * Creates an exception for an unsuccessful response, using the message from the API response if there is one.
+     */
+    StructurizrClientException createException(int statusCode, String json) {
+        String message = null;
+        try {
+            ApiResponse apiResponse = ApiResponse.parse(json);
+            if (apiResponse != null) {
+                message = apiResponse.getMessage();
+            }
+        } catch (Exception e) {
+            // the response isn't an API response (e.g. an error page from a proxy)
+        }
+
+        if (StringUtils.isNullOrEmpty(message)) {
+            message = "The server returned HTTP status code " + statusCode;
+        }
+
+        return new StructurizrClientException(message, statusCode);
+    }
+
+}
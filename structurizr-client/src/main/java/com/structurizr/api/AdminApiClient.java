@@ -12,6 +12,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * A client for the Structurizr Admin API.
@@ -50,32 +52,70 @@ public class AdminApiClient extends AbstractApiClient {
      */
     public List<WorkspaceMetadata> getWorkspaces() throws StructurizrClientException {
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url + WORKSPACE_PATH))
-                    .header(HttpHeaders.AUTHORIZATION, createAuthorizationHeader())
-                    .header(HttpHeaders.USER_AGENT, agent)
-                    .build();
             HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<String> response = client.send(createGetWorkspacesRequest(), HttpResponse.BodyHandlers.ofString());
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            String json = response.body();
-
-            if (response.statusCode() == HttpStatus.SC_OK) {
-                Workspaces workspaces = objectMapper.readValue(response.body(), Workspaces.class);
-                return workspaces.getWorkspaces();
-            } else {
-                ApiResponse apiResponse = ApiResponse.parse(json);
-                throw new StructurizrClientException(apiResponse.getMessage());
-            }
+            return parseWorkspaces(response);
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
         }
     }
 
+    /**
+     * Gets a list of all workspaces asynchronously.
+     *
+     * @return  a CompletableFuture that is completed with a List of WorkspaceMetadata objects, or completed
+     *          exceptionally with a StructurizrClientException if an error occurs
+     */
+    public CompletableFuture<List<WorkspaceMetadata>> getWorkspacesAsync() {
+        HttpClient client = HttpClient.newHttpClient();
+
+        return client.sendAsync(createGetWorkspacesRequest(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    try {
+                        return parseWorkspaces(response);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .exceptionally(t -> {
+                    Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+                    log.error(cause);
+
+                    if (cause instanceof StructurizrClientException) {
+                        throw new CompletionException(cause);
+                    } else {
+                        throw new CompletionException(new StructurizrClientException(cause));
+                    }
+                });
+    }
+
+    private HttpRequest createGetWorkspacesRequest() {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url + WORKSPACE_PATH))
+                .header(HttpHeaders.AUTHORIZATION, createAuthorizationHeader())
+                .header(HttpHeaders.USER_AGENT, agent)
+                .build();
+    }
+
+    private List<WorkspaceMetadata> parseWorkspaces(HttpResponse<String> response) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        String json = response.body();
+
+        if (response.statusCode() == HttpStatus.SC_OK) {
+            Workspaces workspaces = objectMapper.readValue(json, Workspaces.class);
+            return workspaces.getWorkspaces();
+        } else {
+            throw createException(response.statusCode(), json);
+        }
+    }
+
     /**
      * Creates a new workspace.
      *
@@ -104,6 +144,9 @@ public class AdminApiClient extends AbstractApiClient {
                 ApiResponse apiResponse = ApiResponse.parse(json);
                 throw new StructurizrClientException(apiResponse.getMessage());
             }
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
@@ -139,6 +182,9 @@ public class AdminApiClient extends AbstractApiClient {
                 ApiResponse apiResponse = ApiResponse.parse(json);
                 throw new StructurizrClientException(apiResponse.getMessage());
             }
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
@@ -0,0 +1,149 @@
+package com.structurizr.api;
+
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A repeatable HTTP entity that generates JSON straight onto the connection, rather than from an in-memory copy.
+ *
+ * Since the Content-MD5 header (and the HMAC that includes it) must be sent before the content, the JSON is
+ * generated once up-front into a digesting stream (which discards the bytes), to calculate the MD5 digest and
+ * content length, and then generated again when the entity is written.
+ *
+ * The content can optionally be gzip compressed as it is written. The MD5 digest is always that of the
+ * uncompressed JSON, since this is what the server verifies after decoding the request body.
+ */
+final class JsonEntity extends AbstractHttpEntity {
+
+    static final String GZIP_CONTENT_ENCODING = "gzip";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @FunctionalInterface
+    interface JsonProducer {
+
+        void writeTo(OutputStream outputStream) throws Exception;
+
+    }
+
+    private final JsonProducer producer;
+    private final String contentMd5;
+    private final long contentLength;
+    private final boolean gzip;
+
+    JsonEntity(JsonProducer producer) throws Exception {
+        this(producer, false);
+    }
+
+    JsonEntity(JsonProducer producer, boolean gzip) throws Exception {
+        super(ContentType.APPLICATION_JSON, gzip ? GZIP_CONTENT_ENCODING : null);
+
+        this.producer = producer;
+        this.gzip = gzip;
+
+        Md5Digest md5Digest = new Md5Digest();
+        MessageDigest digest = md5Digest.createMessageDigest();
+        CountingOutputStream countingOutputStream = new CountingOutputStream();
+        producer.writeTo(new DigestOutputStream(countingOutputStream, digest));
+
+        this.contentMd5 = md5Digest.format(digest.digest());
+        this.contentLength = countingOutputStream.count;
+    }
+
+    /**
+     * Gets the MD5 digest of the content, in the same format as {@link Md5Digest#generate(String)}.
+     */
+    String getContentMd5() {
+        return contentMd5;
+    }
+
+    /**
+     * Generates the content as a string; this should only be used for debugging.
+     */
+    String getContentAsString() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        produce(outputStream);
+
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        // the compressed length isn't known until the content has been written
+        return gzip ? -1 : contentLength;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writeTo(outputStream);
+
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("An output stream must be specified.");
+        }
+
+        if (gzip) {
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+            produce(gzipOutputStream);
+            gzipOutputStream.finish();
+        } else {
+            produce(outputStream);
+        }
+    }
+
+    private void produce(OutputStream outputStream) throws IOException {
+        try {
+            producer.writeTo(outputStream);
+        } catch (IOException ioe) {
+            throw ioe;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+    }
+
+}
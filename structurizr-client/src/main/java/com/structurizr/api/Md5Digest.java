@@ -2,6 +2,7 @@ package com.structurizr.api;
 
 import javax.xml.bind.DatatypeConverter;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Creates an MD5 digest of content.
@@ -15,8 +16,16 @@ final class Md5Digest {
             content = "";
         }
 
-        MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
-        return DatatypeConverter.printHexBinary(digest.digest(content.getBytes("UTF-8"))).toLowerCase();
+        MessageDigest digest = createMessageDigest();
+        return format(digest.digest(content.getBytes("UTF-8")));
+    }
+
+    MessageDigest createMessageDigest() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(ALGORITHM);
+    }
+
+    String format(byte[] digest) {
+        return DatatypeConverter.printHexBinary(digest).toLowerCase();
     }
 
 }
\ No newline at end of file
@@ -7,12 +7,29 @@ public final class StructurizrClientException extends Exception {
 
     private static final long serialVersionUID = 1L;
 
+    private final int statusCode;
+
     StructurizrClientException(String message) {
+        this(message, 0);
+    }
+
+    StructurizrClientException(String message, int statusCode) {
         super(message);
+        this.statusCode = statusCode;
     }
 
     StructurizrClientException(Throwable cause) {
         super(cause);
+        this.statusCode = 0;
+    }
+
+    /**
+     * Gets the HTTP status code returned by the server, if this exception was caused by an unsuccessful response.
+     *
+     * @return  an HTTP status code, or 0 if not applicable
+     */
+    public int getStatusCode() {
+        return statusCode;
     }
 
 }
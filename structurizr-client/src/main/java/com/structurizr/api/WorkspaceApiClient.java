@@ -4,10 +4,8 @@ import com.structurizr.Workspace;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.encryption.EncryptionLocation;
 import com.structurizr.encryption.EncryptionStrategy;
-import com.structurizr.io.json.EncryptedJsonReader;
-import com.structurizr.io.json.EncryptedJsonWriter;
-import com.structurizr.io.json.JsonReader;
-import com.structurizr.io.json.JsonWriter;
+import com.structurizr.io.json.StreamingJsonReader;
+import com.structurizr.io.json.StreamingJsonWriter;
 import com.structurizr.model.IdGenerator;
 import com.structurizr.util.StringUtils;
 import org.apache.commons.logging.Log;
@@ -16,31 +14,55 @@ import org.apache.hc.client5.http.classic.methods.HttpDelete;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPut;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
-import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.util.TimeValue;
 
 import java.io.*;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A client for the Structurizr workspace API that allows you to get and put Structurizr workspaces in a JSON format.
+ *
+ * Connections to the server are pooled and reused between requests, so a single instance can be used to get or
+ * put a number of workspaces; close the client when it is no longer needed.
+ *
+ * Workspaces can also be retrieved and updated asynchronously (see {@link #getWorkspaceAsync(long)} and
+ * {@link #putWorkspaceAsync(long, Workspace)}), and a number of workspaces can be processed concurrently
+ * using a {@link WorkspaceBatch}.
  */
-public class WorkspaceApiClient extends AbstractApiClient {
+public class WorkspaceApiClient extends AbstractApiClient implements Closeable {
 
     private static final Log log = LogFactory.getLog(WorkspaceApiClient.class);
     private static final String MAIN_BRANCH = "main";
+    private static final int EXECUTOR_THREAD_TIMEOUT = 60; // seconds
+    private static final int EXECUTOR_TERMINATION_TIMEOUT = 60; // seconds
 
     private String user;
 
@@ -52,6 +74,20 @@ public class WorkspaceApiClient extends AbstractApiClient {
 
     private IdGenerator idGenerator = null;
     private boolean mergeFromRemote = true;
+    private boolean compressRequests = false;
+    private boolean cacheWorkspaces = false;
+    private final WorkspaceCache workspaceCache = new WorkspaceCache();
+
+    private int maxConnectionsPerRoute = 5;
+    private int keepAliveTimeout = 30000; // milliseconds
+    private int idleConnectionTimeout = 10000; // milliseconds
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private final List<PoolingHttpClientConnectionManager> retiredConnectionManagers = new ArrayList<>();
+    private Executor executor;
+    private ThreadPoolExecutor defaultExecutor;
+    private final AtomicLong lastNonce = new AtomicLong();
     private File workspaceArchiveLocation = new File(".");
 
     protected WorkspaceApiClient() {
@@ -160,6 +196,257 @@ public class WorkspaceApiClient extends AbstractApiClient {
         this.mergeFromRemote = mergeFromRemote;
     }
 
+    /**
+     * Specifies whether workspace definitions should be gzip compressed when putting a workspace; this reduces the
+     * size of the request substantially, but requires a server that accepts gzip encoded request bodies.
+     * Responses are always requested with compression (via the Accept-Encoding header), and decompressed as they are read.
+     *
+     * @param compressRequests  true if request bodies should be compressed, false otherwise
+     */
+    public void setCompressRequests(boolean compressRequests) {
+        this.compressRequests = compressRequests;
+    }
+
+    /**
+     * Specifies whether workspaces retrieved from the server should be cached (keyed by workspace ID and branch).
+     * Cached workspaces are revalidated using conditional requests (If-None-Match and If-Modified-Since), and the
+     * cached Workspace instance is returned if the server reports that the workspace has not been modified.
+     * This also applies to the workspace retrieved before a put, when merging from the remote workspace.
+     *
+     * If a workspace archive location is set, the cache validators are written alongside the archived workspace
+     * files, so that they can be reused by subsequent processes.
+     *
+     * Only the most recently used workspaces are held in memory, and these may be reclaimed when memory is low.
+     *
+     * Since the same Workspace instance may be returned from more than one call to {@link #getWorkspace(long)},
+     * it should be treated as read-only.
+     *
+     * @param cacheWorkspaces   true if workspaces should be cached, false otherwise
+     */
+    public void setCacheWorkspaces(boolean cacheWorkspaces) {
+        this.cacheWorkspaces = cacheWorkspaces;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections to the Structurizr server (and the number of threads
+     * in the default thread pool used for asynchronous requests). Requests in progress are not affected.
+     *
+     * @param maxConnectionsPerRoute    the maximum number of connections (must be 1 or more)
+     */
+    public synchronized void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        if (maxConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("The maximum number of connections per route must be 1 or more.");
+        }
+
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        retireHttpClient();
+
+        if (defaultExecutor != null) {
+            // the core pool size can't be larger than the maximum pool size at any point
+            if (maxConnectionsPerRoute > defaultExecutor.getMaximumPoolSize()) {
+                defaultExecutor.setMaximumPoolSize(maxConnectionsPerRoute);
+                defaultExecutor.setCorePoolSize(maxConnectionsPerRoute);
+            } else {
+                defaultExecutor.setCorePoolSize(maxConnectionsPerRoute);
+                defaultExecutor.setMaximumPoolSize(maxConnectionsPerRoute);
+            }
+        }
+    }
+
+    /**
+     * Sets how long a connection can be kept alive for reuse, when the server doesn't specify a shorter duration.
+     * Requests in progress are not affected.
+     *
+     * @param keepAliveTimeoutInMilliseconds    the keep-alive timeout in milliseconds
+     */
+    public synchronized void setKeepAliveTimeout(int keepAliveTimeoutInMilliseconds) {
+        if (keepAliveTimeoutInMilliseconds < 0) {
+            throw new IllegalArgumentException("The keep-alive timeout must be a positive integer.");
+        }
+
+        this.keepAliveTimeout = keepAliveTimeoutInMilliseconds;
+        retireHttpClient();
+    }
+
+    /**
+     * Sets how long a pooled connection can be idle for before it is evicted.
+     *
+     * @param idleConnectionTimeoutInMilliseconds   the idle connection timeout in milliseconds
+     */
+    public synchronized void setIdleConnectionTimeout(int idleConnectionTimeoutInMilliseconds) {
+        if (idleConnectionTimeoutInMilliseconds < 0) {
+            throw new IllegalArgumentException("The idle connection timeout must be a positive integer.");
+        }
+
+        this.idleConnectionTimeout = idleConnectionTimeoutInMilliseconds;
+    }
+
+    /**
+     * Sets the executor used to run asynchronous requests; this could, for example, be an executor that creates
+     * a virtual thread per task. By default, a thread pool with one thread per pooled connection is used.
+     * An executor specified here is not shut down when this client is closed.
+     *
+     * @param executor  an Executor, or null to use the default thread pool
+     */
+    public synchronized void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Closes any pooled connections to the Structurizr server, and shuts down the default thread pool used
+     * for asynchronous requests. Asynchronous requests that have already been submitted are completed before
+     * the connections are closed. This client can still be used afterwards, in which case new connections
+     * (and threads) will be created as required.
+     */
+    @Override
+    public void close() {
+        ThreadPoolExecutor executorToShutdown;
+        synchronized (this) {
+            executorToShutdown = defaultExecutor;
+            defaultExecutor = null;
+        }
+
+        if (executorToShutdown != null) {
+            // this happens outside the lock, because the requests being waited for need it to get the HTTP client
+            executorToShutdown.shutdown();
+            try {
+                if (!executorToShutdown.awaitTermination(EXECUTOR_TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                    log.warn("Asynchronous requests did not complete within " + EXECUTOR_TERMINATION_TIMEOUT + " seconds");
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            retireHttpClient();
+
+            for (PoolingHttpClientConnectionManager retiredConnectionManager : retiredConnectionManagers) {
+                retiredConnectionManager.close();
+            }
+            retiredConnectionManagers.clear();
+        }
+    }
+
+    /**
+     * Stops the current HTTP client from being used for new requests, so that the next request creates
+     * one with the current settings. Connections leased by requests in progress are closed once they have
+     * been returned to the pool, rather than immediately.
+     */
+    private void retireHttpClient() {
+        if (httpClient != null) {
+            retiredConnectionManagers.add(connectionManager);
+            httpClient = null;
+            connectionManager = null;
+        }
+
+        closeUnusedConnectionManagers();
+    }
+
+    private void closeUnusedConnectionManagers() {
+        Iterator<PoolingHttpClientConnectionManager> iterator = retiredConnectionManagers.iterator();
+        while (iterator.hasNext()) {
+            PoolingHttpClientConnectionManager retiredConnectionManager = iterator.next();
+            retiredConnectionManager.closeIdle(TimeValue.ZERO_MILLISECONDS);
+
+            if (retiredConnectionManager.getTotalStats().getLeased() == 0) {
+                retiredConnectionManager.close();
+                iterator.remove();
+            }
+        }
+    }
+
+    private synchronized CloseableHttpClient getHttpClient() {
+        if (!retiredConnectionManagers.isEmpty()) {
+            closeUnusedConnectionManagers();
+        }
+
+        if (httpClient == null) {
+            connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .useSystemProperties()
+                    .setMaxConnPerRoute(maxConnectionsPerRoute)
+                    .setMaxConnTotal(maxConnectionsPerRoute)
+                    .build();
+
+            TimeValue maximumKeepAlive = TimeValue.ofMilliseconds(keepAliveTimeout);
+            httpClient = HttpClientBuilder.create()
+                    .useSystemProperties()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> {
+                        // use the server's keep-alive duration, if it's shorter than the configured duration
+                        TimeValue keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                        return keepAlive.compareTo(maximumKeepAlive) < 0 ? keepAlive : maximumKeepAlive;
+                    })
+                    .build();
+        } else {
+            // idle connections are evicted here, rather than via a background thread
+            connectionManager.closeExpired();
+            connectionManager.closeIdle(TimeValue.ofMilliseconds(idleConnectionTimeout));
+        }
+
+        return httpClient;
+    }
+
+    private synchronized Executor getExecutor() {
+        if (executor != null) {
+            return executor;
+        }
+
+        if (defaultExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            defaultExecutor = new ThreadPoolExecutor(
+                    maxConnectionsPerRoute,
+                    maxConnectionsPerRoute,
+                    EXECUTOR_THREAD_TIMEOUT,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "structurizr-workspace-api-client-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+            // idle threads are stopped, so an unclosed client doesn't keep threads around
+            defaultExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return defaultExecutor;
+    }
+
+    /**
+     * A request to the Structurizr server, which can be executed asynchronously.
+     */
+    @FunctionalInterface
+    interface Request<T> {
+
+        T execute() throws StructurizrClientException;
+
+    }
+
+    /**
+     * Executes a request asynchronously.
+     *
+     * @return  a CompletableFuture that is completed with the result of the request, or completed exceptionally
+     *          with a StructurizrClientException if the request fails
+     */
+    <T> CompletableFuture<T> executeAsync(Request<T> request) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    future.complete(request.execute());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException ree) {
+            future.completeExceptionally(new StructurizrClientException(ree));
+        }
+
+        return future;
+    }
+
     /**
      * Locks the workspace with the given ID.
      *
@@ -187,7 +474,9 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException("The workspace ID must be a positive integer.");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
+
             HttpUriRequestBase httpRequest;
 
             if (lock) {
@@ -201,7 +490,7 @@ public class WorkspaceApiClient extends AbstractApiClient {
             addHeaders(httpRequest, "", "");
             debugRequest(httpRequest, null);
 
-            try (CloseableHttpResponse response = httpClient.execute(httpRequest)) {
+            return execute(httpClient, httpRequest, response -> {
                 String json = EntityUtils.toString(response.getEntity());
                 debugResponse(response, json);
 
@@ -212,7 +501,10 @@ public class WorkspaceApiClient extends AbstractApiClient {
                 } else {
                     throw new StructurizrClientException(apiResponse.getMessage());
                 }
-            }
+            });
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
@@ -227,36 +519,152 @@ public class WorkspaceApiClient extends AbstractApiClient {
      * @throws StructurizrClientException   if there are problems related to the network, authorization, JSON deserialization, etc
      */
     public Workspace getWorkspace(long workspaceId) throws StructurizrClientException {
-        String json = getWorkspaceAsJson(workspaceId);
+        if (workspaceId <= 0) {
+            throw new IllegalArgumentException("The workspace ID must be a positive integer.");
+        }
+
+        Workspace workspace = getWorkspace(workspaceId, cacheWorkspaces);
+        if (workspace == null) {
+            // the cached copy of the workspace could not be used, so retrieve it again
+            workspaceCache.remove(workspaceId, getCacheBranch(), workspaceArchiveLocation);
+            workspace = getWorkspace(workspaceId, false);
+        }
+
+        return workspace;
+    }
+
+    /**
+     * Gets the workspace with the given ID asynchronously.
+     *
+     * @param workspaceId the workspace ID
+     * @return a CompletableFuture that is completed with the Workspace instance, or completed exceptionally with a
+     *         StructurizrClientException if there are problems related to the network, authorization, JSON deserialization, etc
+     */
+    public CompletableFuture<Workspace> getWorkspaceAsync(long workspaceId) {
+        if (workspaceId <= 0) {
+            throw new IllegalArgumentException("The workspace ID must be a positive integer.");
+        }
+
+        return executeAsync(() -> getWorkspace(workspaceId));
+    }
 
+    private Workspace getWorkspace(long workspaceId, boolean useCache) throws StructurizrClientException {
         try {
-            if (encryptionStrategy == null) {
-                if (json.contains("\"encryptionStrategy\"") && json.contains("\"ciphertext\"")) {
-                    log.warn("The JSON may contain a client-side encrypted workspace, but no passphrase has been specified.");
-                }
+            CloseableHttpClient httpClient = getHttpClient();
 
-                JsonReader jsonReader = new JsonReader();
-                jsonReader.setIdGenerator(idGenerator);
-                return jsonReader.read(new StringReader(json));
-            } else {
-                EncryptedWorkspace encryptedWorkspace = new EncryptedJsonReader().read(new StringReader(json));
+            log.info("Getting workspace with ID " + workspaceId);
+
+            WorkspaceCache.CachedWorkspace cachedWorkspace = useCache ? workspaceCache.get(workspaceId, getCacheBranch(), workspaceArchiveLocation) : null;
+
+            HttpGet httpGet = createGetWorkspaceRequest(workspaceId);
+            addHeaders(httpGet, "", "");
+            if (cachedWorkspace != null) {
+                addConditionalHeaders(httpGet, cachedWorkspace);
+            }
+            debugRequest(httpGet, null);
+
+            return execute(httpClient, httpGet, response -> {
+                if (response.getCode() == HttpStatus.SC_NOT_MODIFIED && cachedWorkspace != null) {
+                    debugResponse(response, null);
+                    log.info("Workspace with ID " + workspaceId + " has not been modified");
+
+                    return readCachedWorkspace(workspaceId, cachedWorkspace);
+                } else if (response.getCode() == HttpStatus.SC_OK) {
+                    // the workspace is parsed (and archived) as it is streamed from the server
+                    debugResponse(response, null);
 
-                if (encryptedWorkspace.getEncryptionStrategy() != null) {
-                    encryptedWorkspace.getEncryptionStrategy().setPassphrase(encryptionStrategy.getPassphrase());
-                    return encryptedWorkspace.getWorkspace();
+                    File archiveFile = createArchiveFile(workspaceId);
+                    Workspace workspace;
+                    try (InputStream inputStream = archiveWorkspace(archiveFile, response.getEntity().getContent())) {
+                        workspace = createStreamingJsonReader().read(inputStream);
+                    }
+
+                    if (cacheWorkspaces) {
+                        cacheWorkspace(workspaceId, response, archiveFile, workspace);
+                    }
+
+                    return workspace;
                 } else {
-                    // this workspace isn't encrypted, even though the client has an encryption strategy set
-                    JsonReader jsonReader = new JsonReader();
-                    jsonReader.setIdGenerator(idGenerator);
-                    return jsonReader.read(new StringReader(json));
+                    String json = EntityUtils.toString(response.getEntity());
+                    debugResponse(response, json);
+
+                    throw createException(response, json);
                 }
-            }
+            });
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
         }
     }
 
+    private StreamingJsonReader createStreamingJsonReader() {
+        StreamingJsonReader jsonReader = new StreamingJsonReader();
+        jsonReader.setIdGenerator(idGenerator);
+        jsonReader.setEncryptionStrategy(encryptionStrategy);
+
+        return jsonReader;
+    }
+
+    private void addConditionalHeaders(HttpGet httpGet, WorkspaceCache.CachedWorkspace cachedWorkspace) {
+        if (cachedWorkspace.getETag() != null) {
+            httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, cachedWorkspace.getETag());
+        }
+
+        if (cachedWorkspace.getLastModified() != null) {
+            httpGet.addHeader(HttpHeaders.IF_MODIFIED_SINCE, cachedWorkspace.getLastModified());
+        }
+    }
+
+    private void cacheWorkspace(long workspaceId, ClassicHttpResponse response, File archiveFile, Workspace workspace) {
+        Header eTag = response.getFirstHeader(HttpHeaders.ETAG);
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+
+        if (eTag == null && lastModified == null) {
+            // the workspace can't be revalidated, so there's no point caching it
+            workspaceCache.remove(workspaceId, getCacheBranch(), workspaceArchiveLocation);
+        } else {
+            workspaceCache.put(workspaceId, getCacheBranch(), workspaceArchiveLocation, new WorkspaceCache.CachedWorkspace(
+                    eTag != null ? eTag.getValue() : null,
+                    lastModified != null ? lastModified.getValue() : null,
+                    archiveFile,
+                    workspace));
+        }
+    }
+
+    /**
+     * Gets the cached workspace, parsing the archived copy if it's not already in memory.
+     *
+     * @return  a Workspace, or null if the cached workspace could not be read
+     */
+    private Workspace readCachedWorkspace(long workspaceId, WorkspaceCache.CachedWorkspace cachedWorkspace) {
+        Workspace cachedInstance = cachedWorkspace.getWorkspace();
+        if (cachedInstance != null) {
+            return cachedInstance;
+        }
+
+        if (cachedWorkspace.getFile() == null) {
+            // the workspace has been reclaimed, and there's no archived copy to read
+            return null;
+        }
+
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(cachedWorkspace.getFile()))) {
+            Workspace workspace = createStreamingJsonReader().read(inputStream);
+            workspaceCache.put(workspaceId, getCacheBranch(), null, cachedWorkspace.withWorkspace(workspace));
+
+            return workspace;
+        } catch (Exception e) {
+            log.warn("Could not read cached workspace from " + cachedWorkspace.getFile().getAbsolutePath());
+            return null;
+        }
+    }
+
+    private String getCacheBranch() {
+        return (StringUtils.isNullOrEmpty(branch) || branch.equalsIgnoreCase(MAIN_BRANCH)) ? "" : branch;
+    }
+
     /**
      * Gets the workspace with the given ID, as a JSON string.
      *
@@ -269,20 +677,16 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException("The workspace ID must be a positive integer.");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
-            log.info("Getting workspace with ID " + workspaceId);
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
 
-            HttpGet httpGet;
-            if (StringUtils.isNullOrEmpty(branch) || branch.equalsIgnoreCase(MAIN_BRANCH)) {
-                httpGet = new HttpGet(url + WORKSPACE_PATH + "/" + workspaceId);
-            } else {
-                httpGet = new HttpGet(url + WORKSPACE_PATH + "/" + workspaceId + "/branch/" + branch);
-            }
+            log.info("Getting workspace with ID " + workspaceId);
 
+            HttpGet httpGet = createGetWorkspaceRequest(workspaceId);
             addHeaders(httpGet, "", "");
             debugRequest(httpGet, null);
 
-            try (CloseableHttpResponse response = httpClient.execute(httpGet)) {
+            return execute(httpClient, httpGet, response -> {
                 String json = EntityUtils.toString(response.getEntity());
                 debugResponse(response, json);
 
@@ -294,13 +698,24 @@ public class WorkspaceApiClient extends AbstractApiClient {
                     ApiResponse apiResponse = ApiResponse.parse(json);
                     throw new StructurizrClientException(apiResponse.getMessage());
                 }
-            }
+            });
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
         }
     }
 
+    private HttpGet createGetWorkspaceRequest(long workspaceId) {
+        if (StringUtils.isNullOrEmpty(branch) || branch.equalsIgnoreCase(MAIN_BRANCH)) {
+            return new HttpGet(url + WORKSPACE_PATH + "/" + workspaceId);
+        } else {
+            return new HttpGet(url + WORKSPACE_PATH + "/" + workspaceId + "/branch/" + branch);
+        }
+    }
+
     /**
      * Updates the given workspace.
      *
@@ -315,7 +730,9 @@ public class WorkspaceApiClient extends AbstractApiClient {
             throw new IllegalArgumentException("The workspace ID must be a positive integer.");
         }
 
-        try (CloseableHttpClient httpClient = HttpClients.createSystem()) {
+        try {
+            CloseableHttpClient httpClient = getHttpClient();
+
             if (mergeFromRemote) {
                 Workspace remoteWorkspace = getWorkspace(workspaceId);
                 if (remoteWorkspace != null) {
@@ -337,39 +754,105 @@ public class WorkspaceApiClient extends AbstractApiClient {
                 httpPut = new HttpPut(url + WORKSPACE_PATH + "/" + workspaceId + "/branch/" + branch);
             }
 
-            StringWriter stringWriter = new StringWriter();
+            StreamingJsonWriter jsonWriter = new StreamingJsonWriter(false);
+            JsonEntity jsonEntity;
             if (encryptionStrategy == null) {
-                JsonWriter jsonWriter = new JsonWriter(false);
-                jsonWriter.write(workspace, stringWriter);
+                jsonEntity = new JsonEntity(outputStream -> jsonWriter.write(workspace, outputStream), compressRequests);
             } else {
                 EncryptedWorkspace encryptedWorkspace = new EncryptedWorkspace(workspace, encryptionStrategy);
                 encryptionStrategy.setLocation(EncryptionLocation.Client);
-                EncryptedJsonWriter jsonWriter = new EncryptedJsonWriter(false);
-                jsonWriter.write(encryptedWorkspace, stringWriter);
+                jsonEntity = new JsonEntity(outputStream -> jsonWriter.write(encryptedWorkspace, outputStream), compressRequests);
             }
 
-            StringEntity stringEntity = new StringEntity(stringWriter.toString(), ContentType.APPLICATION_JSON);
-            httpPut.setEntity(stringEntity);
-            addHeaders(httpPut, EntityUtils.toString(stringEntity), ContentType.APPLICATION_JSON.toString());
+            httpPut.setEntity(jsonEntity);
+            addHeadersWithContentMd5(httpPut, jsonEntity.getContentMd5(), ContentType.APPLICATION_JSON.toString());
 
-            debugRequest(httpPut, EntityUtils.toString(stringEntity));
+            debugRequest(httpPut, log.isDebugEnabled() ? jsonEntity.getContentAsString() : null);
 
             log.info("Putting workspace with ID " + workspaceId);
-            try (CloseableHttpResponse response = httpClient.execute(httpPut)) {
+            execute(httpClient, httpPut, response -> {
                 String json = EntityUtils.toString(response.getEntity());
                 debugResponse(response, json);
 
                 if (response.getCode() != HttpStatus.SC_OK) {
-                    ApiResponse apiResponse = ApiResponse.parse(json);
-                    throw new StructurizrClientException(apiResponse.getMessage());
+                    throw createException(response, json);
                 }
-            }
+
+                // the cached copy of the workspace (if there is one) is now out of date
+                workspaceCache.remove(workspaceId, getCacheBranch(), workspaceArchiveLocation);
+                return null;
+            });
+        } catch (StructurizrClientException sce) {
+            log.error(sce);
+            throw sce;
         } catch (Exception e) {
             log.error(e);
             throw new StructurizrClientException(e);
         }
     }
 
+    /**
+     * Updates the given workspace asynchronously.
+     *
+     * @param workspaceId the workspace ID
+     * @param workspace   the workspace instance to update
+     * @return a CompletableFuture that is completed when the workspace has been updated, or completed exceptionally with a
+     *         StructurizrClientException if there are problems related to the network, authorization, JSON serialization, etc
+     */
+    public CompletableFuture<Void> putWorkspaceAsync(long workspaceId, Workspace workspace) {
+        if (workspace == null) {
+            throw new IllegalArgumentException("The workspace must not be null.");
+        } else if (workspaceId <= 0) {
+            throw new IllegalArgumentException("The workspace ID must be a positive integer.");
+        }
+
+        return executeAsync(() -> {
+            putWorkspace(workspaceId, workspace);
+            return null;
+        });
+    }
+
+    private StructurizrClientException createException(ClassicHttpResponse response, String json) {
+        return createException(response.getCode(), json);
+    }
+
+    /**
+     * Executes a request, handling the response before its connection is released back to the pool.
+     */
+    private <T> T execute(CloseableHttpClient httpClient, ClassicHttpRequest request, ResponseHandler<T> responseHandler) throws Exception {
+        try {
+            return httpClient.execute(request, response -> {
+                try {
+                    return responseHandler.handle(response);
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // e.g. a StructurizrClientException, which is rethrown below
+                    throw new ResponseHandlerException(e);
+                }
+            });
+        } catch (ResponseHandlerException rhe) {
+            throw (Exception)rhe.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+
+        T handle(ClassicHttpResponse response) throws Exception;
+
+    }
+
+    private static final class ResponseHandlerException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        ResponseHandlerException(Exception cause) {
+            super(cause);
+        }
+
+    }
+
     private void debugRequest(HttpUriRequestBase httpRequest, String content) {
         if (log.isDebugEnabled()) {
             log.debug("Request");
@@ -387,7 +870,7 @@ public class WorkspaceApiClient extends AbstractApiClient {
         }
     }
 
-    private void debugResponse(CloseableHttpResponse response, String content) {
+    private void debugResponse(ClassicHttpResponse response, String content) {
         log.debug("Response");
         log.debug("HTTP status code: " + response.getCode());
         if (content != null) {
@@ -398,10 +881,13 @@ public class WorkspaceApiClient extends AbstractApiClient {
     }
 
     private void addHeaders(HttpUriRequestBase httpRequest, String content, String contentType) throws Exception {
+        addHeadersWithContentMd5(httpRequest, new Md5Digest().generate(content), contentType);
+    }
+
+    private void addHeadersWithContentMd5(HttpUriRequestBase httpRequest, String contentMd5, String contentType) throws Exception {
         String httpMethod = httpRequest.getMethod();
         String path = httpRequest.getPath();
-        String contentMd5 = new Md5Digest().generate(content);
-        String nonce = "" + System.currentTimeMillis();
+        String nonce = "" + createNonce();
 
         HashBasedMessageAuthenticationCode hmac = new HashBasedMessageAuthenticationCode(apiSecret);
         HmacContent hmacContent = new HmacContent(httpMethod, path, contentMd5, contentType, nonce);
@@ -415,6 +901,13 @@ public class WorkspaceApiClient extends AbstractApiClient {
         }
     }
 
+    /**
+     * Creates a nonce based upon the current time, which is unique even when requests are made concurrently.
+     */
+    private long createNonce() {
+        return lastNonce.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    }
+
     private void archiveWorkspace(long workspaceId, String json) {
         if (this.workspaceArchiveLocation == null) {
             return;
@@ -431,6 +924,99 @@ public class WorkspaceApiClient extends AbstractApiClient {
         }
     }
 
+    private File createArchiveFile(long workspaceId) {
+        if (this.workspaceArchiveLocation == null) {
+            return null;
+        }
+
+        return new File(workspaceArchiveLocation, createArchiveFileName(workspaceId));
+    }
+
+    private InputStream archiveWorkspace(File archiveFile, InputStream inputStream) {
+        if (archiveFile == null) {
+            return inputStream;
+        }
+
+        try {
+            OutputStream archive = new BufferedOutputStream(new FileOutputStream(archiveFile));
+            debugArchivedWorkspaceLocation(archiveFile);
+
+            return new ArchivingInputStream(inputStream, archive, archiveFile);
+        } catch (Exception e) {
+            log.warn("Could not archive JSON to " + archiveFile.getAbsolutePath());
+            return inputStream;
+        }
+    }
+
+    /**
+     * Copies everything that is read from the underlying stream to an archive file.
+     */
+    private static final class ArchivingInputStream extends FilterInputStream {
+
+        private final OutputStream archive;
+        private final File archiveFile;
+        private boolean archiving = true;
+        private boolean closed = false;
+
+        ArchivingInputStream(InputStream inputStream, OutputStream archive, File archiveFile) {
+            super(inputStream);
+            this.archive = archive;
+            this.archiveFile = archiveFile;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                archive(new byte[] { (byte)b }, 0, 1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                archive(b, off, n);
+            }
+
+            return n;
+        }
+
+        private void archive(byte[] b, int off, int len) {
+            if (archiving) {
+                try {
+                    archive.write(b, off, len);
+                } catch (IOException ioe) {
+                    log.warn("Could not archive JSON to " + archiveFile.getAbsolutePath());
+                    archiving = false;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the JSON parser may have already closed this stream
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            try {
+                // archive anything that hasn't been read (e.g. trailing whitespace)
+                byte[] buffer = new byte[8192];
+                while (read(buffer, 0, buffer.length) != -1) {
+                    // keep reading
+                }
+                super.close();
+            } finally {
+                archive.close();
+            }
+        }
+
+    }
+
     private void debugArchivedWorkspaceLocation(File archiveFile) {
         if (log.isDebugEnabled()) {
             try {
@@ -0,0 +1,249 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.NoHttpResponseException;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gets or puts a number of workspaces concurrently, via a {@link WorkspaceApiClient}.
+ *
+ * The number of concurrent requests is bounded by the executor of the client (by default, one thread per pooled
+ * connection; see {@link WorkspaceApiClient#setMaxConnectionsPerRoute(int)}). Optionally, the rate at which
+ * workspaces are requested can also be limited. Requests that fail because of a network problem, or because the
+ * server is overloaded or unavailable (HTTP 429 or 5xx), are retried with an exponential backoff.
+ */
+public final class WorkspaceBatch {
+
+    private static final Log log = LogFactory.getLog(WorkspaceBatch.class);
+
+    private final WorkspaceApiClient client;
+
+    private int maxRetries = 3;
+    private int retryBackoff = 1000; // milliseconds
+    private double requestsPerSecond = 0; // unlimited
+
+    private final Object rateLimitLock = new Object();
+    private long nextPermitTime = System.nanoTime();
+
+    /**
+     * Creates a new batch for the specified client.
+     *
+     * @param client    the WorkspaceApiClient used to get or put workspaces
+     */
+    public WorkspaceBatch(WorkspaceApiClient client) {
+        if (client == null) {
+            throw new IllegalArgumentException("A workspace API client must be specified.");
+        }
+
+        this.client = client;
+    }
+
+    /**
+     * Sets the maximum number of times that a failed request is retried.
+     *
+     * @param maxRetries    the maximum number of retries (0 or more)
+     */
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("The maximum number of retries must be 0 or more.");
+        }
+
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Sets the delay before the first retry of a failed request; this is doubled for each subsequent retry.
+     *
+     * @param retryBackoffInMilliseconds    the delay in milliseconds
+     */
+    public void setRetryBackoff(int retryBackoffInMilliseconds) {
+        if (retryBackoffInMilliseconds < 0) {
+            throw new IllegalArgumentException("The retry backoff must be a positive integer.");
+        }
+
+        this.retryBackoff = retryBackoffInMilliseconds;
+    }
+
+    /**
+     * Limits the rate at which workspaces are requested (including retries). Note that putting a workspace also
+     * gets the remote workspace, if the client is merging from the remote workspace.
+     *
+     * @param requestsPerSecond     the maximum number of requests per second, or 0 for no limit
+     */
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("The number of requests per second must be 0 or more.");
+        }
+
+        synchronized (rateLimitLock) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+    }
+
+    /**
+     * Gets the workspaces with the given IDs, waiting until all have been retrieved (or have failed).
+     *
+     * @param workspaceIds  a collection of workspace IDs
+     * @return  a WorkspaceBatchResult containing the Workspace instances, and any failures
+     */
+    public WorkspaceBatchResult<Workspace> getWorkspaces(Collection<Long> workspaceIds) {
+        if (workspaceIds == null) {
+            throw new IllegalArgumentException("The workspace IDs must be specified.");
+        }
+
+        Map<Long, CompletableFuture<Workspace>> futures = new LinkedHashMap<>();
+        for (Long workspaceId : new LinkedHashSet<>(workspaceIds)) {
+            if (workspaceId == null || workspaceId <= 0) {
+                throw new IllegalArgumentException("The workspace ID must be a positive integer.");
+            }
+
+            futures.put(workspaceId, client.executeAsync(() -> executeWithRetries(workspaceId, () -> client.getWorkspace(workspaceId))));
+        }
+
+        return waitFor(futures);
+    }
+
+    /**
+     * Puts the given workspaces, waiting until all have been updated (or have failed).
+     *
+     * @param workspaces    a Map of workspace ID to Workspace instance
+     * @return  a WorkspaceBatchResult containing the Workspace instances that were updated, and any failures
+     */
+    public WorkspaceBatchResult<Workspace> putWorkspaces(Map<Long, Workspace> workspaces) {
+        if (workspaces == null) {
+            throw new IllegalArgumentException("The workspaces must be specified.");
+        }
+
+        Map<Long, CompletableFuture<Workspace>> futures = new LinkedHashMap<>();
+        for (Map.Entry<Long, Workspace> entry : workspaces.entrySet()) {
+            Long workspaceId = entry.getKey();
+            Workspace workspace = entry.getValue();
+            if (workspaceId == null || workspaceId <= 0) {
+                throw new IllegalArgumentException("The workspace ID must be a positive integer.");
+            }
+            if (workspace == null) {
+                throw new IllegalArgumentException("The workspace must not be null.");
+            }
+
+            futures.put(workspaceId, client.executeAsync(() -> executeWithRetries(workspaceId, () -> {
+                client.putWorkspace(workspaceId, workspace);
+                return workspace;
+            })));
+        }
+
+        return waitFor(futures);
+    }
+
+    private <T> T executeWithRetries(long workspaceId, WorkspaceApiClient.Request<T> request) throws StructurizrClientException {
+        int attempt = 0;
+        while (true) {
+            try {
+                acquirePermit();
+                return request.execute();
+            } catch (StructurizrClientException sce) {
+                if (attempt >= maxRetries || !isRetryable(sce)) {
+                    throw sce;
+                }
+
+                long delay = (long)retryBackoff << Math.min(attempt, 16);
+                attempt++;
+                log.warn("Request for workspace with ID " + workspaceId + " failed, retrying in " + delay + "ms (attempt " + attempt + " of " + maxRetries + ")");
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new StructurizrClientException(ie);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new StructurizrClientException(ie);
+            }
+        }
+    }
+
+    /**
+     * Waits until the next request is permitted by the rate limit.
+     */
+    private void acquirePermit() throws InterruptedException {
+        long permitTime;
+        synchronized (rateLimitLock) {
+            if (requestsPerSecond <= 0) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            permitTime = nextPermitTime - now > 0 ? nextPermitTime : now;
+            nextPermitTime = permitTime + (long)(TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        }
+
+        long delay = permitTime - System.nanoTime();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+
+    /**
+     * Determines whether a failed request is worth retrying; i.e. it failed because the connection failed or
+     * timed out, or because the server is overloaded or unavailable.
+     */
+    static boolean isRetryable(Throwable throwable) {
+        while (throwable != null) {
+            if (throwable instanceof StructurizrClientException) {
+                int statusCode = ((StructurizrClientException)throwable).getStatusCode();
+                if (statusCode == HttpStatus.SC_TOO_MANY_REQUESTS || statusCode >= HttpStatus.SC_SERVER_ERROR) {
+                    return true;
+                }
+            } else if (isConnectionOrTimeoutException(throwable)) {
+                return true;
+            }
+
+            throwable = throwable.getCause();
+        }
+
+        return false;
+    }
+
+    private static boolean isConnectionOrTimeoutException(Throwable throwable) {
+        // other I/O exceptions (e.g. JSON parsing errors) will fail again when retried
+        return throwable instanceof SocketException ||
+                throwable instanceof SocketTimeoutException ||
+                throwable instanceof ConnectTimeoutException ||
+                throwable instanceof NoHttpResponseException ||
+                throwable instanceof HttpTimeoutException;
+    }
+
+    private <T> WorkspaceBatchResult<T> waitFor(Map<Long, CompletableFuture<T>> futures) {
+        WorkspaceBatchResult<T> result = new WorkspaceBatchResult<>();
+
+        for (Map.Entry<Long, CompletableFuture<T>> entry : futures.entrySet()) {
+            try {
+                result.addResult(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException ce) {
+                Throwable cause = ce.getCause();
+                if (cause instanceof StructurizrClientException) {
+                    result.addFailure(entry.getKey(), (StructurizrClientException)cause);
+                } else {
+                    result.addFailure(entry.getKey(), new StructurizrClientException(cause));
+                }
+            }
+        }
+
+        return result;
+    }
+
+}
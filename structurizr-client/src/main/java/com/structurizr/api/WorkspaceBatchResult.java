@@ -0,0 +1,55 @@
+package com.structurizr.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The result of a {@link WorkspaceBatch} operation, with the outcome of each workspace keyed by workspace ID.
+ *
+ * @param <T>   the type of result
+ */
+public final class WorkspaceBatchResult<T> {
+
+    private final Map<Long, T> results = new LinkedHashMap<>();
+    private final Map<Long, StructurizrClientException> failures = new LinkedHashMap<>();
+
+    WorkspaceBatchResult() {
+    }
+
+    void addResult(long workspaceId, T result) {
+        results.put(workspaceId, result);
+    }
+
+    void addFailure(long workspaceId, StructurizrClientException exception) {
+        failures.put(workspaceId, exception);
+    }
+
+    /**
+     * Gets the results of the workspaces that were processed successfully.
+     *
+     * @return  a Map of workspace ID to result (in the order that the workspaces were specified)
+     */
+    public Map<Long, T> getResults() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * Gets the workspaces that could not be processed, after any retries.
+     *
+     * @return  a Map of workspace ID to exception (in the order that the workspaces were specified)
+     */
+    public Map<Long, StructurizrClientException> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * Determines whether all workspaces were processed successfully.
+     *
+     * @return  true if there were no failures, false otherwise
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import com.structurizr.util.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A cache of workspaces retrieved from the server, keyed by workspace ID and branch, which records the validators
+ * (ETag and Last-Modified) needed to revalidate the workspace with a conditional request.
+ *
+ * The parsed workspace is held in memory and, if an archive location is specified, the validators are also written
+ * to disk alongside the archived copy of the workspace, so that the archive file can be reused by another process.
+ *
+ * Only the most recently used workspaces are cached, and the parsed workspaces are softly referenced, so they can be
+ * reclaimed by the garbage collector when memory is low; in that case, the archived copy is parsed again (or the
+ * workspace is retrieved again, if there is no archived copy).
+ */
+final class WorkspaceCache {
+
+    private static final Log log = LogFactory.getLog(WorkspaceCache.class);
+
+    private static final String ETAG_PROPERTY = "etag";
+    private static final String LAST_MODIFIED_PROPERTY = "lastModified";
+    private static final String FILE_PROPERTY = "file";
+
+    static final int DEFAULT_MAXIMUM_SIZE = 10;
+
+    private final Map<String, CachedWorkspace> workspaces;
+
+    WorkspaceCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    WorkspaceCache(int maximumSize) {
+        // an access-ordered map, so that the least recently used workspace is evicted first
+        workspaces = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedWorkspace> eldest) {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    /**
+     * Finds a cached workspace, in memory or (if not found) on disk.
+     *
+     * @return  a CachedWorkspace, or null if the workspace is not cached
+     */
+    CachedWorkspace get(long workspaceId, String branch, File location) {
+        String key = key(workspaceId, branch);
+        CachedWorkspace cachedWorkspace = workspaces.get(key);
+
+        if (cachedWorkspace == null && location != null) {
+            File propertiesFile = new File(location, createPropertiesFileName(workspaceId, branch));
+            if (propertiesFile.exists()) {
+                try (InputStream inputStream = new FileInputStream(propertiesFile)) {
+                    Properties properties = new Properties();
+                    properties.load(inputStream);
+
+                    File file = new File(location, properties.getProperty(FILE_PROPERTY, ""));
+                    if (file.isFile()) {
+                        cachedWorkspace = new CachedWorkspace(properties.getProperty(ETAG_PROPERTY), properties.getProperty(LAST_MODIFIED_PROPERTY), file, null);
+                        workspaces.put(key, cachedWorkspace);
+                    }
+                } catch (Exception e) {
+                    log.warn("Could not read cached workspace details from " + propertiesFile.getAbsolutePath());
+                }
+            }
+        }
+
+        return cachedWorkspace;
+    }
+
+    void put(long workspaceId, String branch, File location, CachedWorkspace cachedWorkspace) {
+        workspaces.put(key(workspaceId, branch), cachedWorkspace);
+
+        if (location != null && cachedWorkspace.getFile() != null) {
+            File propertiesFile = new File(location, createPropertiesFileName(workspaceId, branch));
+            try (OutputStream outputStream = new FileOutputStream(propertiesFile)) {
+                Properties properties = new Properties();
+                if (cachedWorkspace.getETag() != null) {
+                    properties.setProperty(ETAG_PROPERTY, cachedWorkspace.getETag());
+                }
+                if (cachedWorkspace.getLastModified() != null) {
+                    properties.setProperty(LAST_MODIFIED_PROPERTY, cachedWorkspace.getLastModified());
+                }
+                properties.setProperty(FILE_PROPERTY, cachedWorkspace.getFile().getName());
+                properties.store(outputStream, null);
+            } catch (Exception e) {
+                log.warn("Could not write cached workspace details to " + propertiesFile.getAbsolutePath());
+            }
+        }
+    }
+
+    void remove(long workspaceId, String branch, File location) {
+        workspaces.remove(key(workspaceId, branch));
+
+        if (location != null) {
+            File propertiesFile = new File(location, createPropertiesFileName(workspaceId, branch));
+            if (propertiesFile.exists() && !propertiesFile.delete()) {
+                log.warn("Could not delete " + propertiesFile.getAbsolutePath());
+            }
+        }
+    }
+
+    private String key(long workspaceId, String branch) {
+        return workspaceId + "/" + (StringUtils.isNullOrEmpty(branch) ? "" : branch);
+    }
+
+    private String createPropertiesFileName(long workspaceId, String branch) {
+        return "structurizr-" + workspaceId + "-" + (StringUtils.isNullOrEmpty(branch) ? "" : (branch + "-")) + "cache.properties";
+    }
+
+    static final class CachedWorkspace {
+
+        private final String eTag;
+        private final String lastModified;
+        private final File file;
+        private final SoftReference<Workspace> workspace;
+
+        CachedWorkspace(String eTag, String lastModified, File file, Workspace workspace) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.file = file;
+            this.workspace = workspace != null ? new SoftReference<>(workspace) : null;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Gets the archived copy of the workspace JSON, if there is one.
+         */
+        File getFile() {
+            return file;
+        }
+
+        /**
+         * Gets the parsed workspace, if it has been retrieved by this process and not since reclaimed.
+         */
+        Workspace getWorkspace() {
+            return workspace != null ? workspace.get() : null;
+        }
+
+        CachedWorkspace withWorkspace(Workspace workspace) {
+            return new CachedWorkspace(eTag, lastModified, file, workspace);
+        }
+
+    }
+
+}
@@ -1,12 +1,16 @@
 package com.structurizr.encryption;
 
 import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import javax.xml.bind.DatatypeConverter;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
@@ -17,6 +21,9 @@ import java.util.Base64;
 /**
  * This is implementation of an AES encryption strategy, allowing you to specify the
  * key size, iteration count and passphrase.
+ *
+ * Since deriving the secret key from the passphrase is deliberately slow, the derived key is cached by this
+ * instance until the passphrase is changed.
  */
 public final class AesEncryptionStrategy extends EncryptionStrategy {
 
@@ -28,6 +35,8 @@ public final class AesEncryptionStrategy extends EncryptionStrategy {
     private String salt;
     private String iv;
 
+    private volatile SecretKey secretKey;
+
     AesEncryptionStrategy() {
     }
 
@@ -61,28 +70,61 @@ public final class AesEncryptionStrategy extends EncryptionStrategy {
         this.iv = iv;
     }
 
-    public String encrypt(String plaintext) throws Exception {
-        SecretKey secretKey = createSecretKey();
+    @Override
+    public void setPassphrase(String passphrase) {
+        super.setPassphrase(passphrase);
+        this.secretKey = null;
+    }
 
-        Cipher cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+    public String encrypt(String plaintext) throws Exception {
+        Cipher cipher = createCipher(Cipher.ENCRYPT_MODE);
 
-        byte[] byteDataToEncrypt = plaintext.getBytes();
+        byte[] byteDataToEncrypt = plaintext.getBytes(StandardCharsets.UTF_8);
         byte[] byteCipherText = cipher.doFinal(byteDataToEncrypt);
 
         return Base64.getEncoder().encodeToString(byteCipherText);
     }
 
     public String decrypt(String ciphertext) throws Exception {
-        SecretKey secretKey = createSecretKey();
-
-        Cipher cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+        Cipher cipher = createCipher(Cipher.DECRYPT_MODE);
         byte[] unencrypted = cipher.doFinal(Base64.getDecoder().decode(ciphertext));
 
         return new String(unencrypted, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Creates an OutputStream that encrypts and then Base64 encodes the plaintext as it is written.
+     */
+    @Override
+    public OutputStream encrypt(OutputStream outputStream) throws Exception {
+        return new CipherOutputStream(Base64.getEncoder().wrap(outputStream), createCipher(Cipher.ENCRYPT_MODE));
+    }
+
+    /**
+     * Creates an InputStream that Base64 decodes and then decrypts the ciphertext as it is read.
+     */
+    @Override
+    public InputStream decrypt(InputStream inputStream) throws Exception {
+        return new CipherInputStream(Base64.getDecoder().wrap(inputStream), createCipher(Cipher.DECRYPT_MODE));
+    }
+
+    private Cipher createCipher(int mode) throws Exception {
+        Cipher cipher = Cipher.getInstance(CIPHER_SPECIFICATION);
+        cipher.init(mode, getSecretKey(), new IvParameterSpec(DatatypeConverter.parseHexBinary(iv)));
+
+        return cipher;
+    }
+
+    private SecretKey getSecretKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+        SecretKey secretKey = this.secretKey;
+        if (secretKey == null) {
+            secretKey = createSecretKey();
+            this.secretKey = secretKey;
+        }
+
+        return secretKey;
+    }
+
     private SecretKey createSecretKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
         SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
         KeySpec spec = new PBEKeySpec(getPassphrase().toCharArray(), DatatypeConverter.parseHexBinary(salt), iterationCount, keySize);
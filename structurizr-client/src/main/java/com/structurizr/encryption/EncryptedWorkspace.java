@@ -4,13 +4,20 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.structurizr.AbstractWorkspace;
 import com.structurizr.Workspace;
 import com.structurizr.io.json.JsonReader;
-import com.structurizr.io.json.JsonWriter;
+import com.structurizr.io.json.StreamingJsonWriter;
 
-import java.io.StringReader;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * This is a wrapper around an existing workspace that has been encrypted.
+ *
+ * The workspace is serialised to JSON and encrypted in a single pass (and decrypted and parsed in a single pass),
+ * so that the plaintext JSON is not held in memory alongside the ciphertext.
  */
 public final class EncryptedWorkspace extends AbstractWorkspace {
 
@@ -34,21 +41,26 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         setConfiguration(workspace.getConfiguration());
         workspace.clearConfiguration();
 
-        JsonWriter jsonWriter = new JsonWriter(false);
-        StringWriter stringWriter = new StringWriter();
-        jsonWriter.write(workspace, stringWriter);
+        init(workspace, encryptionStrategy);
 
-        init(workspace, stringWriter.toString(), encryptionStrategy);
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        try (OutputStream outputStream = encryptionStrategy.encrypt(ciphertext)) {
+            new StreamingJsonWriter(false).write(workspace, outputStream);
+        }
+        this.ciphertext = ciphertext.toString(StandardCharsets.UTF_8);
     }
 
     public EncryptedWorkspace(Workspace workspace, String plaintext, EncryptionStrategy encryptionStrategy) throws Exception {
         setConfiguration(workspace.getConfiguration());
         workspace.clearConfiguration();
 
-        init(workspace, plaintext, encryptionStrategy);
+        init(workspace, encryptionStrategy);
+
+        this.plaintext = plaintext;
+        this.ciphertext = encryptionStrategy.encrypt(plaintext);
     }
 
-    private void init(Workspace workspace, String plaintext, EncryptionStrategy encryptionStrategy) throws Exception {
+    private void init(Workspace workspace, EncryptionStrategy encryptionStrategy) {
         this.workspace = workspace;
 
         setId(workspace.getId());
@@ -58,8 +70,6 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         setLastModifiedUser(workspace.getLastModifiedUser());
         setLastModifiedAgent(workspace.getLastModifiedAgent());
 
-        this.plaintext = plaintext;
-        this.ciphertext = encryptionStrategy.encrypt(plaintext);
         this.encryptionStrategy = encryptionStrategy;
     }
 
@@ -68,10 +78,9 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         if (this.workspace != null) {
             return this.workspace;
         } else if (this.ciphertext != null) {
-            this.plaintext = encryptionStrategy.decrypt(ciphertext);
-            JsonReader jsonReader = new JsonReader();
-            StringReader stringReader = new StringReader(plaintext);
-            return jsonReader.read(stringReader);
+            try (InputStream inputStream = encryptionStrategy.decrypt(new CiphertextInputStream(ciphertext))) {
+                return new JsonReader().read(inputStream);
+            }
         } else {
             return null;
         }
@@ -102,4 +111,65 @@ public final class EncryptedWorkspace extends AbstractWorkspace {
         this.encryptionStrategy = encryptionStrategy;
     }
 
+    /**
+     * Reads the UTF-8 encoded bytes of the ciphertext, encoding the characters in chunks rather than all at once.
+     */
+    private static final class CiphertextInputStream extends InputStream {
+
+        private static final int CHUNK_SIZE = 8192;
+
+        private final String ciphertext;
+        private int position = 0;
+        private ByteBuffer buffer = ByteBuffer.allocate(0);
+
+        CiphertextInputStream(String ciphertext) {
+            this.ciphertext = ciphertext;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!fill()) {
+                return -1;
+            }
+
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+
+            return n;
+        }
+
+        private boolean fill() {
+            while (!buffer.hasRemaining()) {
+                if (position >= ciphertext.length()) {
+                    return false;
+                }
+
+                int end = Math.min(position + CHUNK_SIZE, ciphertext.length());
+                if (end < ciphertext.length() && Character.isHighSurrogate(ciphertext.charAt(end - 1))) {
+                    // don't split a surrogate pair across chunks
+                    end++;
+                }
+
+                buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(ciphertext, position, end));
+                position = end;
+            }
+
+            return true;
+        }
+
+    }
+
 }
\ No newline at end of file
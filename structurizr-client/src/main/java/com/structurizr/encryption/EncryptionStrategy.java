@@ -4,6 +4,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Superclass for all encryption strategies.
  */
@@ -44,4 +52,61 @@ public abstract class EncryptionStrategy {
 
     public abstract String decrypt(String ciphertext) throws Exception;
 
+    /**
+     * Creates an OutputStream that encrypts the UTF-8 encoded plaintext written to it, writing the ciphertext
+     * (UTF-8 encoded, in the same format as returned by {@link #encrypt(String)}) to the specified OutputStream.
+     * The ciphertext is only complete once the returned stream has been closed, which also closes the specified stream.
+     *
+     * This implementation buffers the plaintext, and encrypts it when the stream is closed;
+     * subclasses can override this to encrypt the plaintext as it is written.
+     *
+     * @param outputStream  the OutputStream to write the ciphertext to
+     * @return  an OutputStream to write the plaintext to
+     * @throws Exception    if the stream cannot be created
+     */
+    public OutputStream encrypt(OutputStream outputStream) throws Exception {
+        return new FilterOutputStream(new ByteArrayOutputStream()) {
+            private boolean closed = false;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+
+                closed = true;
+                try (OutputStream ciphertextOutputStream = outputStream) {
+                    String plaintext = ((ByteArrayOutputStream)out).toString(StandardCharsets.UTF_8);
+                    ciphertextOutputStream.write(encrypt(plaintext).getBytes(StandardCharsets.UTF_8));
+                } catch (IOException ioe) {
+                    throw ioe;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Creates an InputStream that decrypts the UTF-8 encoded ciphertext (in the same format as accepted by
+     * {@link #decrypt(String)}) read from the specified InputStream, returning the UTF-8 encoded plaintext.
+     *
+     * This implementation reads and decrypts all of the ciphertext up-front;
+     * subclasses can override this to decrypt the ciphertext as it is read.
+     *
+     * @param inputStream   the InputStream to read the ciphertext from
+     * @return  an InputStream to read the plaintext from
+     * @throws Exception    if the stream cannot be created
+     */
+    public InputStream decrypt(InputStream inputStream) throws Exception {
+        String ciphertext = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+
+        return new ByteArrayInputStream(decrypt(ciphertext).getBytes(StandardCharsets.UTF_8));
+    }
+
 }
\ No newline at end of file
@@ -2,28 +2,51 @@ package com.structurizr.http;
 
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
-import org.apache.hc.client5.http.impl.io.BasicHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.TimeValue;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Wrapper for the HTTPClient in Apache HttpComponents, with optional caching and allowed URLs (via regexes).
+ *
+ * Connections are pooled and reused between requests (e.g. when loading a number of themes, icons or DSL includes
+ * from the same host), so instances should be closed when they are no longer needed.
+ * Idle connections are evicted before each request, rather than by a background thread.
  */
-public class HttpClient {
+public class HttpClient implements Closeable {
 
     public static final String CONTENT_TYPE_IMAGE_PNG = "image/png";
 
     private static final int HTTP_OK_STATUS = 200;
+    private static final int HTTP_NOT_MODIFIED_STATUS = 304;
 
     private int timeout = 10000; // milliseconds
+    private int maxConnectionsPerRoute = 5;
+    private int keepAliveTimeout = 30000; // milliseconds
+    private int idleConnectionTimeout = 10000; // milliseconds
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private final List<PoolingHttpClientConnectionManager> retiredConnectionManagers = new ArrayList<>();
     private final Set<String> allowedUrlRegexes = new HashSet<>();
 
     private final Map<String,RemoteContent> contentCache = new HashMap<>();
@@ -32,16 +55,59 @@ public class HttpClient {
     }
 
     /**
-     * Sets the timeout in milliseconds.
+     * Sets the timeout in milliseconds, for requests made after this point.
      *
      * @param timeoutInMilliseconds     the timeout in milliseconds
      */
-    public void setTimeout(int timeoutInMilliseconds) {
+    public synchronized void setTimeout(int timeoutInMilliseconds) {
         if (timeoutInMilliseconds < 0) {
             throw new IllegalArgumentException("Timeout must be a positive integer");
         }
 
         this.timeout = timeoutInMilliseconds;
+        retireHttpClient();
+    }
+
+    /**
+     * Sets the maximum number of pooled connections per route (i.e. per host), for requests made after this point.
+     *
+     * @param maxConnectionsPerRoute    the maximum number of connections (must be 1 or more)
+     */
+    public synchronized void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        if (maxConnectionsPerRoute < 1) {
+            throw new IllegalArgumentException("The maximum number of connections per route must be 1 or more");
+        }
+
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        retireHttpClient();
+    }
+
+    /**
+     * Sets how long a connection can be kept alive for reuse, when the server doesn't specify a shorter duration.
+     * Requests in progress are not affected.
+     *
+     * @param keepAliveTimeoutInMilliseconds    the keep-alive timeout in milliseconds
+     */
+    public synchronized void setKeepAliveTimeout(int keepAliveTimeoutInMilliseconds) {
+        if (keepAliveTimeoutInMilliseconds < 0) {
+            throw new IllegalArgumentException("Keep-alive timeout must be a positive integer");
+        }
+
+        this.keepAliveTimeout = keepAliveTimeoutInMilliseconds;
+        retireHttpClient();
+    }
+
+    /**
+     * Sets how long a pooled connection can be idle for before it is evicted.
+     *
+     * @param idleConnectionTimeoutInMilliseconds   the idle connection timeout in milliseconds
+     */
+    public synchronized void setIdleConnectionTimeout(int idleConnectionTimeoutInMilliseconds) {
+        if (idleConnectionTimeoutInMilliseconds < 0) {
+            throw new IllegalArgumentException("Idle connection timeout must be a positive integer");
+        }
+
+        this.idleConnectionTimeout = idleConnectionTimeoutInMilliseconds;
     }
 
     /**
@@ -68,45 +134,74 @@ public class HttpClient {
 
         RemoteContent remoteContent = contentCache.get(url);
         if (remoteContent == null) {
-            ConnectionConfig connectionConfig = ConnectionConfig.custom()
-                    .setConnectTimeout(timeout, TimeUnit.MILLISECONDS)
-                    .setSocketTimeout(timeout, TimeUnit.MILLISECONDS)
-                    .build();
-
-            BasicHttpClientConnectionManager cm = new BasicHttpClientConnectionManager();
-            cm.setConnectionConfig(connectionConfig);
+            remoteContent = get(url, null);
 
-            try (CloseableHttpClient httpClient = HttpClientBuilder.create()
-                    .useSystemProperties()
-                    .setConnectionManager(cm)
-                    .build()) {
-
-                HttpGet httpGet = new HttpGet(url);
-                CloseableHttpResponse response = httpClient.execute(httpGet);
-
-                int httpStatus = response.getCode();
-                if (httpStatus == HTTP_OK_STATUS) {
-                    String contentType = response.getEntity().getContentType();
-                    if (CONTENT_TYPE_IMAGE_PNG.equals(contentType)) {
-                        remoteContent = new RemoteContent(EntityUtils.toByteArray(response.getEntity()), contentType);
-                    } else {
-                        remoteContent = new RemoteContent(EntityUtils.toString(response.getEntity()), contentType);
-                    }
-
-                    if (cache) {
-                        contentCache.put(url, remoteContent);
-                    }
-                } else {
-                    throw new HttpClientException("The content from " + url + " could not be loaded: HTTP status=" + httpStatus);
-                }
-            } catch (Exception ioe) {
-                throw new HttpClientException("The content from " + url + " could not be loaded: " + ioe.getMessage());
+            if (cache) {
+                contentCache.put(url, remoteContent);
             }
         }
 
         return remoteContent;
     }
 
+    /**
+     * HTTP GET of a URL, revalidating content that was previously retrieved (using the If-None-Match and
+     * If-Modified-Since headers, if the previous content has an ETag or Last-Modified date respectively).
+     *
+     * @param url               the URL, as a String
+     * @param previousContent   the content previously retrieved from this URL, or null
+     * @return                  the previous content if it has not been modified, or a new RemoteContent object otherwise
+     */
+    public RemoteContent get(String url, RemoteContent previousContent) {
+        if (!isAllowed(url)) {
+            throw new HttpClientException("Access to " + url + " is not permitted");
+        }
+
+        HttpGet httpGet = new HttpGet(url);
+        if (previousContent != null) {
+            if (previousContent.getETag() != null) {
+                httpGet.addHeader(HttpHeaders.IF_NONE_MATCH, previousContent.getETag());
+            }
+            if (previousContent.getLastModified() != null) {
+                httpGet.addHeader(HttpHeaders.IF_MODIFIED_SINCE, previousContent.getLastModified());
+            }
+        }
+
+        try {
+            return getHttpClient().execute(httpGet, response -> handleResponse(url, response, previousContent));
+        } catch (Exception ioe) {
+            throw new HttpClientException("The content from " + url + " could not be loaded: " + ioe.getMessage());
+        }
+    }
+
+    private RemoteContent handleResponse(String url, ClassicHttpResponse response, RemoteContent previousContent) throws IOException, ParseException {
+        int httpStatus = response.getCode();
+        if (httpStatus == HTTP_NOT_MODIFIED_STATUS && previousContent != null) {
+            return previousContent;
+        } else if (httpStatus == HTTP_OK_STATUS) {
+            RemoteContent remoteContent;
+            String contentType = response.getEntity().getContentType();
+            if (CONTENT_TYPE_IMAGE_PNG.equals(contentType)) {
+                remoteContent = new RemoteContent(EntityUtils.toByteArray(response.getEntity()), contentType);
+            } else {
+                remoteContent = new RemoteContent(EntityUtils.toString(response.getEntity()), contentType);
+            }
+
+            Header eTag = response.getFirstHeader(HttpHeaders.ETAG);
+            if (eTag != null) {
+                remoteContent.setETag(eTag.getValue());
+            }
+            Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            if (lastModified != null) {
+                remoteContent.setLastModified(lastModified.getValue());
+            }
+
+            return remoteContent;
+        } else {
+            throw new HttpClientException("The content from " + url + " could not be loaded: HTTP status=" + httpStatus);
+        }
+    }
+
     /**
      * Adds an allowed URL regex.
      *
@@ -116,6 +211,93 @@ public class HttpClient {
         allowedUrlRegexes.add(regex);
     }
 
+    private synchronized CloseableHttpClient getHttpClient() {
+        if (!retiredConnectionManagers.isEmpty()) {
+            closeUnusedConnectionManagers();
+        }
+
+        if (httpClient == null) {
+            ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                    .setConnectTimeout(timeout, TimeUnit.MILLISECONDS)
+                    .setSocketTimeout(timeout, TimeUnit.MILLISECONDS)
+                    .build();
+
+            connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                    .useSystemProperties()
+                    .setDefaultConnectionConfig(connectionConfig)
+                    .setMaxConnPerRoute(maxConnectionsPerRoute)
+                    .setMaxConnTotal(Math.max(maxConnectionsPerRoute, 25))
+                    .build();
+
+            TimeValue maximumKeepAlive = TimeValue.ofMilliseconds(keepAliveTimeout);
+            httpClient = HttpClientBuilder.create()
+                    .useSystemProperties()
+                    .setConnectionManager(connectionManager)
+                    .setKeepAliveStrategy((response, context) -> {
+                        // use the server's keep-alive duration, if it's shorter than the configured duration
+                        TimeValue keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                        return keepAlive.compareTo(maximumKeepAlive) < 0 ? keepAlive : maximumKeepAlive;
+                    })
+                    .build();
+        } else {
+            connectionManager.closeExpired();
+            connectionManager.closeIdle(TimeValue.ofMilliseconds(idleConnectionTimeout));
+        }
+
+        return httpClient;
+    }
+
+    /**
+     * Closes any pooled connections. This client can still be used afterwards, in which case new connections
+     * will be created as required.
+     */
+    @Override
+    public synchronized void close() {
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IOException ioe) {
+                // ignore, the connections are being discarded anyway
+            }
+
+            httpClient = null;
+            connectionManager = null;
+        }
+
+        for (PoolingHttpClientConnectionManager retiredConnectionManager : retiredConnectionManagers) {
+            retiredConnectionManager.close();
+        }
+        retiredConnectionManagers.clear();
+    }
+
+    /**
+     * Stops the current HTTP client from being used for new requests, so that the next request creates one with
+     * the current settings. Connections leased by requests in progress (on other threads) are closed once they
+     * have been returned to the pool, rather than immediately.
+     */
+    private void retireHttpClient() {
+        if (httpClient != null) {
+            retiredConnectionManagers.add(connectionManager);
+            httpClient = null;
+            connectionManager = null;
+        }
+
+        closeUnusedConnectionManagers();
+    }
+
+    private void closeUnusedConnectionManagers() {
+        Iterator<PoolingHttpClientConnectionManager> iterator = retiredConnectionManagers.iterator();
+        while (iterator.hasNext()) {
+            PoolingHttpClientConnectionManager retiredConnectionManager = iterator.next();
+            retiredConnectionManager.closeIdle(TimeValue.ZERO_MILLISECONDS);
+
+            if (retiredConnectionManager.getTotalStats().getLeased() == 0) {
+                retiredConnectionManager.close();
+                iterator.remove();
+            }
+        }
+    }
+
     private boolean isAllowed(String url) {
         for (String regex : allowedUrlRegexes) {
             if (url.matches(regex)) {
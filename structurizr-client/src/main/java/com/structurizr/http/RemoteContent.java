@@ -11,6 +11,8 @@ public final class RemoteContent {
     private final String content;
     private final byte[] bytes;
     private final String contentType;
+    private String eTag;
+    private String lastModified;
 
     RemoteContent(String content, String contentType) {
         this.content = content;
@@ -36,4 +38,30 @@ public final class RemoteContent {
         return contentType;
     }
 
+    /**
+     * Gets the value of the ETag header returned with this content.
+     *
+     * @return  an ETag, or null if one wasn't returned
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    void setETag(String eTag) {
+        this.eTag = eTag;
+    }
+
+    /**
+     * Gets the value of the Last-Modified header returned with this content.
+     *
+     * @return  a date (as an HTTP date string), or null if one wasn't returned
+     */
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
 }
\ No newline at end of file
@@ -2,10 +2,23 @@ package com.structurizr.io.json;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.structurizr.Workspace;
+import com.structurizr.encryption.EncryptedWorkspace;
 
 class AbstractJsonReader {
 
-    ObjectMapper createObjectMapper() {
+    // these are immutable and thread-safe, so they (and the deserializers cached by Jackson) are shared between readers
+    static final ObjectReader WORKSPACE_READER;
+    static final ObjectReader ENCRYPTED_WORKSPACE_READER;
+
+    static {
+        ObjectMapper objectMapper = createObjectMapper();
+        WORKSPACE_READER = objectMapper.readerFor(Workspace.class);
+        ENCRYPTED_WORKSPACE_READER = objectMapper.readerFor(EncryptedWorkspace.class);
+    }
+
+    static ObjectMapper createObjectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -14,4 +27,4 @@ class AbstractJsonReader {
         return objectMapper;
     }
 
-}
\ No newline at end of file
+}
@@ -1,10 +1,14 @@
 package com.structurizr.io.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.structurizr.Workspace;
+import com.structurizr.encryption.EncryptedWorkspace;
 
 import java.text.SimpleDateFormat;
 import java.util.TimeZone;
@@ -13,10 +17,33 @@ class AbstractJsonWriter {
 
     private static final String ISO_DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
-    ObjectMapper createObjectMapper(boolean indentOutput) {
+    // these are immutable and thread-safe, so they (and the serializers cached by Jackson) are shared between writers
+    private static final ObjectWriter WORKSPACE_WRITER;
+    private static final ObjectWriter INDENTED_WORKSPACE_WRITER;
+    private static final ObjectWriter ENCRYPTED_WORKSPACE_WRITER;
+    private static final ObjectWriter INDENTED_ENCRYPTED_WORKSPACE_WRITER;
+
+    static {
+        ObjectMapper objectMapper = createObjectMapper(false);
+        WORKSPACE_WRITER = objectMapper.writerFor(Workspace.class);
+        INDENTED_WORKSPACE_WRITER = WORKSPACE_WRITER.with(SerializationFeature.INDENT_OUTPUT);
+        ENCRYPTED_WORKSPACE_WRITER = objectMapper.writerFor(EncryptedWorkspace.class);
+        INDENTED_ENCRYPTED_WORKSPACE_WRITER = ENCRYPTED_WORKSPACE_WRITER.with(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    static ObjectWriter getWorkspaceWriter(boolean indentOutput) {
+        return indentOutput ? INDENTED_WORKSPACE_WRITER : WORKSPACE_WRITER;
+    }
+
+    static ObjectWriter getEncryptedWorkspaceWriter(boolean indentOutput) {
+        return indentOutput ? INDENTED_ENCRYPTED_WORKSPACE_WRITER : ENCRYPTED_WORKSPACE_WRITER;
+    }
+
+    static ObjectMapper createObjectMapper(boolean indentOutput) {
         ObjectMapper objectMapper = JsonMapper
                 .builder()
-                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY).build();
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
 
         if (indentOutput) {
             objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
@@ -32,4 +59,4 @@ class AbstractJsonWriter {
         return objectMapper;
     }
 
-}
\ No newline at end of file
+}
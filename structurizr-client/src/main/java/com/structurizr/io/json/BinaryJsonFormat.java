@@ -0,0 +1,116 @@
+package com.structurizr.io.json;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Constants and helpers for the binary workspace format, which is a compact encoding of the same token stream
+ * (object/array markers, property names and values) as the JSON format. The format is written and read
+ * incrementally, by {@link BinaryJsonGenerator} and {@link BinaryJsonParser}.
+ *
+ * Property names and short string values (e.g. IDs, tags, technologies) are written once, and then referenced
+ * via their index in a string table that is built up identically by the writer and reader.
+ */
+final class BinaryJsonFormat {
+
+    static final byte[] MAGIC = { 'S', 'W', 'B' };
+    static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int START_OBJECT = 1;
+    static final int END_OBJECT = 2;
+    static final int START_ARRAY = 3;
+    static final int END_ARRAY = 4;
+    static final int FIELD_NAME = 5;
+    static final int STRING = 6;
+    static final int INT = 7;
+    static final int LONG = 8;
+    static final int DOUBLE = 9;
+    static final int BIG_INTEGER = 10;
+    static final int BIG_DECIMAL = 11;
+    static final int TRUE = 12;
+    static final int FALSE = 13;
+    static final int NULL = 14;
+
+    // longer strings (e.g. descriptions, data URIs) are unlikely to be repeated, so are not added to the string table
+    static final int MAXIMUM_STRING_TABLE_ENTRY_LENGTH = 64;
+
+    private static final int INITIAL_STRING_BUFFER_SIZE = 8192;
+
+    private BinaryJsonFormat() {
+    }
+
+    static boolean isStringTableEntry(String s) {
+        return s.length() <= MAXIMUM_STRING_TABLE_ENTRY_LENGTH;
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        out.writeByte((int)value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable length number");
+    }
+
+    static void writeZigZag(DataOutput out, long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long readZigZag(DataInput in) throws IOException {
+        long value = readVarLong(in);
+
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeUtf8(DataOutput out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string. The buffer grows as the bytes are read, rather than being allocated
+     * up-front, so that a malformed length can't cause a large allocation.
+     *
+     * @param in                the input to read from
+     * @param maximumLength     the maximum length of the string, in bytes
+     */
+    static String readUtf8(DataInput in, int maximumLength) throws IOException {
+        long length = readVarLong(in);
+        if (length < 0 || length > maximumLength) {
+            throw new IOException("Malformed string length: " + length);
+        }
+
+        byte[] bytes = new byte[(int)Math.min(length, INITIAL_STRING_BUFFER_SIZE)];
+        int offset = 0;
+        while (offset < length) {
+            if (offset == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int)Math.min(length, (long)bytes.length * 2));
+            }
+
+            int count = bytes.length - offset;
+            in.readFully(bytes, offset, count);
+            offset += count;
+        }
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
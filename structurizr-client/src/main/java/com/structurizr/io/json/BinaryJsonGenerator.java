@@ -0,0 +1,261 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.ErrorReportConfiguration;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamWriteConstraints;
+import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.io.ContentReference;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.structurizr.io.json.BinaryJsonFormat.*;
+
+/**
+ * A Jackson generator that encodes tokens in the binary workspace format as they are written, rather than
+ * buffering the token stream.
+ * Closing the generator writes the end marker and flushes, but doesn't close, the underlying stream.
+ */
+final class BinaryJsonGenerator extends GeneratorBase {
+
+    private final DataOutputStream out;
+
+    // string -> index in the string table
+    private final Map<String, Integer> stringTable = new HashMap<>();
+
+    BinaryJsonGenerator(DataOutputStream out) throws IOException {
+        super(JsonGenerator.Feature.collectDefaults(), null, new IOContext(StreamReadConstraints.defaults(), StreamWriteConstraints.defaults(),
+                ErrorReportConfiguration.defaults(), new BufferRecycler(), ContentReference.unknown(), false));
+
+        this.out = out;
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _verifyValueWrite("start an array");
+        _writeContext = _writeContext.createChildArrayContext();
+        out.writeByte(START_ARRAY);
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (!_writeContext.inArray()) {
+            _reportError("Current context not an Array but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        out.writeByte(END_ARRAY);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _verifyValueWrite("start an object");
+        _writeContext = _writeContext.createChildObjectContext();
+        out.writeByte(START_OBJECT);
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (!_writeContext.inObject()) {
+            _reportError("Current context not an Object but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        out.writeByte(END_OBJECT);
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (_writeContext.writeFieldName(name) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+        out.writeByte(FIELD_NAME);
+        writeTableString(name);
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (text == null) {
+            writeNull();
+            return;
+        }
+
+        _verifyValueWrite("write a string");
+        out.writeByte(STRING);
+        writeTableString(text);
+    }
+
+    @Override
+    public void writeString(char[] buffer, int offset, int length) throws IOException {
+        writeString(new String(buffer, offset, length));
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] buffer, int offset, int length) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeUTF8String(byte[] buffer, int offset, int length) throws IOException {
+        writeString(new String(buffer, offset, length, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int length) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int length) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeBinary(Base64Variant base64Variant, byte[] data, int offset, int length) throws IOException {
+        // as with the JSON format, binary data is written as a base64 encoded string
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, offset, bytes, 0, length);
+        writeString(base64Variant.encode(bytes));
+    }
+
+    @Override
+    public void writeNumber(int value) throws IOException {
+        _verifyValueWrite("write a number");
+        out.writeByte(INT);
+        writeZigZag(out, value);
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+        _verifyValueWrite("write a number");
+        out.writeByte(LONG);
+        writeZigZag(out, value);
+    }
+
+    @Override
+    public void writeNumber(BigInteger value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        _verifyValueWrite("write a number");
+        out.writeByte(BIG_INTEGER);
+        writeUtf8(out, value.toString());
+    }
+
+    @Override
+    public void writeNumber(double value) throws IOException {
+        _verifyValueWrite("write a number");
+        out.writeByte(DOUBLE);
+        out.writeDouble(value);
+    }
+
+    @Override
+    public void writeNumber(float value) throws IOException {
+        writeNumber((double)value);
+    }
+
+    @Override
+    public void writeNumber(BigDecimal value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+
+        _verifyValueWrite("write a number");
+        out.writeByte(BIG_DECIMAL);
+        writeUtf8(out, value.toString());
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        if (encodedValue == null) {
+            writeNull();
+        } else if (encodedValue.indexOf('.') == -1 && encodedValue.indexOf('e') == -1 && encodedValue.indexOf('E') == -1) {
+            writeNumber(new BigInteger(encodedValue));
+        } else {
+            writeNumber(new BigDecimal(encodedValue));
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _verifyValueWrite("write a boolean value");
+        out.writeByte(state ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite("write a null");
+        out.writeByte(NULL);
+    }
+
+    private void writeTableString(String s) throws IOException {
+        // 0 = a string literal follows, n = the (n-1)th entry in the string table
+        Integer index = stringTable.get(s);
+        if (index != null) {
+            writeVarLong(out, index + 1);
+        } else {
+            writeVarLong(out, 0);
+            writeUtf8(out, s);
+
+            if (isStringTableEntry(s)) {
+                stringTable.put(s, stringTable.size());
+            }
+        }
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) throws IOException {
+        if (_writeContext.writeValue() == JsonWriteContext.STATUS_EXPECT_NAME) {
+            _reportError("Can not " + typeMsg + ", expecting a field name");
+        }
+    }
+
+    @Override
+    public JsonStreamContext getOutputContext() {
+        return _writeContext;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isClosed()) {
+            out.writeByte(END);
+            out.flush();
+        }
+
+        super.close();
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+    }
+
+}
@@ -0,0 +1,319 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.structurizr.io.json.BinaryJsonFormat.*;
+
+/**
+ * A Jackson parser that decodes tokens from the binary workspace format as they are requested, rather than
+ * decoding the entire input up-front.
+ */
+final class BinaryJsonParser extends ParserMinimalBase {
+
+    private final DataInputStream in;
+    private final List<String> stringTable = new ArrayList<>();
+
+    private ObjectCodec codec;
+    private JsonReadContext context = JsonReadContext.createRootContext(null);
+    private boolean closed = false;
+
+    private String text;
+    private Number number;
+    private NumberType numberType;
+
+    BinaryJsonParser(DataInputStream in) {
+        super(0, StreamReadConstraints.defaults());
+
+        this.in = in;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (closed) {
+            return null;
+        }
+
+        text = null;
+        number = null;
+        numberType = null;
+
+        int token = in.readUnsignedByte();
+        switch (token) {
+            case END:
+                closed = true;
+                _currToken = null;
+                return null;
+            case START_OBJECT:
+                context = context.createChildObjectContext(-1, -1);
+                return (_currToken = JsonToken.START_OBJECT);
+            case END_OBJECT:
+                context = context.clearAndGetParent();
+                return (_currToken = JsonToken.END_OBJECT);
+            case START_ARRAY:
+                context = context.createChildArrayContext(-1, -1);
+                return (_currToken = JsonToken.START_ARRAY);
+            case END_ARRAY:
+                context = context.clearAndGetParent();
+                return (_currToken = JsonToken.END_ARRAY);
+            case FIELD_NAME:
+                text = readTableString();
+                context.setCurrentName(text);
+                return (_currToken = JsonToken.FIELD_NAME);
+            case STRING:
+                text = readTableString();
+                return (_currToken = JsonToken.VALUE_STRING);
+            case INT:
+                return number((int)readZigZag(in), NumberType.INT);
+            case LONG:
+                return number(readZigZag(in), NumberType.LONG);
+            case BIG_INTEGER:
+                return number(new BigInteger(readString()), NumberType.BIG_INTEGER);
+            case DOUBLE:
+                return number(in.readDouble(), NumberType.DOUBLE);
+            case BIG_DECIMAL:
+                return number(new BigDecimal(readString()), NumberType.BIG_DECIMAL);
+            case TRUE:
+                return (_currToken = JsonToken.VALUE_TRUE);
+            case FALSE:
+                return (_currToken = JsonToken.VALUE_FALSE);
+            case NULL:
+                return (_currToken = JsonToken.VALUE_NULL);
+            default:
+                throw _constructError("Unsupported token: " + token, null);
+        }
+    }
+
+    private JsonToken number(Number number, NumberType numberType) {
+        this.number = number;
+        this.numberType = numberType;
+
+        return (_currToken = (numberType == NumberType.DOUBLE || numberType == NumberType.BIG_DECIMAL) ? JsonToken.VALUE_NUMBER_FLOAT : JsonToken.VALUE_NUMBER_INT);
+    }
+
+    private String readString() throws IOException {
+        return readUtf8(in, _streamReadConstraints.getMaxStringLength());
+    }
+
+    private String readTableString() throws IOException {
+        long reference = readVarLong(in);
+        if (reference == 0) {
+            String s = readString();
+            if (isStringTableEntry(s)) {
+                stringTable.add(s);
+            }
+
+            return s;
+        } else if (reference <= stringTable.size()) {
+            return stringTable.get((int)(reference - 1));
+        } else {
+            throw _constructError("Malformed string table reference: " + reference, null);
+        }
+    }
+
+    @Override
+    protected void _handleEOF() {
+    }
+
+    @Override
+    @SuppressWarnings("deprecation") // still abstract in this version of Jackson
+    public String getCurrentName() {
+        if (_currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY) {
+            JsonStreamContext parent = context.getParent();
+            return parent != null ? parent.getCurrentName() : null;
+        }
+
+        return context.getCurrentName();
+    }
+
+    @Override
+    public void overrideCurrentName(String name) {
+        try {
+            context.setCurrentName(name);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String getText() {
+        if (_currToken == null) {
+            return null;
+        }
+
+        switch (_currToken) {
+            case FIELD_NAME:
+            case VALUE_STRING:
+                return text;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return number.toString();
+            default:
+                return _currToken.asString();
+        }
+    }
+
+    @Override
+    public char[] getTextCharacters() {
+        String text = getText();
+        return text != null ? text.toCharArray() : null;
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+    @Override
+    public int getTextLength() {
+        String text = getText();
+        return text != null ? text.length() : 0;
+    }
+
+    @Override
+    public int getTextOffset() {
+        return 0;
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant base64Variant) throws IOException {
+        if (_currToken != JsonToken.VALUE_STRING) {
+            _reportError("Current token (" + _currToken + ") not VALUE_STRING, can not access as binary");
+        }
+
+        ByteArrayBuilder builder = new ByteArrayBuilder();
+        _decodeBase64(text, builder, base64Variant);
+
+        return builder.toByteArray();
+    }
+
+    @Override
+    public Number getNumberValue() throws IOException {
+        checkNumber();
+        return number;
+    }
+
+    @Override
+    public NumberType getNumberType() {
+        return numberType;
+    }
+
+    @Override
+    public int getIntValue() throws IOException {
+        checkNumber();
+        return number.intValue();
+    }
+
+    @Override
+    public long getLongValue() throws IOException {
+        checkNumber();
+        return number.longValue();
+    }
+
+    @Override
+    public BigInteger getBigIntegerValue() throws IOException {
+        checkNumber();
+
+        if (number instanceof BigInteger) {
+            return (BigInteger)number;
+        } else if (number instanceof BigDecimal) {
+            return ((BigDecimal)number).toBigInteger();
+        } else if (number instanceof Double) {
+            return BigDecimal.valueOf(number.doubleValue()).toBigInteger();
+        } else {
+            return BigInteger.valueOf(number.longValue());
+        }
+    }
+
+    @Override
+    public float getFloatValue() throws IOException {
+        checkNumber();
+        return number.floatValue();
+    }
+
+    @Override
+    public double getDoubleValue() throws IOException {
+        checkNumber();
+        return number.doubleValue();
+    }
+
+    @Override
+    public BigDecimal getDecimalValue() throws IOException {
+        checkNumber();
+
+        if (number instanceof BigDecimal) {
+            return (BigDecimal)number;
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger)number);
+        } else if (number instanceof Double) {
+            return BigDecimal.valueOf(number.doubleValue());
+        } else {
+            return BigDecimal.valueOf(number.longValue());
+        }
+    }
+
+    private void checkNumber() throws IOException {
+        if (number == null) {
+            _reportError("Current token (" + _currToken + ") not numeric, can not use numeric value accessors");
+        }
+    }
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return context;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation") // still abstract in this version of Jackson
+    public JsonLocation getCurrentLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation") // still abstract in this version of Jackson
+    public JsonLocation getTokenLocation() {
+        return JsonLocation.NA;
+    }
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public void setCodec(ObjectCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void close() {
+        // the underlying stream is owned by the caller
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+}
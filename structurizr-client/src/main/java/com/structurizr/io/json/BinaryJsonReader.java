@@ -0,0 +1,70 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.IdGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static com.structurizr.io.json.BinaryJsonFormat.*;
+
+/**
+ * Reads a workspace definition that was written in the binary format by a {@link BinaryJsonWriter}.
+ */
+public final class BinaryJsonReader extends AbstractJsonReader {
+
+    private IdGenerator idGenerator = null;
+
+    /**
+     * Sets the ID generator to use when parsing a binary workspace definition.
+     *
+     * @param idGenerator   an IdGenerator implementation
+     */
+    public void setIdGenerator(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Reads and parses a workspace definition from the binary format.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("An input stream must be specified.");
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(MAGIC, magic)) {
+                throw new WorkspaceReaderException("The input is not a binary workspace definition", null);
+            }
+
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new WorkspaceReaderException("Unsupported binary workspace definition version: " + version, null);
+            }
+
+            Workspace workspace = WORKSPACE_READER.readValue(new BinaryJsonParser(in));
+            if (idGenerator != null) {
+                workspace.getModel().setIdGenerator(idGenerator);
+            }
+
+            workspace.hydrate();
+
+            return workspace;
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read binary workspace definition", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceWriterException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a workspace definition in a compact binary format, where property names and short, repeated strings
+ * (e.g. IDs, tags and technologies) are written once and then referenced, so the output is smaller than JSON.
+ * The content is encoded as it is generated, without buffering the entire workspace.
+ * The binary format encodes exactly the same content as the JSON format, and can be read with a {@link BinaryJsonReader}.
+ * The output stream is flushed, but not closed.
+ */
+public final class BinaryJsonWriter extends AbstractJsonWriter {
+
+    /**
+     * Writes a workspace definition in the binary format to the specified OutputStream.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public void write(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try (BinaryJsonGenerator generator = new BinaryJsonGenerator(new DataOutputStream(new BufferedOutputStream(outputStream)))) {
+            getWorkspaceWriter(false).writeValue(generator, workspace);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as binary", ioe);
+        }
+    }
+
+}
@@ -1,10 +1,10 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.io.WorkspaceReaderException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 
 public final class EncryptedJsonReader extends AbstractJsonReader {
@@ -21,9 +21,22 @@ public final class EncryptedJsonReader extends AbstractJsonReader {
      */
     public EncryptedWorkspace read(Reader reader) throws WorkspaceReaderException {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
+            return ENCRYPTED_WORKSPACE_READER.readValue(reader);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
 
-            return objectMapper.readValue(reader, EncryptedWorkspace.class);
+    /**
+     * Reads and parses an encrypted workspace definition from a UTF-8 encoded JSON document.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              an EncryptedWorkspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public EncryptedWorkspace read(InputStream inputStream) throws WorkspaceReaderException {
+        try {
+            return ENCRYPTED_WORKSPACE_READER.readValue(inputStream);
         } catch (IOException ioe) {
             throw new WorkspaceReaderException("Could not read JSON", ioe);
         }
@@ -1,6 +1,5 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.encryption.EncryptedWorkspace;
 import com.structurizr.io.WorkspaceWriterException;
 
@@ -30,8 +29,7 @@ public final class EncryptedJsonWriter extends AbstractJsonWriter {
         }
 
         try {
-            ObjectMapper objectMapper = createObjectMapper(indentOutput);
-            writer.write(objectMapper.writeValueAsString(workspace));
+            getEncryptedWorkspaceWriter(indentOutput).writeValue(writer, workspace);
         } catch (Exception e) {
             throw new WorkspaceWriterException("Could not write as JSON", e);
         }
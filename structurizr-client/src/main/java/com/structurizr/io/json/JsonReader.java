@@ -1,12 +1,12 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceReader;
 import com.structurizr.io.WorkspaceReaderException;
 import com.structurizr.model.IdGenerator;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 
 /**
@@ -34,21 +34,37 @@ public final class JsonReader extends AbstractJsonReader implements WorkspaceRea
      */
     public Workspace read(Reader reader) throws WorkspaceReaderException {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
-
-            Workspace workspace = objectMapper.readValue(reader, Workspace.class);
-
-            if (idGenerator != null) {
-                workspace.getModel().setIdGenerator(idGenerator);
-            }
-
-            workspace.hydrate();
-
-            return workspace;
+            return hydrate(WORKSPACE_READER.readValue(reader));
         } catch (IOException ioe) {
             ioe.printStackTrace();
             throw new WorkspaceReaderException("Could not read JSON", ioe);
         }
     }
 
+    /**
+     * Reads and parses a workspace definition from a UTF-8 encoded JSON document, binding the object graph
+     * directly from the stream (i.e. without first reading the document into a string).
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(InputStream inputStream) throws WorkspaceReaderException {
+        try {
+            return hydrate(WORKSPACE_READER.readValue(inputStream));
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    private Workspace hydrate(Workspace workspace) {
+        if (idGenerator != null) {
+            workspace.getModel().setIdGenerator(idGenerator);
+        }
+
+        workspace.hydrate();
+
+        return workspace;
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,5 @@
 package com.structurizr.io.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.structurizr.Workspace;
 import com.structurizr.io.WorkspaceWriter;
 import com.structurizr.io.WorkspaceWriterException;
@@ -35,8 +34,7 @@ public final class JsonWriter extends AbstractJsonWriter implements WorkspaceWri
         }
 
         try {
-            ObjectMapper objectMapper = createObjectMapper(indentOutput);
-            writer.write(objectMapper.writeValueAsString(workspace));
+            getWorkspaceWriter(indentOutput).writeValue(writer, workspace);
         } catch (IOException ioe) {
             throw new WorkspaceWriterException("Could not write as JSON", ioe);
         }
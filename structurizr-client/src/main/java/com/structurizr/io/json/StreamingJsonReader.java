@@ -0,0 +1,129 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.structurizr.Workspace;
+import com.structurizr.encryption.EncryptedWorkspace;
+import com.structurizr.encryption.EncryptionStrategy;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.IdGenerator;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Reads a workspace definition, which may or may not be client-side encrypted, from a UTF-8 encoded JSON stream.
+ * Whether the workspace is encrypted is determined from the top-level property names at the start of the
+ * document, so the document is only read once, and is never held in memory as a string.
+ */
+public final class StreamingJsonReader {
+
+    private static final Log log = LogFactory.getLog(StreamingJsonReader.class);
+
+    // the number of bytes inspected to determine whether the workspace is encrypted
+    private static final int PREFIX_SIZE = 64 * 1024;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private IdGenerator idGenerator = null;
+    private EncryptionStrategy encryptionStrategy = null;
+
+    /**
+     * Sets the ID generator to use when parsing a JSON workspace definition.
+     *
+     * @param idGenerator   an IdGenerator implementation
+     */
+    public void setIdGenerator(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Sets the encryption strategy (i.e. passphrase) to use when reading client-side encrypted workspaces.
+     *
+     * @param encryptionStrategy    an EncryptionStrategy implementation
+     */
+    public void setEncryptionStrategy(EncryptionStrategy encryptionStrategy) {
+        this.encryptionStrategy = encryptionStrategy;
+    }
+
+    /**
+     * Reads and parses a workspace definition from a UTF-8 encoded JSON document, decrypting it if necessary.
+     *
+     * @param inputStream   an InputStream on top of the workspace definition
+     * @return              a Workspace object
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public Workspace read(InputStream inputStream) throws WorkspaceReaderException {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("An input stream must be specified.");
+        }
+
+        try {
+            byte[] prefix = inputStream.readNBytes(PREFIX_SIZE);
+            boolean encrypted = isEncrypted(prefix);
+            InputStream document = new SequenceInputStream(new ByteArrayInputStream(prefix), inputStream);
+
+            if (encrypted && encryptionStrategy != null) {
+                EncryptedWorkspace encryptedWorkspace = new EncryptedJsonReader().read(document);
+                if (encryptedWorkspace.getEncryptionStrategy() == null) {
+                    throw new WorkspaceReaderException("The JSON contains a ciphertext, but no encryption strategy.", null);
+                }
+
+                encryptedWorkspace.getEncryptionStrategy().setPassphrase(encryptionStrategy.getPassphrase());
+
+                return encryptedWorkspace.getWorkspace();
+            } else {
+                if (encrypted) {
+                    log.warn("The JSON may contain a client-side encrypted workspace, but no passphrase has been specified.");
+                }
+
+                JsonReader jsonReader = new JsonReader();
+                jsonReader.setIdGenerator(idGenerator);
+
+                return jsonReader.read(document);
+            }
+        } catch (WorkspaceReaderException wre) {
+            throw wre;
+        } catch (Exception e) {
+            throw new WorkspaceReaderException("Could not read JSON", e);
+        }
+    }
+
+    /**
+     * Determines whether the JSON document (of which the given bytes are the start) represents a client-side
+     * encrypted workspace, by looking at the top-level property names.
+     */
+    static boolean isEncrypted(byte[] prefix) {
+        try (JsonParser parser = JSON_FACTORY.createParser(prefix)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                switch (name) {
+                    case "ciphertext":
+                    case "encryptionStrategy":
+                        return true;
+                    case "model":
+                    case "views":
+                    case "documentation":
+                        return false;
+                    default:
+                        parser.nextToken();
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException ioe) {
+            // the prefix ended before the workspace type could be determined
+        }
+
+        return false;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.structurizr.Workspace;
+import com.structurizr.encryption.EncryptedWorkspace;
+import com.structurizr.io.WorkspaceWriterException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a workspace definition (which may be client-side encrypted) as UTF-8 encoded JSON, generating it
+ * directly into an OutputStream rather than via an intermediate string.
+ * The output stream is flushed, but not closed.
+ */
+public final class StreamingJsonWriter extends AbstractJsonWriter {
+
+    private final boolean indentOutput;
+
+    public StreamingJsonWriter(boolean indentOutput) {
+        this.indentOutput = indentOutput;
+    }
+
+    /**
+     * Writes a workspace definition as UTF-8 encoded JSON to the specified OutputStream.
+     *
+     * @param workspace     the Workspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public void write(Workspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("Workspace cannot be null.");
+        }
+
+        writeValue(getWorkspaceWriter(indentOutput), workspace, outputStream);
+    }
+
+    /**
+     * Writes an encrypted workspace definition as UTF-8 encoded JSON to the specified OutputStream.
+     *
+     * @param workspace     the EncryptedWorkspace object to write
+     * @param outputStream  the OutputStream to write the workspace to
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public void write(EncryptedWorkspace workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("EncryptedWorkspace cannot be null.");
+        }
+
+        writeValue(getEncryptedWorkspaceWriter(indentOutput), workspace, outputStream);
+    }
+
+    private void writeValue(ObjectWriter objectWriter, Object workspace, OutputStream outputStream) throws WorkspaceWriterException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("OutputStream cannot be null.");
+        }
+
+        try {
+            objectWriter.writeValue(outputStream, workspace);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as JSON", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceWriterException;
+import com.structurizr.model.ModelItem;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Computes a structural delta between two versions of a workspace (e.g. the remote workspace and a local workspace),
+ * in a JSON Patch-like format, so that the size of the delta is proportional to the size of the change rather
+ * than the size of the workspace.
+ *
+ * The delta is computed from the JSON representation of both workspaces. Array items that have an identity are matched
+ * by that identity rather than by position. Elements, relationships and element/relationship views are matched by the
+ * canonical name of the model item (so that elements with different IDs in the two workspaces are still matched),
+ * falling back to the ID when canonical names are not unique; other items are matched by ID or key (e.g. views).
+ * Matched items are addressed by path segments of the form <code>[canonicalName=Person://User]</code>,
+ * <code>[id=123]</code> or <code>[key=SystemContext]</code>. Other arrays are replaced in their entirety when they differ.
+ */
+public final class WorkspaceDiff {
+
+    static final String CANONICAL_NAME_PROPERTY = "canonicalName";
+    private static final String ID_PROPERTY = "id";
+    private static final String[] IDENTITY_PROPERTIES = { ID_PROPERTY, "key" };
+
+    // the arrays that contain elements and relationships, or views of them, where the "id" property is a model item ID
+    private static final Set<String> MODEL_ITEM_ARRAYS = Set.of(
+            "people", "softwareSystems", "containers", "components", "customElements",
+            "deploymentNodes", "infrastructureNodes", "softwareSystemInstances", "containerInstances",
+            "relationships", "elements"
+    );
+
+    /**
+     * Computes the delta between two workspaces.
+     *
+     * @param from  the original version of the workspace (e.g. the remote workspace)
+     * @param to    the new version of the workspace (e.g. the local workspace)
+     * @return      a WorkspacePatch that transforms "from" into "to"
+     * @throws WorkspaceWriterException   if the workspaces cannot be converted to JSON
+     */
+    public WorkspacePatch diff(Workspace from, Workspace to) throws WorkspaceWriterException {
+        if (from == null) {
+            throw new IllegalArgumentException("The original workspace must be specified.");
+        }
+        if (to == null) {
+            throw new IllegalArgumentException("The new workspace must be specified.");
+        }
+
+        ObjectNode fromTree = toTree(from);
+        ObjectNode toTree = toTree(to);
+
+        // the trees don't share any nodes, so the canonical names for both can be held in the same map
+        Map<JsonNode, String> canonicalNames = canonicalNames(from, fromTree);
+        canonicalNames.putAll(canonicalNames(to, toTree));
+
+        List<ObjectNode> operations = new ArrayList<>();
+        diff("", fromTree, toTree, canonicalNames, operations);
+
+        return new WorkspacePatch(operations);
+    }
+
+    private void diff(String path, JsonNode from, JsonNode to, Map<JsonNode, String> canonicalNames, List<ObjectNode> operations) {
+        if (from.equals(to)) {
+            return;
+        }
+
+        if (from.isObject() && to.isObject()) {
+            diffObjects(path, (ObjectNode)from, (ObjectNode)to, canonicalNames, operations);
+        } else if (!from.isArray() || !to.isArray() || !diffArrays(path, (ArrayNode)from, (ArrayNode)to, canonicalNames, operations)) {
+            operations.add(WorkspacePatch.operation(WorkspacePatch.REPLACE, path, to));
+        }
+    }
+
+    private void diffObjects(String path, ObjectNode from, ObjectNode to, Map<JsonNode, String> canonicalNames, List<ObjectNode> operations) {
+        for (Map.Entry<String, JsonNode> field : from.properties()) {
+            if (!to.has(field.getKey())) {
+                operations.add(WorkspacePatch.operation(WorkspacePatch.REMOVE, path + "/" + escape(field.getKey()), null));
+            }
+        }
+
+        for (Map.Entry<String, JsonNode> field : to.properties()) {
+            String fieldPath = path + "/" + escape(field.getKey());
+            JsonNode fromValue = from.get(field.getKey());
+
+            if (fromValue == null) {
+                operations.add(WorkspacePatch.operation(WorkspacePatch.ADD, fieldPath, field.getValue()));
+            } else {
+                diff(fieldPath, fromValue, field.getValue(), canonicalNames, operations);
+            }
+        }
+    }
+
+    /**
+     * Diffs two arrays of items by identity.
+     *
+     * @return  true if the arrays could be diffed by identity, false if the array should be replaced instead
+     */
+    private boolean diffArrays(String path, ArrayNode from, ArrayNode to, Map<JsonNode, String> canonicalNames, List<ObjectNode> operations) {
+        if (MODEL_ITEM_ARRAYS.contains(unescape(path.substring(path.lastIndexOf('/') + 1)))) {
+            Map<String, JsonNode> fromItems = indexByCanonicalName(from, canonicalNames);
+            Map<String, JsonNode> toItems = indexByCanonicalName(to, canonicalNames);
+            if (fromItems != null && toItems != null) {
+                // these arrays are written from sets that are ordered by ID, so the order of the items isn't significant
+                return diffItems(path, CANONICAL_NAME_PROPERTY, fromItems, toItems, false, canonicalNames, operations);
+            }
+        }
+
+        String identityProperty = findIdentityProperty(from, to);
+        if (identityProperty == null) {
+            return false;
+        }
+
+        Map<String, JsonNode> fromItems = index(from, identityProperty);
+        Map<String, JsonNode> toItems = index(to, identityProperty);
+        if (fromItems == null || toItems == null) {
+            return false;
+        }
+
+        return diffItems(path, identityProperty, fromItems, toItems, true, canonicalNames, operations);
+    }
+
+    private boolean diffItems(String path, String identityProperty, Map<String, JsonNode> fromItems, Map<String, JsonNode> toItems, boolean ordered, Map<JsonNode, String> canonicalNames, List<ObjectNode> operations) {
+        if (ordered) {
+            // applying the operations retains the order of existing items, and appends new items, so check that this
+            // results in the same order as the new array
+            List<String> expectedOrder = new ArrayList<>();
+            for (String identity : fromItems.keySet()) {
+                if (toItems.containsKey(identity)) {
+                    expectedOrder.add(identity);
+                }
+            }
+            for (String identity : toItems.keySet()) {
+                if (!fromItems.containsKey(identity)) {
+                    expectedOrder.add(identity);
+                }
+            }
+            if (!expectedOrder.equals(new ArrayList<>(toItems.keySet()))) {
+                return false;
+            }
+        }
+
+        for (String identity : fromItems.keySet()) {
+            if (!toItems.containsKey(identity)) {
+                operations.add(WorkspacePatch.operation(WorkspacePatch.REMOVE, path + "/" + segment(identityProperty, identity), null));
+            }
+        }
+
+        for (Map.Entry<String, JsonNode> item : toItems.entrySet()) {
+            String itemPath = path + "/" + segment(identityProperty, item.getKey());
+            JsonNode fromItem = fromItems.get(item.getKey());
+
+            if (fromItem == null) {
+                operations.add(WorkspacePatch.operation(WorkspacePatch.ADD, itemPath, item.getValue()));
+            } else {
+                diff(itemPath, fromItem, item.getValue(), canonicalNames, operations);
+            }
+        }
+
+        return true;
+    }
+
+    private String findIdentityProperty(ArrayNode from, ArrayNode to) {
+        JsonNode first = from.size() > 0 ? from.get(0) : to.get(0);
+        if (first == null || !first.isObject()) {
+            return null;
+        }
+
+        for (String identityProperty : IDENTITY_PROPERTIES) {
+            if (first.hasNonNull(identityProperty)) {
+                return identityProperty;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Indexes the items in an array by identity, retaining their order.
+     *
+     * @return  a map of identity to item, or null if any item doesn't have a unique identity
+     */
+    private Map<String, JsonNode> index(ArrayNode array, String identityProperty) {
+        Map<String, JsonNode> items = new LinkedHashMap<>();
+        for (JsonNode item : array) {
+            JsonNode identity = item.get(identityProperty);
+            if (identity == null || !identity.isValueNode() || items.put(identity.asText(), item) != null) {
+                return null;
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Indexes the items in an array by canonical name, retaining their order.
+     *
+     * @return  a map of canonical name to item, or null if any item doesn't have a unique canonical name
+     */
+    private Map<String, JsonNode> indexByCanonicalName(ArrayNode array, Map<JsonNode, String> canonicalNames) {
+        Map<String, JsonNode> items = new LinkedHashMap<>();
+        for (JsonNode item : array) {
+            String canonicalName = canonicalNames.get(item);
+            if (canonicalName == null || items.put(canonicalName, item) != null) {
+                return null;
+            }
+        }
+
+        return items;
+    }
+
+    /**
+     * Finds the canonical names of the elements, relationships and element/relationship views in the JSON
+     * representation of a workspace.
+     *
+     * @return  a map of JSON node (by identity) to the canonical name of the model item it represents
+     */
+    static Map<JsonNode, String> canonicalNames(Workspace workspace, JsonNode tree) {
+        Map<JsonNode, String> canonicalNames = new IdentityHashMap<>();
+        findCanonicalNames(workspace, tree, false, canonicalNames);
+
+        return canonicalNames;
+    }
+
+    private static void findCanonicalNames(Workspace workspace, JsonNode node, boolean modelItems, Map<JsonNode, String> canonicalNames) {
+        if (node.isObject()) {
+            if (modelItems && node.hasNonNull(ID_PROPERTY)) {
+                String id = node.get(ID_PROPERTY).asText();
+                ModelItem modelItem = workspace.getModel().getElement(id);
+                if (modelItem == null) {
+                    modelItem = workspace.getModel().getRelationship(id);
+                }
+
+                if (modelItem != null) {
+                    canonicalNames.put(node, modelItem.getCanonicalName());
+                }
+            }
+
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                if (field.getValue().isArray()) {
+                    boolean modelItemArray = MODEL_ITEM_ARRAYS.contains(field.getKey());
+                    for (JsonNode item : field.getValue()) {
+                        findCanonicalNames(workspace, item, modelItemArray, canonicalNames);
+                    }
+                } else {
+                    findCanonicalNames(workspace, field.getValue(), false, canonicalNames);
+                }
+            }
+        }
+    }
+
+    static String segment(String identityProperty, String identity) {
+        return "[" + identityProperty + "=" + escape(identity) + "]";
+    }
+
+    static String escape(String s) {
+        return s.replace("~", "~0").replace("/", "~1");
+    }
+
+    static String unescape(String s) {
+        return s.replace("~1", "/").replace("~0", "~");
+    }
+
+    static ObjectNode toTree(Workspace workspace) throws WorkspaceWriterException {
+        try {
+            TokenBuffer tokens = new TokenBuffer(null, false);
+            AbstractJsonWriter.getWorkspaceWriter(false).writeValue(tokens, workspace);
+
+            JsonNode tree = AbstractJsonReader.WORKSPACE_READER.readTree(tokens.asParser());
+            return tree != null && tree.isObject() ? (ObjectNode)tree : JsonNodeFactory.instance.objectNode();
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as JSON", ioe);
+        }
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.io.WorkspaceWriterException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A delta between two versions of a workspace, created by {@link WorkspaceDiff}, represented as a list of
+ * JSON Patch-like operations (add, remove and replace), each of which has a path and (for add and replace) a value.
+ */
+public final class WorkspacePatch {
+
+    static final String ADD = "add";
+    static final String REMOVE = "remove";
+    static final String REPLACE = "replace";
+
+    private static final String OP_PROPERTY = "op";
+    private static final String PATH_PROPERTY = "path";
+    private static final String VALUE_PROPERTY = "value";
+
+    private final List<ObjectNode> operations;
+
+    WorkspacePatch(List<ObjectNode> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Parses a patch from its JSON representation.
+     *
+     * @param json  a JSON array of patch operations
+     * @return      a WorkspacePatch
+     * @throws WorkspaceReaderException     if something goes wrong
+     */
+    public static WorkspacePatch fromJson(String json) throws WorkspaceReaderException {
+        if (json == null) {
+            throw new IllegalArgumentException("The JSON must be specified.");
+        }
+
+        try {
+            JsonNode tree = AbstractJsonReader.WORKSPACE_READER.readTree(json);
+            if (tree == null || !tree.isArray()) {
+                throw new WorkspaceReaderException("A patch must be a JSON array", null);
+            }
+
+            List<ObjectNode> operations = new ArrayList<>();
+            for (JsonNode operation : tree) {
+                if (!operation.isObject() || !operation.hasNonNull(OP_PROPERTY) || !operation.hasNonNull(PATH_PROPERTY)) {
+                    throw new WorkspaceReaderException("A patch operation must have an op and a path", null);
+                }
+
+                operations.add((ObjectNode)operation);
+            }
+
+            return new WorkspacePatch(operations);
+        } catch (IOException ioe) {
+            throw new WorkspaceReaderException("Could not read JSON", ioe);
+        }
+    }
+
+    /**
+     * Gets the JSON representation of this patch.
+     *
+     * @return  a JSON array of patch operations
+     * @throws WorkspaceWriterException     if something goes wrong
+     */
+    public String toJson() throws WorkspaceWriterException {
+        try {
+            ArrayNode array = JsonNodeFactory.instance.arrayNode();
+            array.addAll(operations);
+
+            return AbstractJsonWriter.getWorkspaceWriter(false).forType(JsonNode.class).writeValueAsString(array);
+        } catch (IOException ioe) {
+            throw new WorkspaceWriterException("Could not write as JSON", ioe);
+        }
+    }
+
+    /**
+     * Gets the number of operations in this patch.
+     *
+     * @return  the number of operations
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Determines whether this patch is empty (i.e. the two versions of the workspace are the same).
+     *
+     * @return  true if there are no operations, false otherwise
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    List<ObjectNode> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    /**
+     * Applies this patch to a workspace, creating a new workspace (the specified workspace is not modified).
+     *
+     * @param workspace     the original version of the workspace
+     * @return              the new version of the workspace
+     * @throws WorkspaceReaderException     if the patch cannot be applied
+     */
+    public Workspace applyTo(Workspace workspace) throws WorkspaceReaderException {
+        if (workspace == null) {
+            throw new IllegalArgumentException("A workspace must be specified.");
+        }
+
+        try {
+            JsonNode tree = WorkspaceDiff.toTree(workspace);
+
+            // the canonical names are found before the patch is applied, since the operations may change them
+            Map<JsonNode, String> canonicalNames = WorkspaceDiff.canonicalNames(workspace, tree);
+            for (ObjectNode operation : operations) {
+                tree = apply(tree, operation, canonicalNames);
+            }
+
+            Workspace patchedWorkspace = AbstractJsonReader.WORKSPACE_READER.readValue(tree);
+            patchedWorkspace.hydrate();
+
+            return patchedWorkspace;
+        } catch (WorkspaceReaderException wre) {
+            throw wre;
+        } catch (Exception e) {
+            throw new WorkspaceReaderException("Could not apply patch", e);
+        }
+    }
+
+    private JsonNode apply(JsonNode tree, ObjectNode operation, Map<JsonNode, String> canonicalNames) throws WorkspaceReaderException {
+        String op = operation.get(OP_PROPERTY).asText();
+        String path = operation.get(PATH_PROPERTY).asText();
+        JsonNode value = operation.get(VALUE_PROPERTY);
+
+        if (!op.equals(ADD) && !op.equals(REMOVE) && !op.equals(REPLACE)) {
+            throw new WorkspaceReaderException("Unsupported patch operation: " + op, null);
+        }
+        if (!op.equals(REMOVE) && value == null) {
+            throw new WorkspaceReaderException("The " + op + " operation at " + path + " must have a value", null);
+        }
+
+        if (path.isEmpty()) {
+            if (op.equals(REPLACE)) {
+                return value.deepCopy();
+            }
+
+            throw new WorkspaceReaderException("The " + op + " operation cannot be applied to the workspace itself", null);
+        }
+        if (!path.startsWith("/")) {
+            throw new WorkspaceReaderException("The path " + path + " is not valid", null);
+        }
+
+        String[] segments = path.substring(1).split("/", -1);
+        JsonNode parent = tree;
+        for (int i = 0; i < segments.length - 1; i++) {
+            parent = child(parent, segments[i], canonicalNames);
+            if (parent == null) {
+                throw new WorkspaceReaderException("The path " + path + " does not exist", null);
+            }
+        }
+
+        String segment = segments[segments.length - 1];
+        if (parent.isObject()) {
+            ObjectNode object = (ObjectNode)parent;
+            String name = WorkspaceDiff.unescape(segment);
+
+            if (op.equals(REMOVE)) {
+                object.remove(name);
+            } else {
+                object.set(name, value.deepCopy());
+            }
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode)parent;
+            int index = indexOf(array, segment, canonicalNames);
+
+            if (op.equals(ADD)) {
+                array.add(value.deepCopy());
+            } else if (index == -1) {
+                throw new WorkspaceReaderException("The path " + path + " does not exist", null);
+            } else if (op.equals(REMOVE)) {
+                array.remove(index);
+            } else {
+                array.set(index, value.deepCopy());
+            }
+        } else {
+            throw new WorkspaceReaderException("The path " + path + " does not exist", null);
+        }
+
+        return tree;
+    }
+
+    private JsonNode child(JsonNode node, String segment, Map<JsonNode, String> canonicalNames) {
+        if (node.isObject()) {
+            return node.get(WorkspaceDiff.unescape(segment));
+        } else if (node.isArray()) {
+            int index = indexOf((ArrayNode)node, segment, canonicalNames);
+            return index == -1 ? null : node.get(index);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the index of an array item, from a path segment of the form [property=value] or [canonicalName=value].
+     */
+    private int indexOf(ArrayNode array, String segment, Map<JsonNode, String> canonicalNames) {
+        int equals = segment.indexOf('=');
+        if (!segment.startsWith("[") || !segment.endsWith("]") || equals == -1) {
+            return -1;
+        }
+
+        String property = segment.substring(1, equals);
+        String identity = WorkspaceDiff.unescape(segment.substring(equals + 1, segment.length() - 1));
+        if (property.equals(WorkspaceDiff.CANONICAL_NAME_PROPERTY)) {
+            for (int i = 0; i < array.size(); i++) {
+                if (identity.equals(canonicalNames.get(array.get(i)))) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        for (int i = 0; i < array.size(); i++) {
+            JsonNode value = array.get(i).get(property);
+            if (value != null && value.isValueNode() && value.asText().equals(identity)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    static ObjectNode operation(String op, String path, JsonNode value) {
+        ObjectNode operation = JsonNodeFactory.instance.objectNode();
+        operation.put(OP_PROPERTY, op);
+        operation.put(PATH_PROPERTY, path);
+        if (value != null) {
+            operation.set(VALUE_PROPERTY, value);
+        }
+
+        return operation;
+    }
+
+}
@@ -3,6 +3,8 @@ package com.structurizr.view;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.structurizr.Workspace;
 import com.structurizr.http.HttpClient;
@@ -23,6 +25,18 @@ public final class ThemeUtils {
 
     private static final int DEFAULT_TIMEOUT_IN_MILLISECONDS = 10000;
 
+    // these are immutable and thread-safe, so they (and the serializers/deserializers cached by Jackson) are shared
+    private static final ObjectReader THEME_READER = new ObjectMapper()
+            .enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(Theme.class);
+
+    private static final ObjectWriter THEME_WRITER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .writerFor(Theme.class);
+
     /**
      * Serializes the theme (element and relationship styles) in the specified workspace to a file, as a JSON string.
      *
@@ -80,10 +94,11 @@ public final class ThemeUtils {
      * @throws Exception    if something goes wrong
      */
     public static void loadThemes(Workspace workspace, int timeoutInMilliseconds) throws Exception {
-        HttpClient httpClient = new HttpClient();
-        httpClient.setTimeout(timeoutInMilliseconds);
+        try (HttpClient httpClient = new HttpClient()) {
+            httpClient.setTimeout(timeoutInMilliseconds);
 
-        loadThemes(workspace, httpClient);
+            loadThemes(workspace, httpClient);
+        }
     }
 
     public static void loadThemes(Workspace workspace, HttpClient httpClient) throws Exception {
@@ -146,21 +161,11 @@ public final class ThemeUtils {
     }
 
     private static Theme fromJson(String json) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-        return objectMapper.readValue(json, Theme.class);
+        return THEME_READER.readValue(json);
     }
 
     private static void write(Workspace workspace, Writer writer) throws Exception {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-            objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-
             Theme theme = new Theme(
                     workspace.getName(),
                     workspace.getDescription(),
@@ -170,7 +175,7 @@ public final class ThemeUtils {
             theme.setFont(workspace.getViews().getConfiguration().getBranding().getFont());
             theme.setLogo(workspace.getViews().getConfiguration().getBranding().getLogo());
 
-            writer.write(objectMapper.writeValueAsString(theme));
+            writer.write(THEME_WRITER.writeValueAsString(theme));
         } catch (IOException ioe) {
             throw new WorkspaceWriterException("Could not write the theme as JSON", ioe);
         }
@@ -0,0 +1,71 @@
+package com.structurizr.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdminApiClientTests {
+
+    private StubServer server;
+    private AdminApiClient client;
+    private int statusCode = 200;
+    private String response = "{\"workspaces\":[{\"id\":1,\"name\":\"Workspace 1\"}]}";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        server.createContext("/api/workspace", exchange -> StubServer.respond(exchange, statusCode, response));
+
+        client = new AdminApiClient(server.getApiUrl(), null, StubServer.API_KEY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    void getWorkspacesAsync_ReturnsTheWorkspaces() {
+        List<WorkspaceMetadata> workspaces = client.getWorkspacesAsync().join();
+
+        assertEquals(1, workspaces.size());
+        assertEquals(1, workspaces.get(0).getId());
+    }
+
+    @Test
+    void getWorkspacesAsync_CompletesExceptionally_WhenTheRequestFails() {
+        statusCode = 401;
+        response = "{\"success\":false,\"message\":\"Unauthorized\"}";
+
+        try {
+            client.getWorkspacesAsync().join();
+            fail();
+        } catch (CompletionException ce) {
+            StructurizrClientException sce = (StructurizrClientException)ce.getCause();
+            assertEquals("Unauthorized", sce.getMessage());
+            assertEquals(401, sce.getStatusCode());
+            assertNull(sce.getCause());
+        }
+    }
+
+    @Test
+    void getWorkspaces_ThrowsAnException_WithTheStatusCode_WhenTheRequestFails() {
+        statusCode = 500;
+        response = "Internal Server Error";
+
+        try {
+            client.getWorkspaces();
+            fail();
+        } catch (StructurizrClientException sce) {
+            assertEquals("The server returned HTTP status code 500", sce.getMessage());
+            assertEquals(500, sce.getStatusCode());
+            assertTrue(WorkspaceBatch.isRetryable(sce));
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.json.JsonWriter;
+import com.structurizr.io.json.StreamingJsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonEntityTests {
+
+    @Test
+    void construction_CalculatesTheContentMd5AndLength() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description – with non-ASCII characters");
+        workspace.getModel().addSoftwareSystem("Software System");
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+        String json = stringWriter.toString();
+
+        JsonEntity jsonEntity = new JsonEntity(outputStream -> new StreamingJsonWriter(false).write(workspace, outputStream));
+
+        assertEquals(new Md5Digest().generate(json), jsonEntity.getContentMd5());
+        assertEquals(json.getBytes(StandardCharsets.UTF_8).length, jsonEntity.getContentLength());
+        assertEquals(json, jsonEntity.getContentAsString());
+    }
+
+    @Test
+    void writeTo_GeneratesTheContentEachTime() throws Exception {
+        JsonEntity jsonEntity = new JsonEntity(outputStream -> outputStream.write("{}".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(jsonEntity.isRepeatable());
+
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            jsonEntity.writeTo(outputStream);
+            assertEquals("{}", outputStream.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+}
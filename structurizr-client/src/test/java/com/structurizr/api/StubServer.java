@@ -0,0 +1,77 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.json.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A local HTTP server, listening on a random port, that the API client tests can stub responses with.
+ */
+class StubServer {
+
+    static final String API_KEY = "key";
+    static final String API_SECRET = "secret";
+
+    private static final String SUCCESS = "{\"success\":true,\"message\":\"OK\"}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    StubServer() throws IOException {
+        executor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    void createContext(String path, HttpHandler handler) {
+        server.createContext(path, handler);
+    }
+
+    String getApiUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api";
+    }
+
+    WorkspaceApiClient createClient() {
+        WorkspaceApiClient client = new WorkspaceApiClient(getApiUrl(), API_KEY, API_SECRET);
+        client.setWorkspaceArchiveLocation(null);
+        client.setMergeFromRemote(false);
+
+        return client;
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    static void respondWithSuccess(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, SUCCESS);
+    }
+
+    static String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+}
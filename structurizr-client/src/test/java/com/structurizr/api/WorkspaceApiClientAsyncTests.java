@@ -0,0 +1,259 @@
+package com.structurizr.api;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.structurizr.Workspace;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceApiClientAsyncTests {
+
+    private StubServer server;
+    private WorkspaceApiClient client;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger concurrentRequests = new AtomicInteger();
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+    private volatile int failureStatusCode = 500;
+    private volatile int responseDelay = 0;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        server.createContext("/api/workspace", this::handle);
+
+        client = server.createClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+
+        try {
+            if (responseDelay > 0) {
+                Thread.sleep(responseDelay);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrentRequests.decrementAndGet();
+        }
+
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        String workspaceId = path.substring(path.lastIndexOf('/') + 1);
+
+        if (failuresBeforeSuccess.getAndDecrement() > 0) {
+            StubServer.respond(exchange, failureStatusCode, "{\"success\":false,\"message\":\"Failure\"}");
+        } else if (exchange.getRequestMethod().equals("PUT")) {
+            StubServer.respond(exchange, 200, "{\"success\":true,\"message\":\"OK\"}");
+        } else {
+            StubServer.respond(exchange, 200, "{\"id\":" + workspaceId + ",\"name\":\"Workspace " + workspaceId + "\"}");
+        }
+    }
+
+    @Test
+    void getWorkspaceAsync_ThrowsAnException_WhenTheWorkspaceIdIsNotValid() {
+        try {
+            client.getWorkspaceAsync(0);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The workspace ID must be a positive integer.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void getWorkspaceAsync_ReturnsTheWorkspace() {
+        Workspace workspace = client.getWorkspaceAsync(1).join();
+
+        assertEquals("Workspace 1", workspace.getName());
+    }
+
+    @Test
+    void getWorkspaceAsync_CompletesExceptionally_WhenTheRequestFails() {
+        failuresBeforeSuccess.set(1);
+        failureStatusCode = 401;
+
+        try {
+            client.getWorkspaceAsync(1).join();
+            fail();
+        } catch (CompletionException ce) {
+            StructurizrClientException sce = (StructurizrClientException)ce.getCause();
+            assertEquals(401, sce.getStatusCode());
+            assertEquals("Failure", sce.getMessage());
+        }
+    }
+
+    @Test
+    void putWorkspaceAsync_PutsTheWorkspace() {
+        client.putWorkspaceAsync(1, new Workspace("Name", "Description")).join();
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void setExecutor_IsUsedForAsynchronousRequests() {
+        List<String> threadNames = new ArrayList<>();
+        client.setExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "custom");
+            threadNames.add(thread.getName());
+            thread.start();
+        });
+
+        client.getWorkspaceAsync(1).join();
+
+        assertEquals(List.of("custom"), threadNames);
+    }
+
+    @Test
+    void close_WaitsForAsynchronousRequestsThatHaveAlreadyBeenSubmitted() {
+        responseDelay = 100;
+        client.setMaxConnectionsPerRoute(1);
+
+        List<CompletableFuture<Workspace>> futures = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            futures.add(client.getWorkspaceAsync(id));
+        }
+        client.close();
+
+        for (CompletableFuture<Workspace> future : futures) {
+            assertTrue(future.isDone());
+            assertFalse(future.isCompletedExceptionally());
+        }
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void setMaxConnectionsPerRoute_DoesNotAffectRequestsInProgress() throws Exception {
+        responseDelay = 200;
+
+        CompletableFuture<Workspace> future = client.getWorkspaceAsync(1);
+        while (requests.get() == 0) {
+            Thread.sleep(10);
+        }
+        client.setMaxConnectionsPerRoute(2);
+        client.setKeepAliveTimeout(1000);
+
+        assertEquals("Workspace 1", future.join().getName());
+        assertEquals("Workspace 2", client.getWorkspaceAsync(2).join().getName());
+    }
+
+    @Test
+    void getWorkspaces_GetsWorkspacesConcurrently() {
+        responseDelay = 100;
+        client.setMaxConnectionsPerRoute(4);
+
+        List<Long> workspaceIds = new ArrayList<>();
+        for (long id = 1; id <= 12; id++) {
+            workspaceIds.add(id);
+        }
+
+        WorkspaceBatchResult<Workspace> result = new WorkspaceBatch(client).getWorkspaces(workspaceIds);
+
+        assertTrue(result.isSuccess());
+        assertEquals(workspaceIds, new ArrayList<>(result.getResults().keySet()));
+        assertEquals("Workspace 12", result.getResults().get(12L).getName());
+        assertTrue(maxConcurrentRequests.get() > 1);
+        assertTrue(maxConcurrentRequests.get() <= 4);
+    }
+
+    @Test
+    void getWorkspaces_RetriesRequests_WhenTheServerIsUnavailable() {
+        failuresBeforeSuccess.set(2);
+
+        WorkspaceBatch batch = new WorkspaceBatch(client);
+        batch.setRetryBackoff(10);
+        WorkspaceBatchResult<Workspace> result = batch.getWorkspaces(List.of(1L));
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void getWorkspaces_ReportsAFailure_WhenTheRetriesAreExhausted() {
+        failuresBeforeSuccess.set(10);
+
+        WorkspaceBatch batch = new WorkspaceBatch(client);
+        batch.setRetryBackoff(10);
+        batch.setMaxRetries(2);
+        WorkspaceBatchResult<Workspace> result = batch.getWorkspaces(List.of(1L));
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getResults().isEmpty());
+        assertEquals(3, requests.get());
+        assertTrue(WorkspaceBatch.isRetryable(result.getFailures().get(1L)));
+    }
+
+    @Test
+    void getWorkspaces_DoesNotRetryRequests_WhenTheRequestIsNotAuthorised() {
+        failuresBeforeSuccess.set(1);
+        failureStatusCode = 401;
+
+        WorkspaceBatch batch = new WorkspaceBatch(client);
+        batch.setRetryBackoff(10);
+        WorkspaceBatchResult<Workspace> result = batch.getWorkspaces(List.of(1L));
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void getWorkspaces_LimitsTheRateOfRequests() {
+        WorkspaceBatch batch = new WorkspaceBatch(client);
+        batch.setRequestsPerSecond(20);
+
+        long start = System.currentTimeMillis();
+        WorkspaceBatchResult<Workspace> result = batch.getWorkspaces(List.of(1L, 2L, 3L, 4L, 5L));
+        long duration = System.currentTimeMillis() - start;
+
+        assertTrue(result.isSuccess());
+        assertTrue(duration >= 190, "Duration was " + duration + "ms");
+    }
+
+    @Test
+    void putWorkspaces_PutsWorkspaces() {
+        Map<Long, Workspace> workspaces = new HashMap<>();
+        workspaces.put(1L, new Workspace("Workspace 1", "Description"));
+        workspaces.put(2L, new Workspace("Workspace 2", "Description"));
+
+        WorkspaceBatchResult<Workspace> result = new WorkspaceBatch(client).putWorkspaces(workspaces);
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getResults().size());
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void isRetryable() {
+        assertTrue(WorkspaceBatch.isRetryable(new StructurizrClientException(new ConnectException())));
+        assertTrue(WorkspaceBatch.isRetryable(new StructurizrClientException(new SocketTimeoutException())));
+        assertFalse(WorkspaceBatch.isRetryable(new StructurizrClientException(new JsonParseException(null, "Unexpected character"))));
+        assertFalse(WorkspaceBatch.isRetryable(new StructurizrClientException(new IOException())));
+        assertTrue(WorkspaceBatch.isRetryable(new StructurizrClientException("Unavailable", 503)));
+        assertTrue(WorkspaceBatch.isRetryable(new StructurizrClientException("Too many requests", 429)));
+        assertFalse(WorkspaceBatch.isRetryable(new StructurizrClientException("Unauthorized", 401)));
+        assertFalse(WorkspaceBatch.isRetryable(new StructurizrClientException("Failure")));
+    }
+
+}
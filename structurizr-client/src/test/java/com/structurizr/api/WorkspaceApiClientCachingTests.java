@@ -0,0 +1,129 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceApiClientCachingTests {
+
+    private static final String ETAG = "\"v1\"";
+
+    private StubServer server;
+    private File archiveLocation;
+    private final List<String> ifNoneMatchHeaders = new CopyOnWriteArrayList<>();
+    private volatile int numberOfPuts = 0;
+    private final List<WorkspaceApiClient> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String json = StubServer.toJson(new Workspace("Name", "Description"));
+
+        server = new StubServer();
+        server.createContext("/api/workspace/1", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+
+            if (exchange.getRequestMethod().equals("PUT")) {
+                numberOfPuts++;
+                StubServer.respondWithSuccess(exchange);
+            } else {
+                String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+                ifNoneMatchHeaders.add(ifNoneMatch);
+
+                exchange.getResponseHeaders().add("ETag", ETAG);
+                if (ETAG.equals(ifNoneMatch) && numberOfPuts == 0) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                } else {
+                    StubServer.respond(exchange, 200, json);
+                }
+            }
+        });
+
+        archiveLocation = Files.createTempDirectory("structurizr").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.forEach(WorkspaceApiClient::close);
+        server.stop();
+    }
+
+    @Test
+    void getWorkspace_DoesNotSendConditionalRequests_WhenCachingIsDisabled() throws Exception {
+        WorkspaceApiClient client = createClient(false);
+        client.getWorkspace(1);
+        client.getWorkspace(1);
+
+        assertNull(ifNoneMatchHeaders.get(0));
+        assertNull(ifNoneMatchHeaders.get(1));
+    }
+
+    @Test
+    void getWorkspace_ReusesTheCachedWorkspace_WhenTheWorkspaceHasNotBeenModified() throws Exception {
+        WorkspaceApiClient client = createClient(true);
+        Workspace workspace1 = client.getWorkspace(1);
+        Workspace workspace2 = client.getWorkspace(1);
+
+        assertNull(ifNoneMatchHeaders.get(0));
+        assertEquals(ETAG, ifNoneMatchHeaders.get(1));
+        assertSame(workspace1, workspace2);
+    }
+
+    @Test
+    void getWorkspace_ReusesTheArchivedWorkspace_FromAnotherClient() throws Exception {
+        createClient(true).getWorkspace(1);
+        Workspace workspace = createClient(true).getWorkspace(1);
+
+        assertEquals(ETAG, ifNoneMatchHeaders.get(1));
+        assertEquals(2, ifNoneMatchHeaders.size());
+        assertEquals("Name", workspace.getName());
+    }
+
+    @Test
+    void getWorkspace_RetrievesTheWorkspaceAgain_WhenTheArchivedWorkspaceCannotBeRead() throws Exception {
+        createClient(true).getWorkspace(1);
+        for (File file : archiveLocation.listFiles((dir, name) -> name.endsWith(".json"))) {
+            try (FileWriter fileWriter = new FileWriter(file)) {
+                fileWriter.write("{ corrupt");
+            }
+        }
+
+        Workspace workspace = createClient(true).getWorkspace(1);
+
+        assertEquals(3, ifNoneMatchHeaders.size());
+        assertEquals(ETAG, ifNoneMatchHeaders.get(1));
+        assertNull(ifNoneMatchHeaders.get(2));
+        assertEquals("Name", workspace.getName());
+    }
+
+    @Test
+    void putWorkspace_InvalidatesTheCachedWorkspace() throws Exception {
+        WorkspaceApiClient client = createClient(true);
+        client.setMergeFromRemote(false);
+        client.getWorkspace(1);
+        client.putWorkspace(1, new Workspace("Name", "Description"));
+        client.getWorkspace(1);
+
+        assertNull(ifNoneMatchHeaders.get(1));
+    }
+
+    private WorkspaceApiClient createClient(boolean cacheWorkspaces) {
+        WorkspaceApiClient client = new WorkspaceApiClient(server.getApiUrl(), StubServer.API_KEY, StubServer.API_SECRET);
+        client.setWorkspaceArchiveLocation(archiveLocation);
+        client.setCacheWorkspaces(cacheWorkspaces);
+        clients.add(client);
+
+        return client;
+    }
+
+}
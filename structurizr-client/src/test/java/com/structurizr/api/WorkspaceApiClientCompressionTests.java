@@ -0,0 +1,134 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import com.sun.net.httpserver.HttpExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceApiClientCompressionTests {
+
+    private StubServer server;
+    private WorkspaceApiClient client;
+
+    private String requestAcceptEncoding;
+    private String requestContentEncoding;
+    private String requestContentMd5;
+    private String requestAuthorization;
+    private String requestNonce;
+    private String requestPath;
+    private byte[] requestBody;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        client = server.createClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void getWorkspace_DecompressesAGzipEncodedResponse() throws Exception {
+        String json = StubServer.toJson(new Workspace("Name", "Description"));
+        server.createContext("/api/workspace/1", exchange -> {
+            captureRequest(exchange);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = new GZIPOutputStream(exchange.getResponseBody())) {
+                outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        Workspace workspace = client.getWorkspace(1);
+
+        assertEquals("Name", workspace.getName());
+        assertTrue(requestAcceptEncoding.contains("gzip"));
+    }
+
+    @Test
+    void getWorkspaceAsJson_DecompressesAGzipEncodedResponse() throws Exception {
+        String json = StubServer.toJson(new Workspace("Name", "Description"));
+        server.createContext("/api/workspace/1", exchange -> {
+            captureRequest(exchange);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream outputStream = new GZIPOutputStream(exchange.getResponseBody())) {
+                outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+
+        assertEquals(json, client.getWorkspaceAsJson(1));
+    }
+
+    @Test
+    void putWorkspace_DoesNotCompressTheRequest_ByDefault() throws Exception {
+        server.createContext("/api/workspace/1", this::respondWithSuccess);
+
+        client.putWorkspace(1, new Workspace("Name", "Description"));
+
+        assertNull(requestContentEncoding);
+        assertSigned(new String(requestBody, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void putWorkspace_CompressesTheRequest_WhenCompressionIsEnabled() throws Exception {
+        server.createContext("/api/workspace/1", this::respondWithSuccess);
+        client.setCompressRequests(true);
+
+        client.putWorkspace(1, new Workspace("Name", "Description"));
+
+        assertEquals("gzip", requestContentEncoding);
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(requestBody))) {
+            String json = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"name\":\"Name\""));
+
+            // the content MD5 (and therefore the HMAC) is calculated from the uncompressed JSON
+            assertSigned(json);
+        }
+    }
+
+    private void assertSigned(String json) throws Exception {
+        String contentMd5 = new Md5Digest().generate(json);
+        assertEquals(Base64.getEncoder().encodeToString(contentMd5.getBytes(StandardCharsets.UTF_8)), requestContentMd5);
+
+        HmacContent hmacContent = new HmacContent("PUT", requestPath, contentMd5, "application/json; charset=UTF-8", requestNonce);
+        String hmac = new HashBasedMessageAuthenticationCode(StubServer.API_SECRET).generate(hmacContent.toString());
+        assertEquals(new HmacAuthorizationHeader(StubServer.API_KEY, hmac).format(), requestAuthorization);
+    }
+
+    private void respondWithSuccess(HttpExchange exchange) throws IOException {
+        captureRequest(exchange);
+
+        StubServer.respondWithSuccess(exchange);
+    }
+
+    private void captureRequest(HttpExchange exchange) throws IOException {
+        requestAcceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        requestContentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        requestContentMd5 = exchange.getRequestHeaders().getFirst(HttpHeaders.CONTENT_MD5);
+        requestAuthorization = exchange.getRequestHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        requestNonce = exchange.getRequestHeaders().getFirst(HttpHeaders.NONCE);
+        requestPath = exchange.getRequestURI().getPath();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exchange.getRequestBody().transferTo(outputStream);
+        requestBody = outputStream.toByteArray();
+    }
+
+}
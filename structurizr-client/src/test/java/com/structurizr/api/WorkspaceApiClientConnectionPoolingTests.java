@@ -0,0 +1,65 @@
+package com.structurizr.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceApiClientConnectionPoolingTests {
+
+    private StubServer server;
+    private WorkspaceApiClient client;
+    private final List<Integer> clientPorts = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        server.createContext("/api/workspace/1", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            StubServer.respond(exchange, 200, "{\"name\":\"Name\"}");
+        });
+
+        client = server.createClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void getWorkspace_ReusesConnections() throws Exception {
+        client.getWorkspaceAsJson(1);
+        client.getWorkspace(1);
+        client.getWorkspaceAsJson(1);
+
+        assertEquals(3, clientPorts.size());
+        assertEquals(1, clientPorts.stream().distinct().count());
+    }
+
+    @Test
+    void close_ClosesPooledConnections() throws Exception {
+        client.getWorkspaceAsJson(1);
+        client.close();
+        client.getWorkspaceAsJson(1);
+
+        assertEquals(2, clientPorts.size());
+        assertNotEquals(clientPorts.get(0), clientPorts.get(1));
+    }
+
+    @Test
+    void setMaxConnectionsPerRoute_ThrowsAnException_WhenLessThanOne() {
+        try {
+            client.setMaxConnectionsPerRoute(0);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The maximum number of connections per route must be 1 or more.", iae.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.structurizr.api;
+
+import com.structurizr.Workspace;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceCacheTests {
+
+    @Test
+    void put_EvictsTheLeastRecentlyUsedWorkspace_WhenTheMaximumSizeIsExceeded() {
+        WorkspaceCache cache = new WorkspaceCache(2);
+        cache.put(1, "", null, new WorkspaceCache.CachedWorkspace("1", null, null, new Workspace("1", "")));
+        cache.put(2, "", null, new WorkspaceCache.CachedWorkspace("2", null, null, new Workspace("2", "")));
+        cache.get(1, "", null);
+        cache.put(3, "", null, new WorkspaceCache.CachedWorkspace("3", null, null, new Workspace("3", "")));
+
+        assertEquals("1", cache.get(1, "", null).getETag());
+        assertNull(cache.get(2, "", null));
+        assertEquals("3", cache.get(3, "", null).getETag());
+    }
+
+    @Test
+    void get_ReturnsTheCachedWorkspace() {
+        Workspace workspace = new Workspace("Name", "Description");
+        WorkspaceCache cache = new WorkspaceCache();
+        cache.put(1, "branch", null, new WorkspaceCache.CachedWorkspace("etag", null, null, workspace));
+
+        assertSame(workspace, cache.get(1, "branch", null).getWorkspace());
+        assertNull(cache.get(1, "", null));
+    }
+
+}
@@ -2,6 +2,12 @@ package com.structurizr.encryption;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
@@ -97,4 +103,45 @@ public class AesEncryptionStrategyTests {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void encrypt_EncryptsPlaintextWrittenToAStream() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "06DC30A48ADEEE72D98E33C2CEAEAD3E", "ED124530AF64A5CAD8EF463CF5628434", "password");
+
+        ByteArrayOutputStream ciphertext = new ByteArrayOutputStream();
+        try (OutputStream outputStream = strategy.encrypt(ciphertext)) {
+            outputStream.write("Hello world".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("A/DzjV17WVS6ZAKsLOaC/Q==", ciphertext.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void decrypt_DecryptsCiphertextReadFromAStream() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "06DC30A48ADEEE72D98E33C2CEAEAD3E", "ED124530AF64A5CAD8EF463CF5628434", "password");
+
+        try (InputStream inputStream = strategy.decrypt(new ByteArrayInputStream("A/DzjV17WVS6ZAKsLOaC/Q==".getBytes(StandardCharsets.UTF_8)))) {
+            assertEquals("Hello world", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void decrypt_decryptsTheCiphertext_WhenThePlaintextIsNotAscii() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "password");
+        String ciphertext = strategy.encrypt("Grüße, 世界");
+
+        assertEquals("Grüße, 世界", strategy.decrypt(ciphertext));
+    }
+
+    @Test
+    void encrypt_UsesTheCurrentPassphrase_WhenThePassphraseIsChanged() throws Exception {
+        AesEncryptionStrategy strategy = new AesEncryptionStrategy(128, 1000, "06DC30A48ADEEE72D98E33C2CEAEAD3E", "ED124530AF64A5CAD8EF463CF5628434", "password");
+        assertEquals("A/DzjV17WVS6ZAKsLOaC/Q==", strategy.encrypt("Hello world"));
+
+        strategy.setPassphrase("another password");
+        assertNotEquals("A/DzjV17WVS6ZAKsLOaC/Q==", strategy.encrypt("Hello world"));
+
+        strategy.setPassphrase("password");
+        assertEquals("A/DzjV17WVS6ZAKsLOaC/Q==", strategy.encrypt("Hello world"));
+    }
+
+}
@@ -105,4 +105,20 @@ public class EncryptedWorkspaceTests {
         assertEquals(expected, stringWriter.toString());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getWorkspace_ReturnsTheWorkspace_WhenAesEncryptionIsUsed() throws Exception {
+        workspace.getModel().addSoftwareSystem("Software System", "Grüße, 世界");
+        AesEncryptionStrategy aesEncryptionStrategy = new AesEncryptionStrategy("password");
+        String ciphertext = new EncryptedWorkspace(workspace, aesEncryptionStrategy).getCiphertext();
+
+        encryptedWorkspace = new EncryptedWorkspace();
+        encryptedWorkspace.setEncryptionStrategy(new AesEncryptionStrategy(aesEncryptionStrategy.getKeySize(), aesEncryptionStrategy.getIterationCount(), aesEncryptionStrategy.getSalt(), aesEncryptionStrategy.getIv(), "password"));
+        encryptedWorkspace.setCiphertext(ciphertext);
+
+        workspace = encryptedWorkspace.getWorkspace();
+        assertEquals("Name", workspace.getName());
+        assertEquals("Grüße, 世界", workspace.getModel().getSoftwareSystemWithName("Software System").getDescription());
+        assertEquals(aesEncryptionStrategy.encrypt(encryptedWorkspace.getPlaintext()), ciphertext);
+    }
+
+}
@@ -1,8 +1,20 @@
 package com.structurizr.http;
 
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class HttpClientTests {
@@ -47,4 +59,75 @@ public class HttpClientTests {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void get_ReusesPooledConnections() throws Exception {
+        Set<Integer> clientPorts = new HashSet<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+
+            byte[] response = "content".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", RemoteContent.CONTENT_TYPE_PLAIN_TEXT);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        });
+        server.start();
+
+        String url = "http://localhost:" + server.getAddress().getPort();
+        try (HttpClient httpClient = new HttpClient()) {
+            httpClient.allow(url + "/.*");
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals("content", httpClient.get(url + "/include" + i + ".dsl").getContentAsString());
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void setTimeout_DoesNotAffectRequestsInProgress() throws Exception {
+        CountDownLatch requestReceived = new CountDownLatch(1);
+        CountDownLatch timeoutChanged = new CountDownLatch(1);
+        ExecutorService serverExecutor = Executors.newCachedThreadPool();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            requestReceived.countDown();
+            try {
+                timeoutChanged.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] response = "content".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", RemoteContent.CONTENT_TYPE_PLAIN_TEXT);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        });
+        server.start();
+
+        String url = "http://localhost:" + server.getAddress().getPort();
+        try (HttpClient httpClient = new HttpClient()) {
+            httpClient.allow(url + "/.*");
+
+            CompletableFuture<RemoteContent> content = CompletableFuture.supplyAsync(() -> httpClient.get(url + "/include.dsl"));
+            requestReceived.await(5, TimeUnit.SECONDS);
+            httpClient.setTimeout(5000);
+            timeoutChanged.countDown();
+
+            assertEquals("content", content.join().getContentAsString());
+            assertEquals("content", httpClient.get(url + "/include.dsl").getContentAsString());
+        } finally {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+}
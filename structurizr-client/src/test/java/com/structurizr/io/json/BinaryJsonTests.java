@@ -0,0 +1,122 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.Container;
+import com.structurizr.model.SoftwareSystem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.StringWriter;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryJsonTests {
+
+    @Test
+    void write_ThrowsAnIllegalArgumentException_WhenANullWorkspaceIsSpecified() throws Exception {
+        try {
+            new BinaryJsonWriter().write(null, new ByteArrayOutputStream());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Workspace cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    void read_ThrowsAnException_WhenANullInputStreamIsSpecified() throws Exception {
+        try {
+            new BinaryJsonReader().read(null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("An input stream must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    void read_ThrowsAnException_WhenTheInputIsNotInTheBinaryFormat() {
+        try {
+            new BinaryJsonReader().read(new ByteArrayInputStream("{ \"name\": \"Name\" }".getBytes()));
+            fail();
+        } catch (WorkspaceReaderException wre) {
+            assertEquals("The input is not a binary workspace definition", wre.getMessage());
+        }
+    }
+
+    @Test
+    void read_ThrowsAnException_WhenTheInputIsTruncated() throws Exception {
+        byte[] bytes = toBinary(new Workspace("Name", "Description"));
+
+        try {
+            new BinaryJsonReader().read(new ByteArrayInputStream(bytes, 0, bytes.length - 10));
+            fail();
+        } catch (WorkspaceReaderException wre) {
+            assertEquals("Could not read binary workspace definition", wre.getMessage());
+        }
+    }
+
+    @Test
+    void read_ThrowsAnException_WhenAStringLengthIsTooLarge() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.writeBytes(BinaryJsonFormat.MAGIC);
+        outputStream.write(BinaryJsonFormat.VERSION);
+        outputStream.write(BinaryJsonFormat.START_OBJECT);
+        outputStream.write(BinaryJsonFormat.FIELD_NAME);
+        outputStream.write(0); // a string literal follows
+        outputStream.writeBytes(new byte[] { (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07 }); // Integer.MAX_VALUE
+
+        try {
+            new BinaryJsonReader().read(new ByteArrayInputStream(outputStream.toByteArray()));
+            fail();
+        } catch (WorkspaceReaderException wre) {
+            assertEquals("Could not read binary workspace definition", wre.getMessage());
+            assertEquals("Malformed string length: 2147483647", wre.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void write_and_read() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.setLastModifiedDate(new Date(1700000000000L));
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System", "Description with non-ASCII characters – ü");
+        softwareSystem.addTags("Tag 1", "Tag 2");
+        softwareSystem.addProperty("name", "value");
+        softwareSystem.addContainer("Web Application", "Description", "Java").uses(softwareSystem.addContainer("Database", "Description", "Java"), "Reads from", "JDBC");
+        workspace.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description").addDefaultElements();
+
+        Workspace copy = new BinaryJsonReader().read(new ByteArrayInputStream(toBinary(workspace)));
+
+        assertEquals(toJson(workspace), toJson(copy));
+        assertEquals("Java", ((Container)copy.getModel().getElementWithCanonicalName("Container://Software System.Database")).getTechnology());
+    }
+
+    @Test
+    void write_and_read_RoundTripsExactlyWithTheJsonFormat() throws Exception {
+        Workspace workspace = new JsonReader().read(new FileReader(new File("./src/test/resources/structurizr-36141-workspace.json")));
+        byte[] bytes = toBinary(workspace);
+        Workspace copy = new BinaryJsonReader().read(new ByteArrayInputStream(bytes));
+
+        String json = toJson(workspace);
+        assertEquals(json, toJson(copy));
+        assertTrue(bytes.length < json.length());
+    }
+
+    private byte[] toBinary(Workspace workspace) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new BinaryJsonWriter().write(workspace, outputStream);
+
+        return outputStream.toByteArray();
+    }
+
+    private String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+}
@@ -6,7 +6,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -30,6 +36,38 @@ public class JsonTests {
         assertEquals("Description", workspace2.getDescription());
     }
 
+    @Test
+    void write_and_read_concurrently() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.setLastModifiedDate(new Date(1700000000000L));
+        workspace.getModel().addSoftwareSystem("Software System").addContainer("Container");
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+        String expected = stringWriter.toString();
+
+        // the readers and writers share Jackson objects, including the date format
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executorService.submit(() -> {
+                    Workspace copy = new JsonReader().read(new StringReader(expected));
+                    StringWriter writer = new StringWriter();
+                    new JsonWriter(false).write(copy, writer);
+
+                    return writer.toString();
+                }));
+            }
+
+            for (Future<String> result : results) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     @Test
     void backwardsCompatibilityOfRenamingEnterpriseContextViewsToSystemLandscapeViews() throws Exception {
         Workspace workspace = new Workspace("Name", "Description");
@@ -0,0 +1,106 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.encryption.AesEncryptionStrategy;
+import com.structurizr.encryption.EncryptedWorkspace;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.SoftwareSystem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingJsonReaderTests {
+
+    @Test
+    void read_ThrowsAnException_WhenANullInputStreamIsSpecified() throws Exception {
+        try {
+            new StreamingJsonReader().read(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("An input stream must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void read_ReadsAnUnencryptedWorkspace() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.getModel().addSoftwareSystem("Software System").addContainer("Container");
+
+        Workspace result = new StreamingJsonReader().read(toInputStream(toJson(workspace)));
+
+        assertEquals("Name", result.getName());
+        assertNotNull(result.getModel().getElementWithCanonicalName("Container://Software System.Container"));
+    }
+
+    @Test
+    void read_ReadsAnUnencryptedWorkspaceLargerThanThePrefix() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        for (int i = 0; i < 2000; i++) {
+            SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System " + i);
+            softwareSystem.setDescription("A description of software system " + i);
+        }
+
+        String json = toJson(workspace);
+        assertTrue(json.length() > 64 * 1024);
+
+        Workspace result = new StreamingJsonReader().read(toInputStream(json));
+        assertEquals(2000, result.getModel().getSoftwareSystems().size());
+    }
+
+    @Test
+    void read_ReadsAnEncryptedWorkspace() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        workspace.getModel().addSoftwareSystem("Software System");
+
+        EncryptedWorkspace encryptedWorkspace = new EncryptedWorkspace(workspace, new AesEncryptionStrategy("password"));
+        StringWriter stringWriter = new StringWriter();
+        new EncryptedJsonWriter(false).write(encryptedWorkspace, stringWriter);
+
+        StreamingJsonReader reader = new StreamingJsonReader();
+        reader.setEncryptionStrategy(new AesEncryptionStrategy("password"));
+        Workspace result = reader.read(toInputStream(stringWriter.toString()));
+
+        assertEquals("Name", result.getName());
+        assertNotNull(result.getModel().getSoftwareSystemWithName("Software System"));
+    }
+
+    @Test
+    void read_ThrowsAnException_WhenTheJsonIsInvalid() {
+        try {
+            new StreamingJsonReader().read(toInputStream("{ \"name\": "));
+            fail();
+        } catch (WorkspaceReaderException wre) {
+            assertEquals("Could not read JSON", wre.getMessage());
+        }
+    }
+
+    @Test
+    void isEncrypted() {
+        assertTrue(StreamingJsonReader.isEncrypted(bytes("{\"ciphertext\":\"abc\",\"encryptionStrategy\":{}}")));
+        assertTrue(StreamingJsonReader.isEncrypted(bytes("{\"configuration\":{\"users\":[]},\"encryptionStrategy\":{}}")));
+        assertFalse(StreamingJsonReader.isEncrypted(bytes("{\"configuration\":{},\"model\":{}}")));
+        assertFalse(StreamingJsonReader.isEncrypted(bytes("{\"name\":\"Name\",\"views\":{}}")));
+        assertFalse(StreamingJsonReader.isEncrypted(bytes("{\"name\":\"Na")));
+        assertFalse(StreamingJsonReader.isEncrypted(bytes("")));
+    }
+
+    private String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+    private ByteArrayInputStream toInputStream(String json) {
+        return new ByteArrayInputStream(bytes(json));
+    }
+
+    private byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
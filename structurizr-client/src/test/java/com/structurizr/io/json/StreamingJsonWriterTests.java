@@ -0,0 +1,80 @@
+package com.structurizr.io.json;
+
+import com.structurizr.Workspace;
+import com.structurizr.encryption.AesEncryptionStrategy;
+import com.structurizr.encryption.EncryptedWorkspace;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingJsonWriterTests {
+
+    @Test
+    void write_ThrowsAnIllegalArgumentException_WhenANullWorkspaceIsSpecified() throws Exception {
+        try {
+            new StreamingJsonWriter(true).write((Workspace)null, new ByteArrayOutputStream());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Workspace cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    void write_ThrowsAnIllegalArgumentException_WhenANullOutputStreamIsSpecified() throws Exception {
+        try {
+            new StreamingJsonWriter(true).write(new Workspace("Name", "Description"), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("OutputStream cannot be null.", e.getMessage());
+        }
+    }
+
+    @Test
+    void write_WritesTheSameJsonAsTheJsonWriter() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description – with non-ASCII characters");
+        workspace.getModel().addSoftwareSystem("Software System").addContainer("Container");
+
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new StreamingJsonWriter(false).write(workspace, outputStream);
+
+        assertEquals(stringWriter.toString(), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_WritesTheSameJsonAsTheEncryptedJsonWriter() throws Exception {
+        Workspace workspace = new Workspace("Name", "Description");
+        EncryptedWorkspace encryptedWorkspace = new EncryptedWorkspace(workspace, new AesEncryptionStrategy("password"));
+
+        StringWriter stringWriter = new StringWriter();
+        new EncryptedJsonWriter(false).write(encryptedWorkspace, stringWriter);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new StreamingJsonWriter(false).write(encryptedWorkspace, outputStream);
+
+        assertEquals(stringWriter.toString(), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void write_DoesNotCloseTheOutputStream() throws Exception {
+        boolean[] closed = { false };
+        OutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        new StreamingJsonWriter(false).write(new Workspace("Name", "Description"), outputStream);
+
+        assertFalse(closed[0]);
+    }
+
+}
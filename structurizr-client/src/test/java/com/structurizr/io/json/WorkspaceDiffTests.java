@@ -0,0 +1,193 @@
+package com.structurizr.io.json;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.structurizr.Workspace;
+import com.structurizr.io.WorkspaceReaderException;
+import com.structurizr.model.Person;
+import com.structurizr.model.SoftwareSystem;
+import com.structurizr.view.SystemContextView;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceDiffTests {
+
+    @Test
+    void diff_ThrowsAnException_WhenTheOriginalWorkspaceIsNull() throws Exception {
+        try {
+            new WorkspaceDiff().diff(null, new Workspace("Name", "Description"));
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The original workspace must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void diff_ThrowsAnException_WhenTheNewWorkspaceIsNull() throws Exception {
+        try {
+            new WorkspaceDiff().diff(new Workspace("Name", "Description"), null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The new workspace must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void diff_ReturnsAnEmptyPatch_WhenTheWorkspacesAreTheSame() throws Exception {
+        WorkspacePatch patch = new WorkspaceDiff().diff(createWorkspace(), createWorkspace());
+
+        assertTrue(patch.isEmpty());
+        assertEquals("[]", patch.toJson());
+    }
+
+    @Test
+    void diff_ReturnsASingleOperation_WhenAnElementDescriptionIsChanged() throws Exception {
+        Workspace remote = createWorkspace();
+        Workspace local = createWorkspace();
+        local.getModel().getSoftwareSystemWithName("Software System").setDescription("A new description");
+
+        WorkspacePatch patch = new WorkspaceDiff().diff(remote, local);
+
+        assertEquals(1, patch.size());
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/model/softwareSystems/[canonicalName=SoftwareSystem:~1~1Software System]/description\",\"value\":\"A new description\"}]", patch.toJson());
+        assertRoundTrips(remote, local, patch);
+    }
+
+    @Test
+    void diff_MatchesElementsAndRelationshipsByCanonicalName_WhenTheirIdsAreDifferent() throws Exception {
+        Workspace remote = createWorkspace();
+        Workspace local = new Workspace("Name", "Description");
+        local.getModel().addSoftwareSystem("E-mail System", "Sends e-mails.");
+        Person user = local.getModel().addPerson("User", "A user.");
+        SoftwareSystem softwareSystem = local.getModel().addSoftwareSystem("Software System", "Description");
+        user.uses(softwareSystem, "Uses");
+        local.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description").addAllElements();
+
+        WorkspacePatch patch = new WorkspaceDiff().diff(remote, local);
+
+        // the existing elements and relationships are updated in place, rather than being removed and added again
+        for (ObjectNode operation : patch.getOperations()) {
+            assertNotEquals("remove", operation.get("op").asText(), operation.toString());
+        }
+        assertTrue(patch.toJson().contains("/model/people/[canonicalName=Person:~1~1User]/id"));
+        assertRoundTrips(remote, local, patch);
+    }
+
+    @Test
+    void applyTo_AddsElementsRelationshipsAndViews() throws Exception {
+        Workspace remote = createWorkspace();
+        Workspace local = createWorkspace();
+        SoftwareSystem softwareSystem = local.getModel().getSoftwareSystemWithName("Software System");
+        SoftwareSystem emailSystem = local.getModel().addSoftwareSystem("E-mail System", "Sends e-mails.");
+        softwareSystem.uses(emailSystem, "Sends e-mail using");
+        SystemContextView view = local.getViews().createSystemContextView(emailSystem, "EmailSystemContext", "Description");
+        view.addAllElements();
+
+        WorkspacePatch patch = new WorkspaceDiff().diff(remote, local);
+
+        assertFalse(patch.isEmpty());
+        assertRoundTrips(remote, local, patch);
+    }
+
+    @Test
+    void applyTo_RemovesElementsAndRelationships() throws Exception {
+        Workspace remote = createWorkspace();
+        SoftwareSystem emailSystem = remote.getModel().addSoftwareSystem("E-mail System", "Sends e-mails.");
+        remote.getModel().getSoftwareSystemWithName("Software System").uses(emailSystem, "Sends e-mail using");
+        remote.getViews().getSystemContextViews().iterator().next().addAllElements();
+        Workspace local = createWorkspace();
+
+        WorkspacePatch patch = new WorkspaceDiff().diff(remote, local);
+
+        assertFalse(patch.isEmpty());
+        assertRoundTrips(remote, local, patch);
+    }
+
+    @Test
+    void applyTo_DoesNotModifyTheOriginalWorkspace() throws Exception {
+        Workspace remote = createWorkspace();
+        Workspace local = createWorkspace();
+        local.setName("New name");
+
+        WorkspacePatch patch = new WorkspaceDiff().diff(remote, local);
+        Workspace result = patch.applyTo(remote);
+
+        assertEquals("New name", result.getName());
+        assertEquals("Name", remote.getName());
+    }
+
+    @Test
+    void diff_ReturnsAPatchThatIsMuchSmallerThanTheWorkspace_WhenTheChangeIsSmall() throws Exception {
+        File file = new File("./src/test/resources/structurizr-36141-workspace.json");
+        Workspace remote = new JsonReader().read(new FileReader(file));
+        Workspace local = new JsonReader().read(new FileReader(file));
+        local.getModel().getSoftwareSystems().iterator().next().setDescription("A new description");
+
+        WorkspacePatch patch = new WorkspaceDiff().diff(remote, local);
+
+        assertEquals(1, patch.size());
+        assertTrue(patch.toJson().length() * 100 < toJson(local).length());
+        assertRoundTrips(remote, local, patch);
+    }
+
+    @Test
+    void fromJson_ParsesAPatch() throws Exception {
+        Workspace remote = createWorkspace();
+        Workspace local = createWorkspace();
+        local.getModel().addPerson("Administrator", "An administrator.");
+
+        WorkspacePatch patch = WorkspacePatch.fromJson(new WorkspaceDiff().diff(remote, local).toJson());
+
+        assertRoundTrips(remote, local, patch);
+    }
+
+    @Test
+    void fromJson_ThrowsAnException_WhenTheJsonIsNotAnArray() {
+        try {
+            WorkspacePatch.fromJson("{}");
+            fail();
+        } catch (WorkspaceReaderException wre) {
+            assertEquals("A patch must be a JSON array", wre.getMessage());
+        }
+    }
+
+    @Test
+    void applyTo_ThrowsAnException_WhenThePathDoesNotExist() throws Exception {
+        WorkspacePatch patch = WorkspacePatch.fromJson("[{\"op\":\"replace\",\"path\":\"/model/softwareSystems/[id=999]/description\",\"value\":\"Description\"}]");
+
+        try {
+            patch.applyTo(createWorkspace());
+            fail();
+        } catch (WorkspaceReaderException wre) {
+            assertEquals("The path /model/softwareSystems/[id=999]/description does not exist", wre.getMessage());
+        }
+    }
+
+    private Workspace createWorkspace() {
+        Workspace workspace = new Workspace("Name", "Description");
+        Person user = workspace.getModel().addPerson("User", "A user.");
+        SoftwareSystem softwareSystem = workspace.getModel().addSoftwareSystem("Software System", "Description");
+        user.uses(softwareSystem, "Uses");
+
+        SystemContextView view = workspace.getViews().createSystemContextView(softwareSystem, "SystemContext", "Description");
+        view.addAllElements();
+
+        return workspace;
+    }
+
+    private void assertRoundTrips(Workspace remote, Workspace local, WorkspacePatch patch) throws Exception {
+        assertEquals(toJson(local), toJson(patch.applyTo(remote)));
+    }
+
+    private String toJson(Workspace workspace) throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new JsonWriter(false).write(workspace, stringWriter);
+
+        return stringWriter.toString();
+    }
+
+}
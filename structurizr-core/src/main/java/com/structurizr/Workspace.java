@@ -12,8 +12,8 @@ import javax.annotation.Nonnull;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Represents a Structurizr workspace, which is a wrapper for a
@@ -218,7 +218,7 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
     }
 
     void remove(SoftwareSystem softwareSystem) {
-        Set<SoftwareSystemInstance> softwareSystemInstances = model.getElements().stream().filter(e -> e instanceof SoftwareSystemInstance && ((SoftwareSystemInstance)e).getSoftwareSystem() == softwareSystem).map(e -> (SoftwareSystemInstance)e).collect(Collectors.toSet());
+        Set<SoftwareSystemInstance> softwareSystemInstances = new HashSet<>(model.getSoftwareSystemInstances(softwareSystem));
         for (SoftwareSystemInstance softwareSystemInstance : softwareSystemInstances) {
             remove(softwareSystemInstance);
         }
@@ -228,7 +228,7 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
         }
 
         boolean hasContainers = softwareSystem.hasContainers();
-        boolean hasSoftwareSystemInstances = model.getElements().stream().anyMatch(e -> e instanceof SoftwareSystemInstance && ((SoftwareSystemInstance)e).getSoftwareSystem() == softwareSystem);
+        boolean hasSoftwareSystemInstances = !model.getSoftwareSystemInstances(softwareSystem).isEmpty();
         if (!hasContainers && !hasSoftwareSystemInstances && !isElementAssociatedWithAnyViews(softwareSystem)) {
             try {
                 Method method = Model.class.getDeclaredMethod("remove", SoftwareSystem.class);
@@ -246,13 +246,13 @@ public final class Workspace extends AbstractWorkspace implements Documentable {
         }
 
         if (!isElementAssociatedWithAnyViews(container)) {
-            Set<ContainerInstance> containerInstances = model.getElements().stream().filter(e -> e instanceof ContainerInstance && ((ContainerInstance)e).getContainer() == container).map(e -> (ContainerInstance)e).collect(Collectors.toSet());
+            Set<ContainerInstance> containerInstances = new HashSet<>(model.getContainerInstances(container));
             for (ContainerInstance containerInstance : containerInstances) {
                 remove(containerInstance);
             }
 
             boolean hasComponents = container.hasComponents();
-            boolean hasContainerInstances = model.getElements().stream().anyMatch(e -> e instanceof ContainerInstance && ((ContainerInstance)e).getContainer() == container);
+            boolean hasContainerInstances = !model.getContainerInstances(container).isEmpty();
             if (!hasComponents && !hasContainerInstances && !isElementAssociatedWithAnyViews(container)) {
                 try {
                     Method method = Model.class.getDeclaredMethod("remove", Container.class);
@@ -1,5 +1,7 @@
 package com.structurizr.model;
 
+import java.util.*;
+
 /**
  * Abstract base class for supplied ImpliedRelationshipsStrategy implementations.
  */
@@ -48,4 +50,58 @@ public abstract class AbstractImpliedRelationshipsStrategy implements ImpliedRel
         return impliedRelationship;
     }
 
+    /**
+     * Creates implied relationships for a batch of relationships in a single pass, producing the same result as
+     * calling {@link #createImpliedRelationships(Relationship)} for each relationship in turn. Rather than scanning
+     * the relationships of every source/destination ancestor combination, the ancestor chain of each element is
+     * computed once and existing relationships are looked up in a set of (source, destination[, description]) keys.
+     *
+     * @param relationships         the relationships on which implied relationships are based, in order
+     * @param matchDescription      true if only an existing relationship with the same description prevents an implied
+     *                              relationship from being created, false if any existing relationship does
+     */
+    protected void createImpliedRelationshipsInSinglePass(Collection<Relationship> relationships, boolean matchDescription) {
+        Map<Element, List<Element>> ancestorChains = new HashMap<>();
+        Set<Element> indexedSources = new HashSet<>();
+        Set<List<Object>> existingRelationships = new HashSet<>();
+
+        for (Relationship relationship : relationships) {
+            List<Element> sources = ancestorChains.computeIfAbsent(relationship.getSource(), this::getAncestorChain);
+            List<Element> destinations = ancestorChains.computeIfAbsent(relationship.getDestination(), this::getAncestorChain);
+            Model model = relationship.getModel();
+
+            for (Element source : sources) {
+                if (indexedSources.add(source)) {
+                    for (Relationship existingRelationship : source.relationships()) {
+                        existingRelationships.add(relationshipKey(source, existingRelationship.getDestination(), existingRelationship.getDescription(), matchDescription));
+                    }
+                }
+
+                for (Element destination : destinations) {
+                    if (impliedRelationshipIsAllowed(source, destination) && existingRelationships.add(relationshipKey(source, destination, relationship.getDescription(), matchDescription))) {
+                        model.addImpliedRelationship(relationship, source, destination);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Element> getAncestorChain(Element element) {
+        List<Element> ancestorChain = new ArrayList<>();
+        while (element != null) {
+            ancestorChain.add(element);
+            element = element.getParent();
+        }
+
+        return ancestorChain;
+    }
+
+    private List<Object> relationshipKey(Element source, Element destination, String description, boolean matchDescription) {
+        if (matchDescription) {
+            return List.of(source, destination, description != null ? description : "");
+        } else {
+            return List.of(source, destination);
+        }
+    }
+
 }
\ No newline at end of file
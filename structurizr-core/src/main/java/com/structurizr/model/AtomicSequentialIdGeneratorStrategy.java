@@ -0,0 +1,119 @@
+package com.structurizr.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free ID generator that uses sequential numbers when generating IDs for model elements and relationships.
+ * Each thread can optionally reserve a block of IDs at a time, so that threads populating a model in parallel
+ * (see {@link Model#setThreadSafe(boolean)}) don't contend on the shared counter. With a block size of 1 (the default),
+ * IDs are generated in the same sequence as {@link SequentialIntegerIdGeneratorStrategy}.
+ *
+ * As with the default ID generator, any non-numeric IDs passed to {@link #found(String)} are ignored.
+ * IDs that have already been reserved by a thread, but which are subsequently found (e.g. when a workspace
+ * is loaded from JSON), are not used. IDs found on the thread they were generated by (as happens when
+ * elements and relationships are added to a {@link Model}) don't affect the blocks reserved by other threads.
+ */
+public class AtomicSequentialIdGeneratorStrategy implements IdGenerator {
+
+    private static final int MAXIMUM_NUMBER_OF_DIGITS = 18;
+
+    private final AtomicLong ID = new AtomicLong();
+    private final AtomicLong maximumFoundId = new AtomicLong();
+    private final int blockSize;
+    private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[] { 0, 0, 0 });
+
+    /**
+     * Creates a new ID generator that doesn't reserve blocks of IDs.
+     */
+    public AtomicSequentialIdGeneratorStrategy() {
+        this(1);
+    }
+
+    /**
+     * Creates a new ID generator that reserves blocks of IDs for each thread.
+     *
+     * @param blockSize     the number of IDs to reserve at a time (must be 1 or more)
+     */
+    public AtomicSequentialIdGeneratorStrategy(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("The block size must be 1 or more.");
+        }
+
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String generateId(Element element) {
+        return Long.toString(nextId());
+    }
+
+    @Override
+    public String generateId(Relationship relationship) {
+        return Long.toString(nextId());
+    }
+
+    private long nextId() {
+        if (blockSize == 1) {
+            return ID.incrementAndGet();
+        }
+
+        // block[0] is the next ID to use, block[1] is the last ID in the reserved block, block[2] is the first
+        long[] block = this.block.get();
+
+        // skip any part of the block up to and including IDs that have since been found
+        long foundId = maximumFoundId.get();
+        if (block[0] != 0 && block[0] <= foundId) {
+            block[0] = foundId + 1;
+        }
+
+        if (block[0] == 0 || block[0] > block[1]) {
+            block[0] = ID.getAndAdd(blockSize) + 1;
+            block[1] = block[0] + blockSize - 1;
+            block[2] = block[0];
+        }
+
+        return block[0]++;
+    }
+
+    @Override
+    public void found(String id) {
+        long idAsLong = parse(id);
+        if (idAsLong > 0) {
+            if (blockSize > 1) {
+                long[] block = this.block.get();
+                if (idAsLong >= block[2] && idAsLong < block[0]) {
+                    // this ID was generated by the current thread, so there's no need to skip the blocks reserved by other threads
+                    return;
+                }
+
+                maximumFoundId.accumulateAndGet(idAsLong, Math::max);
+            }
+            ID.accumulateAndGet(idAsLong, Math::max);
+        }
+    }
+
+    /**
+     * Parses a string of ASCII digits, without using exceptions for control flow.
+     *
+     * @param id    the ID to parse
+     * @return  the numeric value, or -1 if the ID is not a (reasonably sized) positive number
+     */
+    private static long parse(String id) {
+        if (id == null || id.isEmpty() || id.length() > MAXIMUM_NUMBER_OF_DIGITS) {
+            return -1;
+        }
+
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            value = (value * 10) + (c - '0');
+        }
+
+        return value;
+    }
+
+}
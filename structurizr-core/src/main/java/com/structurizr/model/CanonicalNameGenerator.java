@@ -25,6 +25,10 @@ final class CanonicalNameGenerator {
     }
 
     private String formatName(String name) {
+        if (name == null) {
+            return "";
+        }
+
         return name
                 .replace(STATIC_CANONICAL_NAME_SEPARATOR, "")
                 .replace(DEPLOYMENT_CANONICAL_NAME_SEPARATOR, "");
@@ -4,8 +4,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.structurizr.documentation.Documentable;
 import com.structurizr.documentation.Documentation;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -13,6 +11,8 @@ import java.util.Set;
  */
 public final class Component extends StaticStructureElement implements Documentable {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT, Tags.COMPONENT);
+
     private Container parent;
 
     private String technology;
@@ -68,7 +68,7 @@ public final class Component extends StaticStructureElement implements Documenta
 
     @Override
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Arrays.asList(Tags.ELEMENT, Tags.COMPONENT));
+        return DEFAULT_TAGS;
     }
 
     /**
@@ -12,6 +12,8 @@ import java.util.*;
  */
 public final class Container extends StaticStructureElement implements Documentable {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT, Tags.CONTAINER);
+
     private SoftwareSystem parent;
     private String technology;
 
@@ -165,7 +167,7 @@ public final class Container extends StaticStructureElement implements Documenta
 
     @Override
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Arrays.asList(Tags.ELEMENT, Tags.CONTAINER));
+        return DEFAULT_TAGS;
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.structurizr.model;
 
+import java.util.Collection;
+
 /**
  * This strategy creates implied relationships between all valid combinations of the parent elements,
  * unless any relationship already exists between them.
@@ -31,4 +33,9 @@ public class CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy exten
         }
     }
 
+    @Override
+    public void createImpliedRelationships(Collection<Relationship> relationships) {
+        createImpliedRelationshipsInSinglePass(relationships, false);
+    }
+
 }
\ No newline at end of file
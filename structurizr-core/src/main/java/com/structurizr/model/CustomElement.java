@@ -2,8 +2,6 @@ package com.structurizr.model;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -11,6 +9,8 @@ import java.util.Set;
  */
 public final class CustomElement extends GroupableElement {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT);
+
     private String metadata;
 
     protected CustomElement() {
@@ -23,7 +23,7 @@ public final class CustomElement extends GroupableElement {
 
     @Override
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Collections.singletonList(Tags.ELEMENT));
+        return DEFAULT_TAGS;
     }
 
     @Override
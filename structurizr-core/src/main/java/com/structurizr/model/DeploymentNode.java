@@ -22,6 +22,8 @@ import java.util.*;
  */
 public final class DeploymentNode extends DeploymentElement {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT, Tags.DEPLOYMENT_NODE);
+
     private String technology;
     private String instances = "1";
 
@@ -443,7 +445,7 @@ public final class DeploymentNode extends DeploymentElement {
 
     @JsonIgnore
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Arrays.asList(Tags.ELEMENT, Tags.DEPLOYMENT_NODE));
+        return DEFAULT_TAGS;
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -87,6 +88,15 @@ public abstract class Element extends ModelItem {
         return new TreeSet<>(relationships);
     }
 
+    /**
+     * Gets an unmodifiable view of the outgoing relationships; this avoids the copy made by {@link #getRelationships()}.
+     *
+     * @return  an unmodifiable Set of Relationship objects, or an empty set if none exist
+     */
+    public Set<Relationship> relationships() {
+        return Collections.unmodifiableSet(relationships);
+    }
+
     void setRelationships(Set<Relationship> relationships) {
         if (relationships != null) {
             this.relationships = new TreeSet<>(relationships);
@@ -99,7 +109,7 @@ public abstract class Element extends ModelItem {
      * @return  true if this element has afferent relationships, false otherwise
      */
     public boolean hasAfferentRelationships() {
-        return getModel().getRelationships().stream().filter(r -> r.getDestination() == this).count() > 0;
+        return !getModel().getAfferentRelationships(this).isEmpty();
     }
 
     /**
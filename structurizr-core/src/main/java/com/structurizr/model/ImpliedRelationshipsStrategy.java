@@ -1,5 +1,7 @@
 package com.structurizr.model;
 
+import java.util.Collection;
+
 /**
  * Defines the interface for strategies to create implied relationships in the model,
  * after a relationship has been created.
@@ -14,4 +16,17 @@ public interface ImpliedRelationshipsStrategy {
      */
     void createImpliedRelationships(Relationship relationship);
 
+    /**
+     * Called after a batch of relationships has been created in the model (e.g. by a {@link ModelBuilder}),
+     * providing an opportunity to create any resulting implied relationships in a single pass.
+     * The default implementation calls {@link #createImpliedRelationships(Relationship)} for each relationship, in order.
+     *
+     * @param relationships     the newly created relationships, in the order they were created
+     */
+    default void createImpliedRelationships(Collection<Relationship> relationships) {
+        for (Relationship relationship : relationships) {
+            createImpliedRelationships(relationship);
+        }
+    }
+
 }
\ No newline at end of file
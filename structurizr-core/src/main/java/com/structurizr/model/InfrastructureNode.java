@@ -2,8 +2,6 @@ package com.structurizr.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
-import java.util.Arrays;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -20,6 +18,8 @@ import java.util.Set;
  */
 public final class InfrastructureNode extends DeploymentElement {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT, Tags.INFRASTRUCTURE_NODE);
+
     private DeploymentNode parent;
     private String technology;
 
@@ -72,7 +72,7 @@ public final class InfrastructureNode extends DeploymentElement {
 
     @JsonIgnore
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Arrays.asList(Tags.ELEMENT, Tags.INFRASTRUCTURE_NODE));
+        return DEFAULT_TAGS;
     }
 
     @Override
@@ -7,8 +7,9 @@ import com.structurizr.util.StringUtils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents a software architecture model, into which all model elements are added.
@@ -19,9 +20,18 @@ public final class Model implements PropertyHolder {
 
     private final Set<Element> elements = new TreeSet<>();
     private final Map<String, Element> elementsById = new HashMap<>();
+    private final Map<Class<? extends Element>, Set<Element>> elementsByType = new HashMap<>();
+    private final Map<SoftwareSystem, Set<SoftwareSystemInstance>> softwareSystemInstancesBySoftwareSystem = new HashMap<>();
+    private final Map<Container, Set<ContainerInstance>> containerInstancesByContainer = new HashMap<>();
+    private final Map<String, Map<String, Set<StaticStructureElementInstance>>> elementInstancesByEnvironmentAndDeploymentGroup = new HashMap<>();
 
     private final Set<Relationship> relationships = new TreeSet<>();
     private final Map<String, Relationship> relationshipsById = new HashMap<>();
+    private final Map<Element, Set<Relationship>> afferentRelationshipsByElement = new HashMap<>();
+
+    private final Map<String, Element> elementsByCanonicalName = new HashMap<>();
+    private final Map<String, Relationship> relationshipsByCanonicalName = new HashMap<>();
+    private final Set<String> duplicateCanonicalNames = new HashSet<>();
 
     private Set<Person> people = new TreeSet<>();
     private Set<SoftwareSystem> softwareSystems = new TreeSet<>();
@@ -32,9 +42,69 @@ public final class Model implements PropertyHolder {
 
     private Map<String, String> properties = new HashMap<>();
 
+    // only used if thread-safe mode has been enabled
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean threadSafe = false;
+
     Model() {
     }
 
+    /**
+     * Determines whether this model is in thread-safe mode.
+     *
+     * @return  true if thread-safe mode is enabled, false otherwise
+     */
+    @JsonIgnore
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
+    /**
+     * Enables or disables thread-safe mode. In thread-safe mode, adding/removing elements and relationships
+     * (including via methods on elements, such as {@link SoftwareSystem#addContainer(String)} and the "uses" methods),
+     * and the lookup methods on this model, are serialised with a lock, so
+     * that independent parts of the model (e.g. one software system per thread) can be populated in parallel.
+     * Changes to individual elements (e.g. tags and properties) are not guarded, and the unmodifiable views
+     * returned by methods such as {@link #elements()} should not be iterated while other threads are modifying the model.
+     *
+     * In thread-safe mode, the sets returned by lookup methods such as {@link #getAfferentRelationships(Element)}
+     * are snapshots rather than live views.
+     *
+     * Thread-safe mode should be enabled before the model is shared between threads, and can't be changed once
+     * elements or relationships have been added to the model.
+     *
+     * @param threadSafe    true to enable thread-safe mode, false to disable it
+     * @throws IllegalStateException    if the model contains elements or relationships
+     */
+    @JsonIgnore
+    public void setThreadSafe(boolean threadSafe) {
+        if (threadSafe != this.threadSafe) {
+            lock();
+            try {
+                if (!elements.isEmpty() || !relationships.isEmpty()) {
+                    throw new IllegalStateException("Thread-safe mode can't be changed once elements or relationships have been added to the model.");
+                }
+
+                this.threadSafe = threadSafe;
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    void lock() {
+        if (threadSafe) {
+            lock.lock();
+        }
+    }
+
+    void unlock() {
+        // checking the lock (rather than the mode) ensures that a lock is always released by the thread that acquired it
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+    }
+
     /**
      * Creates a software system (with an unspecified location) and adds it to the model.
      *
@@ -55,18 +125,23 @@ public final class Model implements PropertyHolder {
      * @throws IllegalArgumentException if a software system with the same name already exists
      */
     public SoftwareSystem addSoftwareSystem(@Nonnull String name, @Nullable String description) {
-        if (getSoftwareSystemWithName(name) == null) {
-            SoftwareSystem softwareSystem = new SoftwareSystem();
-            softwareSystem.setName(name);
-            softwareSystem.setDescription(description);
-            softwareSystem.setId(idGenerator.generateId(softwareSystem));
+        lock();
+        try {
+            if (getSoftwareSystemWithName(name) == null) {
+                SoftwareSystem softwareSystem = new SoftwareSystem();
+                softwareSystem.setName(name);
+                softwareSystem.setDescription(description);
+                softwareSystem.setId(idGenerator.generateId(softwareSystem));
 
-            softwareSystems.add(softwareSystem);
-            addElementToInternalStructures(softwareSystem);
+                softwareSystems.add(softwareSystem);
+                addElementToInternalStructures(softwareSystem);
 
-            return softwareSystem;
-        } else {
-            throw new IllegalArgumentException("A top-level element named '" + name + "' already exists.");
+                return softwareSystem;
+            } else {
+                throw new IllegalArgumentException("A top-level element named '" + name + "' already exists.");
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -92,18 +167,23 @@ public final class Model implements PropertyHolder {
      */
     @Nonnull
     public Person addPerson(@Nonnull String name, @Nullable String description) {
-        if (getPersonWithName(name) == null) {
-            Person person = new Person();
-            person.setName(name);
-            person.setDescription(description);
-            person.setId(idGenerator.generateId(person));
+        lock();
+        try {
+            if (getPersonWithName(name) == null) {
+                Person person = new Person();
+                person.setName(name);
+                person.setDescription(description);
+                person.setId(idGenerator.generateId(person));
 
-            people.add(person);
-            addElementToInternalStructures(person);
+                people.add(person);
+                addElementToInternalStructures(person);
 
-            return person;
-        } else {
-            throw new IllegalArgumentException("A top-level element named '" + name + "' already exists.");
+                return person;
+            } else {
+                throw new IllegalArgumentException("A top-level element named '" + name + "' already exists.");
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -130,59 +210,74 @@ public final class Model implements PropertyHolder {
      */
     @Nonnull
     public CustomElement addCustomElement(@Nonnull String name, @Nullable String metadata, @Nullable String description) {
-        if (getCustomElementWithName(name) == null) {
-            CustomElement customElement = new CustomElement();
-            customElement.setName(name);
-            customElement.setMetadata(metadata);
-            customElement.setDescription(description);
+        lock();
+        try {
+            if (getCustomElementWithName(name) == null) {
+                CustomElement customElement = new CustomElement();
+                customElement.setName(name);
+                customElement.setMetadata(metadata);
+                customElement.setDescription(description);
 
-            customElements.add(customElement);
+                customElements.add(customElement);
 
-            customElement.setId(idGenerator.generateId(customElement));
-            addElementToInternalStructures(customElement);
+                customElement.setId(idGenerator.generateId(customElement));
+                addElementToInternalStructures(customElement);
 
-            return customElement;
-        } else {
-            throw new IllegalArgumentException("A top-level element named '" + name + "' already exists.");
+                return customElement;
+            } else {
+                throw new IllegalArgumentException("A top-level element named '" + name + "' already exists.");
+            }
+        } finally {
+            unlock();
         }
     }
 
     @Nonnull
     Container addContainer(SoftwareSystem parent, @Nonnull String name, @Nullable String description, @Nullable String technology) {
-        if (parent.getContainerWithName(name) == null) {
-            Container container = new Container();
-            container.setName(name);
-            container.setDescription(description);
-            container.setTechnology(technology);
-            container.setId(idGenerator.generateId(container));
+        lock();
+        try {
+            if (parent.getContainerWithName(name) == null) {
+                Container container = new Container();
+                container.setName(name);
+                container.setDescription(description);
+                container.setTechnology(technology);
+                container.setId(idGenerator.generateId(container));
+
+                container.setParent(parent);
+                parent.add(container);
 
-            container.setParent(parent);
-            parent.add(container);
-
-            addElementToInternalStructures(container);
+                addElementToInternalStructures(container);
 
-            return container;
-        } else {
-            throw new IllegalArgumentException("A container named '" + name + "' already exists for this software system.");
+                return container;
+            } else {
+                throw new IllegalArgumentException("A container named '" + name + "' already exists for this software system.");
+            }
+        } finally {
+            unlock();
         }
     }
 
     Component addComponent(Container parent, String name, String description, String technology) {
-        if (parent.getComponentWithName(name) == null) {
-            Component component = new Component();
-            component.setName(name);
-            component.setDescription(description);
-            component.setTechnology(technology);
-            component.setId(idGenerator.generateId(component));
-
-            component.setParent(parent);
-            parent.add(component);
-
-            addElementToInternalStructures(component);
-
-            return component;
-        } else {
-            throw new IllegalArgumentException("A component named '" + name + "' already exists for this container.");
+        lock();
+        try {
+            if (parent.getComponentWithName(name) == null) {
+                Component component = new Component();
+                component.setName(name);
+                component.setDescription(description);
+                component.setTechnology(technology);
+                component.setId(idGenerator.generateId(component));
+
+                component.setParent(parent);
+                parent.add(component);
+
+                addElementToInternalStructures(component);
+
+                return component;
+            } else {
+                throw new IllegalArgumentException("A component named '" + name + "' already exists for this container.");
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -203,35 +298,89 @@ public final class Model implements PropertyHolder {
 
     @Nullable
     Relationship addRelationship(Element source, @Nonnull Element destination, String description, String technology, InteractionStyle interactionStyle, String[] tags, boolean createImpliedRelationships) {
-        if (destination == null) {
-            throw new IllegalArgumentException("The destination must be specified.");
-        }
+        lock();
+        try {
+            if (destination == null) {
+                throw new IllegalArgumentException("The destination must be specified.");
+            }
 
-        if (isChildOf(source, destination) || isChildOf(destination, source)) {
-            throw new IllegalArgumentException("Relationships cannot be added between parents and children.");
-        }
+            if (isChildOf(source, destination) || isChildOf(destination, source)) {
+                throw new IllegalArgumentException("Relationships cannot be added between parents and children.");
+            }
 
-        Relationship relationship = new Relationship(source, destination, description, technology, interactionStyle, tags);
+            Relationship relationship = new Relationship(source, destination, description, technology, interactionStyle, tags);
 
-        if (addRelationship(relationship)) {
+            if (addRelationship(relationship)) {
 
-            if (createImpliedRelationships) {
-                if
-                (
-                    (source instanceof CustomElement || source instanceof Person || source instanceof SoftwareSystem || source instanceof Container || source instanceof Component) &&
-                    (destination instanceof CustomElement || destination instanceof Person || destination instanceof SoftwareSystem || destination instanceof Container || destination instanceof Component)
-                ) {
+                if (createImpliedRelationships && impliedRelationshipsCanBeCreated(relationship)) {
                     impliedRelationshipsStrategy.createImpliedRelationships(relationship);
                 }
+
+                return relationship;
             }
 
-            return relationship;
+            return null;
+        } finally {
+            unlock();
+        }
+    }
+
+    private boolean impliedRelationshipsCanBeCreated(Relationship relationship) {
+        Element source = relationship.getSource();
+        Element destination = relationship.getDestination();
+
+        return
+            (source instanceof CustomElement || source instanceof Person || source instanceof SoftwareSystem || source instanceof Container || source instanceof Component) &&
+            (destination instanceof CustomElement || destination instanceof Person || destination instanceof SoftwareSystem || destination instanceof Container || destination instanceof Component);
+    }
+
+    /**
+     * Creates implied relationships for a batch of relationships that have already been added to the model.
+     *
+     * @param relationships     the newly created relationships, in the order they were created
+     */
+    void createImpliedRelationships(List<Relationship> relationships) {
+        lock();
+        try {
+            List<Relationship> relationshipsWithImpliedRelationships = new ArrayList<>();
+            for (Relationship relationship : relationships) {
+                if (impliedRelationshipsCanBeCreated(relationship)) {
+                    relationshipsWithImpliedRelationships.add(relationship);
+                }
+            }
+
+            if (!relationshipsWithImpliedRelationships.isEmpty()) {
+                impliedRelationshipsStrategy.createImpliedRelationships(relationshipsWithImpliedRelationships);
+            }
+        } finally {
+            unlock();
         }
+    }
+
+    /**
+     * Creates implied relationships, using the configured implied relationships strategy, for all of the
+     * relationships in the model that are not themselves implied relationships. This can be used to
+     * create implied relationships in a single pass after a model has been constructed
+     * (e.g. with the {@link DefaultImpliedRelationshipsStrategy}, which doesn't create any), and relationships
+     * that already exist are not duplicated.
+     */
+    public void createImpliedRelationships() {
+        lock();
+        try {
+            List<Relationship> explicitRelationships = new ArrayList<>();
+            for (Relationship relationship : relationships) {
+                if (StringUtils.isNullOrEmpty(relationship.getLinkedRelationshipId())) {
+                    explicitRelationships.add(relationship);
+                }
+            }
 
-        return null;
+            createImpliedRelationships(explicitRelationships);
+        } finally {
+            unlock();
+        }
     }
 
-    private boolean isChildOf(Element e1, Element e2) {
+    boolean isChildOf(Element e1, Element e2) {
         if (e1 instanceof Person || e2 instanceof Person) {
             return false;
         }
@@ -248,6 +397,25 @@ public final class Model implements PropertyHolder {
         return false;
     }
 
+    /**
+     * Adds an implied relationship that the caller has already determined does not exist,
+     * avoiding a scan of the source element's relationships.
+     */
+    Relationship addImpliedRelationship(Relationship relationship, Element source, Element destination) {
+        lock();
+        try {
+            Relationship impliedRelationship = new Relationship(source, destination, relationship.getDescription(), relationship.getTechnology(), null, new String[0]);
+            impliedRelationship.setId(idGenerator.generateId(impliedRelationship));
+            impliedRelationship.setLinkedRelationshipId(relationship.getId());
+            source.add(impliedRelationship);
+            addRelationshipToInternalStructures(impliedRelationship);
+
+            return impliedRelationship;
+        } finally {
+            unlock();
+        }
+    }
+
     private boolean addRelationship(Relationship relationship) {
         if (!relationship.getSource().has(relationship)) {
             relationship.setId(idGenerator.generateId(relationship));
@@ -260,6 +428,47 @@ public final class Model implements PropertyHolder {
         }
     }
 
+    /**
+     * Adds an element that has been created and validated by a ModelBuilder.
+     *
+     * @param element   the Element to add (its parent, if any, must already be in the model)
+     */
+    void addValidatedElement(Element element) {
+        lock();
+        try {
+            if (element instanceof Person) {
+                people.add((Person)element);
+            } else if (element instanceof SoftwareSystem) {
+                softwareSystems.add((SoftwareSystem)element);
+            } else if (element instanceof CustomElement) {
+                customElements.add((CustomElement)element);
+            } else if (element instanceof Container) {
+                ((SoftwareSystem)element.getParent()).add((Container)element);
+            } else if (element instanceof Component) {
+                ((Container)element.getParent()).add((Component)element);
+            }
+
+            addElementToInternalStructures(element);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Adds a relationship that has been created and validated by a ModelBuilder.
+     *
+     * @param relationship  the Relationship to add
+     */
+    void addValidatedRelationship(Relationship relationship) {
+        lock();
+        try {
+            relationship.getSource().add(relationship);
+            addRelationshipToInternalStructures(relationship);
+        } finally {
+            unlock();
+        }
+    }
+
     private void addElementToInternalStructures(Element element) {
         // check that the ID is unique
         if (getElement(element.getId()) != null || getRelationship(element.getId()) != null) {
@@ -268,7 +477,23 @@ public final class Model implements PropertyHolder {
 
         elementsById.put(element.getId(), element);
         elements.add(element);
+        addToIndex(elementsByType, element.getClass(), element);
+        if (element instanceof StaticStructureElementInstance) {
+            StaticStructureElementInstance elementInstance = (StaticStructureElementInstance)element;
+            Map<String, Set<StaticStructureElementInstance>> elementInstancesByDeploymentGroup = elementInstancesByEnvironmentAndDeploymentGroup.computeIfAbsent(elementInstance.getEnvironment(), e -> new HashMap<>());
+            for (String deploymentGroup : elementInstance.getDeploymentGroups()) {
+                addToIndex(elementInstancesByDeploymentGroup, deploymentGroup, elementInstance);
+            }
+        }
+        if (element instanceof SoftwareSystemInstance) {
+            SoftwareSystemInstance softwareSystemInstance = (SoftwareSystemInstance)element;
+            addToIndex(softwareSystemInstancesBySoftwareSystem, softwareSystemInstance.getSoftwareSystem(), softwareSystemInstance);
+        } else if (element instanceof ContainerInstance) {
+            ContainerInstance containerInstance = (ContainerInstance)element;
+            addToIndex(containerInstancesByContainer, containerInstance.getContainer(), containerInstance);
+        }
         element.setModel(this);
+        addToCanonicalNameIndex(elementsByCanonicalName, element);
         idGenerator.found(element.getId());
     }
 
@@ -281,12 +506,67 @@ public final class Model implements PropertyHolder {
         relationshipsById.put(relationship.getId(), relationship);
         relationships.add(relationship);
         relationship.setModel(this);
+        if (relationship.getDestination() != null) {
+            addToIndex(afferentRelationshipsByElement, relationship.getDestination(), relationship);
+        }
+        if (relationship.getSource() != null && relationship.getDestination() != null) {
+            addToCanonicalNameIndex(relationshipsByCanonicalName, relationship);
+        }
         idGenerator.found(relationship.getId());
     }
 
     private void removeRelationshipFromInternalStructures(Relationship relationship) {
         relationshipsById.remove(relationship.getId());
         relationships.remove(relationship);
+        if (relationship.getDestination() != null) {
+            removeFromIndex(afferentRelationshipsByElement, relationship.getDestination(), relationship);
+        }
+        if (relationship.getSource() != null && relationship.getDestination() != null) {
+            removeFromCanonicalNameIndex(relationshipsByCanonicalName, relationships, relationship);
+        }
+    }
+
+    private <K, V extends ModelItem> void addToIndex(Map<K, Set<V>> index, K key, V modelItem) {
+        index.computeIfAbsent(key, k -> new TreeSet<>()).add(modelItem);
+    }
+
+    private <K, V extends ModelItem> void removeFromIndex(Map<K, Set<V>> index, K key, V modelItem) {
+        Set<V> modelItems = index.get(key);
+        if (modelItems != null) {
+            modelItems.remove(modelItem);
+            if (modelItems.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private <T extends ModelItem> void addToCanonicalNameIndex(Map<String, T> index, T modelItem) {
+        String canonicalName = modelItem.getCanonicalName();
+        T existing = index.get(canonicalName);
+
+        if (existing == null) {
+            index.put(canonicalName, modelItem);
+        } else if (existing != modelItem) {
+            // canonical names are not guaranteed to be unique (e.g. "A.B" and "AB"), so keep the item that would be found first
+            duplicateCanonicalNames.add(canonicalName);
+            if (modelItem.compareTo(existing) < 0) {
+                index.put(canonicalName, modelItem);
+            }
+        }
+    }
+
+    private <T extends ModelItem> void removeFromCanonicalNameIndex(Map<String, T> index, Set<T> modelItems, T modelItem) {
+        String canonicalName = modelItem.getCanonicalName();
+
+        if (index.remove(canonicalName, modelItem) && duplicateCanonicalNames.contains(canonicalName)) {
+            // fall back to the next item with the same canonical name, if there is one
+            for (T item : modelItems) {
+                if (item != modelItem && item.getCanonicalName().equals(canonicalName)) {
+                    index.put(canonicalName, item);
+                    break;
+                }
+            }
+        }
     }
 
     /**
@@ -297,7 +577,63 @@ public final class Model implements PropertyHolder {
     @JsonIgnore
     @Nonnull
     public Set<Element> getElements() {
-        return new TreeSet<>(elements);
+        lock();
+        try {
+            return new TreeSet<>(elements);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of all elements in this model; this avoids the copy made by {@link #getElements()}.
+     *
+     * @return an unmodifiable Set of Element instances
+     */
+    @Nonnull
+    public Set<Element> elements() {
+        return Collections.unmodifiableSet(elements);
+    }
+
+    /**
+     * Gets the set of all elements in this model that are of the specified type.
+     *
+     * @param type  the type of element (e.g. ContainerInstance.class)
+     * @param <T>   the type of element
+     * @return an unmodifiable snapshot (i.e. subsequent changes to the model are not reflected) of the elements,
+     *          or an empty set if none exist
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T extends Element> Set<T> getElementsOfType(@Nonnull Class<T> type) {
+        lock();
+        try {
+            if (type == null) {
+                throw new IllegalArgumentException("An element type must be specified.");
+            }
+
+            Set<T> set = new TreeSet<>();
+            if (Modifier.isFinal(type.getModifiers())) {
+                Set<Element> elementsOfType = elementsByType.get(type);
+                if (elementsOfType != null) {
+                    // copying a sorted set into an empty TreeSet doesn't need to re-sort it
+                    set.addAll((Set<T>)elementsOfType);
+                }
+
+                return Collections.unmodifiableSet(set);
+            }
+
+            // abstract types (e.g. DeploymentElement) span several buckets
+            for (Map.Entry<Class<? extends Element>, Set<Element>> entry : elementsByType.entrySet()) {
+                if (type.isAssignableFrom(entry.getKey())) {
+                    entry.getValue().forEach(e -> set.add((T)e));
+                }
+            }
+
+            return Collections.unmodifiableSet(set);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -309,11 +645,16 @@ public final class Model implements PropertyHolder {
      */
     @Nullable
     public Element getElement(@Nonnull String id) {
-        if (id == null || id.trim().length() == 0) {
-            throw new IllegalArgumentException("An element ID must be specified.");
-        }
+        lock();
+        try {
+            if (id == null || id.trim().length() == 0) {
+                throw new IllegalArgumentException("An element ID must be specified.");
+            }
 
-        return elementsById.get(id);
+            return elementsById.get(id);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -324,7 +665,22 @@ public final class Model implements PropertyHolder {
     @JsonIgnore
     @Nonnull
     public Set<Relationship> getRelationships() {
-        return new TreeSet<>(this.relationships);
+        lock();
+        try {
+            return new TreeSet<>(this.relationships);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of all relationships in this model; this avoids the copy made by {@link #getRelationships()}.
+     *
+     * @return an unmodifiable Set of Relationship objects
+     */
+    @Nonnull
+    public Set<Relationship> relationships() {
+        return Collections.unmodifiableSet(relationships);
     }
 
     /**
@@ -336,11 +692,16 @@ public final class Model implements PropertyHolder {
      */
     @Nullable
     public Relationship getRelationship(@Nonnull String id) {
-        if (id == null || id.trim().length() == 0) {
-            throw new IllegalArgumentException("A relationship ID must be specified.");
-        }
+        lock();
+        try {
+            if (id == null || id.trim().length() == 0) {
+                throw new IllegalArgumentException("A relationship ID must be specified.");
+            }
 
-        return relationshipsById.get(id);
+            return relationshipsById.get(id);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -350,7 +711,22 @@ public final class Model implements PropertyHolder {
      */
     @Nonnull
     public Set<CustomElement> getCustomElements() {
-        return new TreeSet<>(customElements);
+        lock();
+        try {
+            return new TreeSet<>(customElements);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of all custom elements in this model; this avoids the copy made by {@link #getCustomElements()}.
+     *
+     * @return an unmodifiable Set of CustomElement instances
+     */
+    @Nonnull
+    public Set<CustomElement> customElements() {
+        return Collections.unmodifiableSet(customElements);
     }
 
     void setCustomElements(Set<CustomElement> customElements) {
@@ -366,7 +742,22 @@ public final class Model implements PropertyHolder {
      */
     @Nonnull
     public Set<Person> getPeople() {
-        return new TreeSet<>(people);
+        lock();
+        try {
+            return new TreeSet<>(people);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of all people in this model; this avoids the copy made by {@link #getPeople()}.
+     *
+     * @return an unmodifiable Set of Person instances
+     */
+    @Nonnull
+    public Set<Person> people() {
+        return Collections.unmodifiableSet(people);
     }
 
     void setPeople(Set<Person> people) {
@@ -382,7 +773,22 @@ public final class Model implements PropertyHolder {
      */
     @Nonnull
     public Set<SoftwareSystem> getSoftwareSystems() {
-        return new TreeSet<>(softwareSystems);
+        lock();
+        try {
+            return new TreeSet<>(softwareSystems);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of all software systems in this model; this avoids the copy made by {@link #getSoftwareSystems()}.
+     *
+     * @return an unmodifiable Set of SoftwareSystem instances
+     */
+    @Nonnull
+    public Set<SoftwareSystem> softwareSystems() {
+        return Collections.unmodifiableSet(softwareSystems);
     }
 
     void setSoftwareSystems(Set<SoftwareSystem> softwareSystems) {
@@ -398,7 +804,22 @@ public final class Model implements PropertyHolder {
      */
     @Nonnull
     public Set<DeploymentNode> getDeploymentNodes() {
-        return new TreeSet<>(deploymentNodes);
+        lock();
+        try {
+            return new TreeSet<>(deploymentNodes);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of all top-level deployment nodes in this model; this avoids the copy made by {@link #getDeploymentNodes()}.
+     *
+     * @return an unmodifiable Set of DeploymentNode instances
+     */
+    @Nonnull
+    public Set<DeploymentNode> deploymentNodes() {
+        return Collections.unmodifiableSet(deploymentNodes);
     }
 
     void setDeploymentNodes(Set<DeploymentNode> deploymentNodes) {
@@ -415,11 +836,11 @@ public final class Model implements PropertyHolder {
         for (SoftwareSystem softwareSystem : softwareSystems) {
             addElementToInternalStructures(softwareSystem);
             for (Container container : softwareSystem.getContainers()) {
-                addElementToInternalStructures(container);
                 container.setParent(softwareSystem);
+                addElementToInternalStructures(container);
                 for (Component component : container.getComponents()) {
-                    addElementToInternalStructures(component);
                     component.setParent(container);
+                    addElementToInternalStructures(component);
                 }
             }
         }
@@ -427,7 +848,7 @@ public final class Model implements PropertyHolder {
         deploymentNodes.forEach(dn -> hydrateDeploymentNode(dn, null));
 
         // now hydrate the relationships
-        getElements().forEach(this::hydrateRelationships);
+        elements.forEach(this::hydrateRelationships);
 
         // now check all of the element names are unique
         Collection<Element> peopleAndSoftwareSystems = new ArrayList<>();
@@ -456,9 +877,9 @@ public final class Model implements PropertyHolder {
         }
 
         // and check that all relationships are unique
-        for (Element element : getElements()) {
-            for (Relationship relationship : element.getRelationships()) {
-                checkDescriptionIsUnique(element.getRelationships(), relationship);
+        for (Element element : elements) {
+            for (Relationship relationship : element.relationships()) {
+                checkDescriptionIsUnique(element.relationships(), relationship);
             }
         }
     }
@@ -533,7 +954,7 @@ public final class Model implements PropertyHolder {
     }
 
     private void hydrateRelationships(Element element) {
-        for (Relationship relationship : element.getRelationships()) {
+        for (Relationship relationship : element.relationships()) {
             relationship.setSource(getElement(relationship.getSourceId()));
             relationship.setDestination(getElement(relationship.getDestinationId()));
             addRelationshipToInternalStructures(relationship);
@@ -569,17 +990,22 @@ public final class Model implements PropertyHolder {
      */
     @Nullable
     public SoftwareSystem getSoftwareSystemWithName(@Nonnull String name) {
-        if (name == null || name.trim().length() == 0) {
-            throw new IllegalArgumentException("A software system name must be specified.");
-        }
+        lock();
+        try {
+            if (name == null || name.trim().length() == 0) {
+                throw new IllegalArgumentException("A software system name must be specified.");
+            }
 
-        for (SoftwareSystem softwareSystem : getSoftwareSystems()) {
-            if (softwareSystem.getName().equals(name)) {
-                return softwareSystem;
+            for (SoftwareSystem softwareSystem : softwareSystems) {
+                if (softwareSystem.getName().equals(name)) {
+                    return softwareSystem;
+                }
             }
-        }
 
-        return null;
+            return null;
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -592,17 +1018,22 @@ public final class Model implements PropertyHolder {
      */
     @Nullable
     public SoftwareSystem getSoftwareSystemWithId(@Nonnull String id) {
-        if (id == null || id.trim().length() == 0) {
-            throw new IllegalArgumentException("A software system ID must be specified.");
-        }
+        lock();
+        try {
+            if (id == null || id.trim().length() == 0) {
+                throw new IllegalArgumentException("A software system ID must be specified.");
+            }
 
-        for (SoftwareSystem softwareSystem : getSoftwareSystems()) {
-            if (softwareSystem.getId().equals(id)) {
-                return softwareSystem;
+            for (SoftwareSystem softwareSystem : softwareSystems) {
+                if (softwareSystem.getId().equals(id)) {
+                    return softwareSystem;
+                }
             }
-        }
 
-        return null;
+            return null;
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -614,17 +1045,114 @@ public final class Model implements PropertyHolder {
      */
     @Nullable
     public Person getPersonWithName(@Nonnull String name) {
-        if (name == null || name.trim().length() == 0) {
-            throw new IllegalArgumentException("A person name must be specified.");
-        }
+        lock();
+        try {
+            if (name == null || name.trim().length() == 0) {
+                throw new IllegalArgumentException("A person name must be specified.");
+            }
 
-        for (Person person : getPeople()) {
-            if (person.getName().equals(name)) {
-                return person;
+            for (Person person : people) {
+                if (person.getName().equals(name)) {
+                    return person;
+                }
             }
+
+            return null;
+        } finally {
+            unlock();
         }
+    }
 
-        return null;
+    /**
+     * Gets the set of afferent (incoming) relationships for the specified element.
+     *
+     * @param element   an Element in this model
+     * @return  an unmodifiable Set of Relationship objects (a snapshot in thread-safe mode), or an empty set if none exist
+     */
+    @Nonnull
+    public Set<Relationship> getAfferentRelationships(@Nonnull Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        lock();
+        try {
+            return view(afferentRelationshipsByElement.get(element));
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the set of efferent (outgoing) relationships for the specified element.
+     *
+     * @param element   an Element in this model
+     * @return  an unmodifiable Set of Relationship objects (a snapshot in thread-safe mode), or an empty set if none exist
+     */
+    @Nonnull
+    public Set<Relationship> getEfferentRelationships(@Nonnull Element element) {
+        if (element == null) {
+            throw new IllegalArgumentException("An element must be specified.");
+        }
+
+        lock();
+        try {
+            return threadSafe ? Collections.unmodifiableSet(element.getRelationships()) : element.relationships();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the set of instances of the specified software system, across all deployment environments.
+     *
+     * @param softwareSystem    a SoftwareSystem in this model
+     * @return  an unmodifiable Set of SoftwareSystemInstance objects (a snapshot in thread-safe mode), or an empty set if none exist
+     */
+    @Nonnull
+    public Set<SoftwareSystemInstance> getSoftwareSystemInstances(@Nonnull SoftwareSystem softwareSystem) {
+        if (softwareSystem == null) {
+            throw new IllegalArgumentException("A software system must be specified.");
+        }
+
+        lock();
+        try {
+            return view(softwareSystemInstancesBySoftwareSystem.get(softwareSystem));
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets the set of instances of the specified container, across all deployment environments.
+     *
+     * @param container     a Container in this model
+     * @return  an unmodifiable Set of ContainerInstance objects (a snapshot in thread-safe mode), or an empty set if none exist
+     */
+    @Nonnull
+    public Set<ContainerInstance> getContainerInstances(@Nonnull Container container) {
+        if (container == null) {
+            throw new IllegalArgumentException("A container must be specified.");
+        }
+
+        lock();
+        try {
+            return view(containerInstancesByContainer.get(container));
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of an index entry; this is a snapshot in thread-safe mode, since the underlying
+     * set may be modified by other threads.
+     */
+    private <T extends ModelItem> Set<T> view(Set<T> modelItems) {
+        if (modelItems == null || modelItems.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        return Collections.unmodifiableSet(threadSafe ? new TreeSet<>(modelItems) : modelItems);
     }
 
     /**
@@ -636,17 +1164,22 @@ public final class Model implements PropertyHolder {
      */
     @Nullable
     public CustomElement getCustomElementWithName(@Nonnull String name) {
-        if (name == null || name.trim().length() == 0) {
-            throw new IllegalArgumentException("A custom element name must be specified.");
-        }
+        lock();
+        try {
+            if (name == null || name.trim().length() == 0) {
+                throw new IllegalArgumentException("A custom element name must be specified.");
+            }
 
-        for (CustomElement customElement : getCustomElements()) {
-            if (customElement.getName().equals(name)) {
-                return customElement;
+            for (CustomElement customElement : customElements) {
+                if (customElement.getName().equals(name)) {
+                    return customElement;
+                }
             }
-        }
 
-        return null;
+            return null;
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -766,60 +1299,70 @@ public final class Model implements PropertyHolder {
 
     @Nonnull
     DeploymentNode addDeploymentNode(DeploymentNode parent, @Nullable String environment, @Nonnull String name, String description, String technology, int instances, Map<String, String> properties) {
-        if (name == null || name.trim().length() == 0) {
-            throw new IllegalArgumentException("A name must be specified.");
-        }
-
-        if ((parent == null && getDeploymentNodeWithName(name, environment) == null) || (parent != null && parent.getDeploymentNodeWithName(name) == null && parent.getInfrastructureNodeWithName(name) == null)) {
-            DeploymentNode deploymentNode = new DeploymentNode();
-            deploymentNode.setName(name);
-            deploymentNode.setDescription(description);
-            deploymentNode.setTechnology(technology);
-            deploymentNode.setParent(parent);
-            deploymentNode.setInstances(instances);
-            deploymentNode.setEnvironment(environment);
-            deploymentNode.setId(idGenerator.generateId(deploymentNode));
-
-            if (properties != null) {
-                deploymentNode.setProperties(properties);
+        lock();
+        try {
+            if (name == null || name.trim().length() == 0) {
+                throw new IllegalArgumentException("A name must be specified.");
             }
 
-            if (parent == null) {
-                deploymentNodes.add(deploymentNode);
-            }
+            if ((parent == null && getDeploymentNodeWithName(name, environment) == null) || (parent != null && parent.getDeploymentNodeWithName(name) == null && parent.getInfrastructureNodeWithName(name) == null)) {
+                DeploymentNode deploymentNode = new DeploymentNode();
+                deploymentNode.setName(name);
+                deploymentNode.setDescription(description);
+                deploymentNode.setTechnology(technology);
+                deploymentNode.setParent(parent);
+                deploymentNode.setInstances(instances);
+                deploymentNode.setEnvironment(environment);
+                deploymentNode.setId(idGenerator.generateId(deploymentNode));
+
+                if (properties != null) {
+                    deploymentNode.setProperties(properties);
+                }
 
-            addElementToInternalStructures(deploymentNode);
+                if (parent == null) {
+                    deploymentNodes.add(deploymentNode);
+                }
 
-            return deploymentNode;
-        } else {
-            throw new IllegalArgumentException("A deployment/infrastructure node named '" + name + "' already exists.");
+                addElementToInternalStructures(deploymentNode);
+
+                return deploymentNode;
+            } else {
+                throw new IllegalArgumentException("A deployment/infrastructure node named '" + name + "' already exists.");
+            }
+        } finally {
+            unlock();
         }
     }
 
     @Nonnull
     InfrastructureNode addInfrastructureNode(DeploymentNode parent, @Nonnull String name, String description, String technology, Map<String, String> properties) {
-        if (name == null || name.trim().length() == 0) {
-            throw new IllegalArgumentException("A name must be specified.");
-        }
-
-        if (parent.getDeploymentNodeWithName(name) == null && parent.getInfrastructureNodeWithName(name) == null) {
-            InfrastructureNode infrastructureNode = new InfrastructureNode();
-            infrastructureNode.setName(name);
-            infrastructureNode.setDescription(description);
-            infrastructureNode.setTechnology(technology);
-            infrastructureNode.setParent(parent);
-            infrastructureNode.setEnvironment(parent.getEnvironment());
-            infrastructureNode.setId(idGenerator.generateId(infrastructureNode));
-
-            if (properties != null) {
-                infrastructureNode.setProperties(properties);
+        lock();
+        try {
+            if (name == null || name.trim().length() == 0) {
+                throw new IllegalArgumentException("A name must be specified.");
             }
 
-            addElementToInternalStructures(infrastructureNode);
+            if (parent.getDeploymentNodeWithName(name) == null && parent.getInfrastructureNodeWithName(name) == null) {
+                InfrastructureNode infrastructureNode = new InfrastructureNode();
+                infrastructureNode.setName(name);
+                infrastructureNode.setDescription(description);
+                infrastructureNode.setTechnology(technology);
+                infrastructureNode.setParent(parent);
+                infrastructureNode.setEnvironment(parent.getEnvironment());
+                infrastructureNode.setId(idGenerator.generateId(infrastructureNode));
+
+                if (properties != null) {
+                    infrastructureNode.setProperties(properties);
+                }
 
-            return infrastructureNode;
-        } else {
-            throw new IllegalArgumentException("A deployment/infrastructure node named '" + name + "' already exists.");
+                addElementToInternalStructures(infrastructureNode);
+
+                return infrastructureNode;
+            } else {
+                throw new IllegalArgumentException("A deployment/infrastructure node named '" + name + "' already exists.");
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -841,82 +1384,113 @@ public final class Model implements PropertyHolder {
      * @return the DeploymentNode instance with the specified name (or null if it doesn't exist).
      */
     public DeploymentNode getDeploymentNodeWithName(String name, String environment) {
-        for (DeploymentNode deploymentNode : getDeploymentNodes()) {
-            if (deploymentNode.getEnvironment().equals(environment) && deploymentNode.getName().equals(name)) {
-                return deploymentNode;
+        lock();
+        try {
+            for (DeploymentNode deploymentNode : deploymentNodes) {
+                if (deploymentNode.getEnvironment().equals(environment) && deploymentNode.getName().equals(name)) {
+                    return deploymentNode;
+                }
             }
-        }
 
-        return null;
+            return null;
+        } finally {
+            unlock();
+        }
     }
 
     SoftwareSystemInstance addSoftwareSystemInstance(DeploymentNode deploymentNode, SoftwareSystem softwareSystem, String... deploymentGroups) {
-        if (softwareSystem == null) {
-            throw new IllegalArgumentException("A software system must be specified.");
-        }
+        lock();
+        try {
+            if (softwareSystem == null) {
+                throw new IllegalArgumentException("A software system must be specified.");
+            }
 
-        long instanceNumber = deploymentNode.getSoftwareSystemInstances().stream().filter(ssi -> ssi.getSoftwareSystem().equals(softwareSystem)).count();
-        instanceNumber++;
-        SoftwareSystemInstance softwareSystemInstance = new SoftwareSystemInstance(softwareSystem, (int)instanceNumber, deploymentNode.getEnvironment(), deploymentGroups);
-        softwareSystemInstance.setParent(deploymentNode);
-        softwareSystemInstance.setId(idGenerator.generateId(softwareSystemInstance));
+            long instanceNumber = deploymentNode.getSoftwareSystemInstances().stream().filter(ssi -> ssi.getSoftwareSystem().equals(softwareSystem)).count();
+            instanceNumber++;
+            SoftwareSystemInstance softwareSystemInstance = new SoftwareSystemInstance(softwareSystem, (int)instanceNumber, deploymentNode.getEnvironment(), deploymentGroups);
+            softwareSystemInstance.setParent(deploymentNode);
+            softwareSystemInstance.setId(idGenerator.generateId(softwareSystemInstance));
 
-        replicateElementRelationships(softwareSystemInstance);
+            replicateElementRelationships(softwareSystemInstance);
 
-        addElementToInternalStructures(softwareSystemInstance);
+            addElementToInternalStructures(softwareSystemInstance);
 
-        return softwareSystemInstance;
+            return softwareSystemInstance;
+        } finally {
+            unlock();
+        }
     }
 
     ContainerInstance addContainerInstance(DeploymentNode deploymentNode, Container container, String... deploymentGroups) {
-        if (container == null) {
-            throw new IllegalArgumentException("A container must be specified.");
-        }
+        lock();
+        try {
+            if (container == null) {
+                throw new IllegalArgumentException("A container must be specified.");
+            }
 
-        long instanceNumber = deploymentNode.getContainerInstances().stream().filter(ci -> ci.getContainer().equals(container)).count();
-        instanceNumber++;
-        ContainerInstance containerInstance = new ContainerInstance(container, (int)instanceNumber, deploymentNode.getEnvironment(), deploymentGroups);
-        containerInstance.setParent(deploymentNode);
-        containerInstance.setId(idGenerator.generateId(containerInstance));
+            long instanceNumber = deploymentNode.getContainerInstances().stream().filter(ci -> ci.getContainer().equals(container)).count();
+            instanceNumber++;
+            ContainerInstance containerInstance = new ContainerInstance(container, (int)instanceNumber, deploymentNode.getEnvironment(), deploymentGroups);
+            containerInstance.setParent(deploymentNode);
+            containerInstance.setId(idGenerator.generateId(containerInstance));
 
-        replicateElementRelationships(containerInstance);
+            replicateElementRelationships(containerInstance);
 
-        addElementToInternalStructures(containerInstance);
+            addElementToInternalStructures(containerInstance);
 
-        return containerInstance;
+            return containerInstance;
+        } finally {
+            unlock();
+        }
     }
 
     private void replicateElementRelationships(StaticStructureElementInstance elementInstance) {
         StaticStructureElement element = elementInstance.getElement();
 
         // find all StaticStructureElementInstance objects in the same deployment environment and deployment group
-        TreeSet<StaticStructureElementInstance> elementInstances = getElements().stream()
-                .filter(e -> e instanceof StaticStructureElementInstance)
-                .map(e -> (StaticStructureElementInstance) e)
-                .filter(ssei -> ssei.getEnvironment().equals(elementInstance.getEnvironment()))
-                .filter(ssei -> ssei.inSameDeploymentGroup(elementInstance)).collect(Collectors.toCollection(TreeSet::new));
+        Set<StaticStructureElementInstance> elementInstances = new TreeSet<>();
+        Map<String, Set<StaticStructureElementInstance>> elementInstancesByDeploymentGroup = elementInstancesByEnvironmentAndDeploymentGroup.get(elementInstance.getEnvironment());
+        if (elementInstancesByDeploymentGroup != null) {
+            for (String deploymentGroup : elementInstance.getDeploymentGroups()) {
+                Set<StaticStructureElementInstance> elementInstancesInDeploymentGroup = elementInstancesByDeploymentGroup.get(deploymentGroup);
+                if (elementInstancesInDeploymentGroup != null) {
+                    elementInstances.addAll(elementInstancesInDeploymentGroup);
+                }
+            }
+        }
+
+        if (elementInstances.isEmpty()) {
+            return;
+        }
+
+        // group the relationships to/from the element by the element at the other end
+        Map<Element, List<Relationship>> efferentRelationships = new HashMap<>();
+        for (Relationship relationship : element.relationships()) {
+            efferentRelationships.computeIfAbsent(relationship.getDestination(), e -> new ArrayList<>()).add(relationship);
+        }
+
+        Map<Element, List<Relationship>> afferentRelationships = new HashMap<>();
+        for (Relationship relationship : getAfferentRelationships(element)) {
+            afferentRelationships.computeIfAbsent(relationship.getSource(), e -> new ArrayList<>()).add(relationship);
+        }
 
         // and replicate the relationships to/from the element instance
         for (StaticStructureElementInstance ssei : elementInstances) {
             StaticStructureElement sse = ssei.getElement();
 
-            for (Relationship relationship : element.getRelationships()) {
-                if (relationship.getDestination().equals(sse)) {
-                    Relationship newRelationship = addRelationship(elementInstance, ssei, relationship.getDescription(), relationship.getTechnology(), relationship.getInteractionStyle());
-                    if (newRelationship != null) {
-                        newRelationship.setTags(null);
-                        newRelationship.setLinkedRelationshipId(relationship.getId());
-                    }
+            for (Relationship relationship : efferentRelationships.getOrDefault(sse, Collections.emptyList())) {
+                Relationship newRelationship = addRelationship(elementInstance, ssei, relationship.getDescription(), relationship.getTechnology(), relationship.getInteractionStyle());
+                if (newRelationship != null) {
+                    newRelationship.setTags(null);
+                    newRelationship.setLinkedRelationshipId(relationship.getId());
                 }
             }
 
-            for (Relationship relationship : sse.getRelationships()) {
-                if (relationship.getDestination().equals(element)) {
-                    Relationship newRelationship = addRelationship(ssei, elementInstance, relationship.getDescription(), relationship.getTechnology(), relationship.getInteractionStyle());
-                    if (newRelationship != null) {
-                        newRelationship.setTags(null);
-                        newRelationship.setLinkedRelationshipId(relationship.getId());
-                    }
+            for (Relationship relationship : afferentRelationships.getOrDefault(sse, Collections.emptyList())) {
+                Relationship newRelationship = addRelationship(ssei, elementInstance, relationship.getDescription(), relationship.getTechnology(), relationship.getInteractionStyle());
+                if (newRelationship != null) {
+                    newRelationship.setTags(null);
+                    newRelationship.setLinkedRelationshipId(relationship.getId());
                 }
             }
         }
@@ -930,17 +1504,16 @@ public final class Model implements PropertyHolder {
      * @throws IllegalArgumentException if the canonical name is null or empty
      */
     public Element getElementWithCanonicalName(String canonicalName) {
-        if (StringUtils.isNullOrEmpty(canonicalName)) {
-            throw new IllegalArgumentException("A canonical name must be specified.");
-        }
-
-        for (Element element : getElements()) {
-            if (element.getCanonicalName().equals(canonicalName)) {
-                return element;
+        lock();
+        try {
+            if (StringUtils.isNullOrEmpty(canonicalName)) {
+                throw new IllegalArgumentException("A canonical name must be specified.");
             }
-        }
 
-        return null;
+            return elementsByCanonicalName.get(canonicalName);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -951,17 +1524,20 @@ public final class Model implements PropertyHolder {
      * @throws IllegalArgumentException if the canonical name is null or empty
      */
     public Relationship getRelationshipWithCanonicalName(String canonicalName) {
-        if (StringUtils.isNullOrEmpty(canonicalName)) {
-            throw new IllegalArgumentException("A canonical name must be specified.");
-        }
-
-        for (Relationship relationship : getRelationships()) {
-            if (relationship.getCanonicalName().equals(canonicalName)) {
-                return relationship;
+        lock();
+        try {
+            if (StringUtils.isNullOrEmpty(canonicalName)) {
+                throw new IllegalArgumentException("A canonical name must be specified.");
             }
+
+            return relationshipsByCanonicalName.get(canonicalName);
+        } finally {
+            unlock();
         }
+    }
 
-        return null;
+    IdGenerator getIdGenerator() {
+        return idGenerator;
     }
 
     /**
@@ -986,19 +1562,27 @@ public final class Model implements PropertyHolder {
      * @param technology    the new technology
      */
     public void modifyRelationship(Relationship relationship, String description, String technology) {
-        if (relationship == null) {
-            throw new IllegalArgumentException("A relationship must be specified.");
-        }
+        lock();
+        try {
+            if (relationship == null) {
+                throw new IllegalArgumentException("A relationship must be specified.");
+            }
 
-        if (!relationship.getSource().hasEfferentRelationshipWith(relationship.getDestination(), description)) {
-            relationship.setDescription(description);
-            relationship.setTechnology(technology);
-        } else {
-            throw new IllegalArgumentException(
-                    String.format("A relationship named \"%s\" between \"%s\" and \"%s\" already exists.",
-                            description,
-                            relationship.getSource().getName(),
-                            relationship.getDestination().getName()));
+            if (!relationship.getSource().hasEfferentRelationshipWith(relationship.getDestination(), description)) {
+                // the description forms part of the canonical name
+                removeFromCanonicalNameIndex(relationshipsByCanonicalName, relationships, relationship);
+                relationship.setDescription(description);
+                relationship.setTechnology(technology);
+                addToCanonicalNameIndex(relationshipsByCanonicalName, relationship);
+            } else {
+                throw new IllegalArgumentException(
+                        String.format("A relationship named \"%s\" between \"%s\" and \"%s\" already exists.",
+                                description,
+                                relationship.getSource().getName(),
+                                relationship.getDestination().getName()));
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -1064,8 +1648,13 @@ public final class Model implements PropertyHolder {
      * @param element       the CustomElement object to remove
      */
     void remove(CustomElement element) {
-        removeElement(element);
-        customElements.remove(element);
+        lock();
+        try {
+            removeElement(element);
+            customElements.remove(element);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -1074,8 +1663,13 @@ public final class Model implements PropertyHolder {
      * @param person    the Person object to remove
      */
     void remove(Person person) {
-        removeElement(person);
-        people.remove(person);
+        lock();
+        try {
+            removeElement(person);
+            people.remove(person);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -1084,8 +1678,13 @@ public final class Model implements PropertyHolder {
      * @param softwareSystem    the SoftwareSystem object to remove
      */
     void remove(SoftwareSystem softwareSystem) {
-        removeElement(softwareSystem);
-        softwareSystems.remove(softwareSystem);
+        lock();
+        try {
+            removeElement(softwareSystem);
+            softwareSystems.remove(softwareSystem);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -1094,8 +1693,13 @@ public final class Model implements PropertyHolder {
      * @param container     the Container object to remove
      */
     void remove(Container container) {
-        removeElement(container);
-        container.getSoftwareSystem().remove(container);
+        lock();
+        try {
+            removeElement(container);
+            container.getSoftwareSystem().remove(container);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -1104,8 +1708,13 @@ public final class Model implements PropertyHolder {
      * @param component     the Component object to remove
      */
     void remove(Component component) {
-        removeElement(component);
-        component.getContainer().remove(component);
+        lock();
+        try {
+            removeElement(component);
+            component.getContainer().remove(component);
+        } finally {
+            unlock();
+        }
     }
 
     /**
@@ -1114,11 +1723,15 @@ public final class Model implements PropertyHolder {
      * @param softwareSystemInstance        the SoftwareSystemInstance object to remove
      */
     void remove(SoftwareSystemInstance softwareSystemInstance) {
-        removeElement(softwareSystemInstance);
+        lock();
+        try {
+            removeElement(softwareSystemInstance);
 
-        Set<DeploymentNode> deploymentNodes = getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).collect(Collectors.toSet());
-        for (DeploymentNode deploymentNode : deploymentNodes) {
-            deploymentNode.remove(softwareSystemInstance);
+            for (DeploymentNode deploymentNode : getElementsOfType(DeploymentNode.class)) {
+                deploymentNode.remove(softwareSystemInstance);
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -1128,11 +1741,15 @@ public final class Model implements PropertyHolder {
      * @param containerInstance     the ContainerInstance object to remove
      */
     void remove(ContainerInstance containerInstance) {
-        removeElement(containerInstance);
+        lock();
+        try {
+            removeElement(containerInstance);
 
-        Set<DeploymentNode> deploymentNodes = getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).collect(Collectors.toSet());
-        for (DeploymentNode deploymentNode : deploymentNodes) {
-            deploymentNode.remove(containerInstance);
+            for (DeploymentNode deploymentNode : getElementsOfType(DeploymentNode.class)) {
+                deploymentNode.remove(containerInstance);
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -1142,12 +1759,17 @@ public final class Model implements PropertyHolder {
      * @param deploymentNode        the DeploymentNode object to remove
      */
     void remove(DeploymentNode deploymentNode) {
-        removeElement(deploymentNode);
-
-        if (deploymentNode.getParent() == null) {
-            deploymentNodes.remove(deploymentNode);
-        } else {
-            ((DeploymentNode)deploymentNode.getParent()).remove(deploymentNode);
+        lock();
+        try {
+            removeElement(deploymentNode);
+
+            if (deploymentNode.getParent() == null) {
+                deploymentNodes.remove(deploymentNode);
+            } else {
+                ((DeploymentNode)deploymentNode.getParent()).remove(deploymentNode);
+            }
+        } finally {
+            unlock();
         }
     }
 
@@ -1157,14 +1779,32 @@ public final class Model implements PropertyHolder {
         }
 
         // remove any relationships to/from the element
-        for (Relationship relationship : getRelationships()) {
-            if (relationship.getSource() == element || relationship.getDestination() == element) {
-                remove(relationship);
-            }
+        Set<Relationship> relationshipsToRemove = new HashSet<>(getEfferentRelationships(element));
+        relationshipsToRemove.addAll(getAfferentRelationships(element));
+        for (Relationship relationship : relationshipsToRemove) {
+            remove(relationship);
         }
 
         elementsById.remove(element.getId());
         elements.remove(element);
+        removeFromIndex(elementsByType, element.getClass(), element);
+        if (element instanceof StaticStructureElementInstance) {
+            StaticStructureElementInstance elementInstance = (StaticStructureElementInstance)element;
+            Map<String, Set<StaticStructureElementInstance>> elementInstancesByDeploymentGroup = elementInstancesByEnvironmentAndDeploymentGroup.get(elementInstance.getEnvironment());
+            if (elementInstancesByDeploymentGroup != null) {
+                for (String deploymentGroup : elementInstance.getDeploymentGroups()) {
+                    removeFromIndex(elementInstancesByDeploymentGroup, deploymentGroup, elementInstance);
+                }
+            }
+        }
+        if (element instanceof SoftwareSystemInstance) {
+            SoftwareSystemInstance softwareSystemInstance = (SoftwareSystemInstance)element;
+            removeFromIndex(softwareSystemInstancesBySoftwareSystem, softwareSystemInstance.getSoftwareSystem(), softwareSystemInstance);
+        } else if (element instanceof ContainerInstance) {
+            ContainerInstance containerInstance = (ContainerInstance)element;
+            removeFromIndex(containerInstancesByContainer, containerInstance.getContainer(), containerInstance);
+        }
+        removeFromCanonicalNameIndex(elementsByCanonicalName, elements, element);
     }
 
     /**
@@ -1173,8 +1813,13 @@ public final class Model implements PropertyHolder {
      * @param relationship      the Relationship to remove
      */
     void remove(Relationship relationship) {
-        removeRelationshipFromInternalStructures(relationship);
-        relationship.getSource().remove(relationship);
+        lock();
+        try {
+            removeRelationshipFromInternalStructures(relationship);
+            relationship.getSource().remove(relationship);
+        } finally {
+            unlock();
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,303 @@
+package com.structurizr.model;
+
+import com.structurizr.WorkspaceValidationException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Adds elements and relationships to a model in bulk (e.g. when importing a large number of
+ * elements from another system).
+ *
+ * Unlike adding elements one at a time via the model, the name and ID uniqueness checks are deferred
+ * until {@link #commit()} is called, at which point the entire batch is validated before any of it is
+ * added to the model. Implied relationships are then created for all of the relationships in the batch,
+ * via a single call to the model's {@link ImpliedRelationshipsStrategy}.
+ *
+ * Elements and relationships created by a ModelBuilder are not part of the model until the batch has been committed.
+ */
+public final class ModelBuilder {
+
+    private final Model model;
+
+    private final List<Element> elements = new ArrayList<>();
+    private final Set<Element> elementsInBatch = new HashSet<>();
+    private final List<Relationship> relationships = new ArrayList<>();
+    private final Map<Element, Set<List<Object>>> relationshipKeysBySource = new HashMap<>();
+
+    /**
+     * Creates a new model builder.
+     *
+     * @param model     the Model to add elements and relationships to
+     */
+    public ModelBuilder(@Nonnull Model model) {
+        if (model == null) {
+            throw new IllegalArgumentException("A model must be specified.");
+        }
+
+        this.model = model;
+    }
+
+    /**
+     * Creates a person, to be added to the model when this batch is committed.
+     *
+     * @param name          the name of the person
+     * @param description   a short description of the person
+     * @return  a Person instance
+     */
+    @Nonnull
+    public Person addPerson(@Nonnull String name, @Nullable String description) {
+        Person person = new Person();
+        person.setName(name);
+        person.setDescription(description);
+
+        return add(person);
+    }
+
+    /**
+     * Creates a software system, to be added to the model when this batch is committed.
+     *
+     * @param name          the name of the software system
+     * @param description   a short description of the software system
+     * @return  a SoftwareSystem instance
+     */
+    @Nonnull
+    public SoftwareSystem addSoftwareSystem(@Nonnull String name, @Nullable String description) {
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setName(name);
+        softwareSystem.setDescription(description);
+
+        return add(softwareSystem);
+    }
+
+    /**
+     * Creates a custom element, to be added to the model when this batch is committed.
+     *
+     * @param name          the name of the custom element
+     * @param metadata      the metadata of the custom element
+     * @param description   a short description of the custom element
+     * @return  a CustomElement instance
+     */
+    @Nonnull
+    public CustomElement addCustomElement(@Nonnull String name, @Nullable String metadata, @Nullable String description) {
+        CustomElement customElement = new CustomElement();
+        customElement.setName(name);
+        customElement.setMetadata(metadata);
+        customElement.setDescription(description);
+
+        return add(customElement);
+    }
+
+    /**
+     * Creates a container, to be added to the model when this batch is committed.
+     *
+     * @param softwareSystem    the parent software system (either in the model, or in this batch)
+     * @param name              the name of the container
+     * @param description       a short description of the container
+     * @param technology        the technology of the container
+     * @return  a Container instance
+     */
+    @Nonnull
+    public Container addContainer(@Nonnull SoftwareSystem softwareSystem, @Nonnull String name, @Nullable String description, @Nullable String technology) {
+        checkElementCanBeUsed(softwareSystem, "A software system");
+
+        Container container = new Container();
+        container.setName(name);
+        container.setDescription(description);
+        container.setTechnology(technology);
+        container.setParent(softwareSystem);
+
+        return add(container);
+    }
+
+    /**
+     * Creates a component, to be added to the model when this batch is committed.
+     *
+     * @param container     the parent container (either in the model, or in this batch)
+     * @param name          the name of the component
+     * @param description   a short description of the component
+     * @param technology    the technology of the component
+     * @return  a Component instance
+     */
+    @Nonnull
+    public Component addComponent(@Nonnull Container container, @Nonnull String name, @Nullable String description, @Nullable String technology) {
+        checkElementCanBeUsed(container, "A container");
+
+        Component component = new Component();
+        component.setName(name);
+        component.setDescription(description);
+        component.setTechnology(technology);
+        component.setParent(container);
+
+        return add(component);
+    }
+
+    /**
+     * Creates a relationship, to be added to the model when this batch is committed.
+     *
+     * @param source        the source element (either in the model, or in this batch)
+     * @param destination   the destination element (either in the model, or in this batch)
+     * @param description   a description of the relationship
+     * @param technology    the technology details
+     * @return  a Relationship instance, or null if the same relationship already exists in the model or this batch
+     */
+    @Nullable
+    public Relationship addRelationship(@Nonnull Element source, @Nonnull Element destination, @Nullable String description, @Nullable String technology) {
+        return addRelationship(source, destination, description, technology, null, new String[0]);
+    }
+
+    /**
+     * Creates a relationship, to be added to the model when this batch is committed.
+     *
+     * @param source            the source element (either in the model, or in this batch)
+     * @param destination       the destination element (either in the model, or in this batch)
+     * @param description       a description of the relationship
+     * @param technology        the technology details
+     * @param interactionStyle  the interaction style (sync vs async)
+     * @param tags              an array of tags
+     * @return  a Relationship instance, or null if the same relationship already exists in the model or this batch
+     */
+    @Nullable
+    public Relationship addRelationship(@Nonnull Element source, @Nonnull Element destination, @Nullable String description, @Nullable String technology, @Nullable InteractionStyle interactionStyle, @Nullable String[] tags) {
+        checkElementCanBeUsed(source, "The source");
+        if (destination == null) {
+            throw new IllegalArgumentException("The destination must be specified.");
+        }
+        checkElementCanBeUsed(destination, "The destination");
+
+        if (model.isChildOf(source, destination) || model.isChildOf(destination, source)) {
+            throw new IllegalArgumentException("Relationships cannot be added between parents and children.");
+        }
+
+        Relationship relationship = new Relationship(source, destination, description, technology, interactionStyle, tags);
+        Set<List<Object>> relationshipKeys = relationshipKeysBySource.computeIfAbsent(source, this::findRelationshipKeys);
+        if (relationshipKeys.add(relationshipKey(relationship))) {
+            relationship.setId(model.getIdGenerator().generateId(relationship));
+            relationships.add(relationship);
+
+            return relationship;
+        }
+
+        return null;
+    }
+
+    /**
+     * Validates all of the elements and relationships in this batch and, if valid, adds them to the model
+     * before creating any implied relationships. Nothing is added to the model if validation fails.
+     *
+     * @throws IllegalArgumentException     if an element name is not unique within its scope
+     * @throws WorkspaceValidationException if an element or relationship ID is not unique
+     */
+    public void commit() {
+        model.lock();
+        try {
+            validate();
+
+            for (Element element : elements) {
+                model.addValidatedElement(element);
+            }
+
+            for (Relationship relationship : relationships) {
+                model.addValidatedRelationship(relationship);
+            }
+
+            List<Relationship> committedRelationships = new ArrayList<>(relationships);
+
+            elements.clear();
+            elementsInBatch.clear();
+            relationships.clear();
+            relationshipKeysBySource.clear();
+
+            model.createImpliedRelationships(committedRelationships);
+        } finally {
+            model.unlock();
+        }
+    }
+
+    private <T extends Element> T add(T element) {
+        element.setId(model.getIdGenerator().generateId(element));
+        elements.add(element);
+        elementsInBatch.add(element);
+
+        return element;
+    }
+
+    private void checkElementCanBeUsed(Element element, String description) {
+        if (element == null) {
+            throw new IllegalArgumentException(description + " must be specified.");
+        }
+
+        if (element.getModel() != model && !elementsInBatch.contains(element)) {
+            throw new IllegalArgumentException(description + " must belong to the same model.");
+        }
+    }
+
+    private Set<List<Object>> findRelationshipKeys(Element source) {
+        Set<List<Object>> relationshipKeys = new HashSet<>();
+        for (Relationship relationship : source.relationships()) {
+            relationshipKeys.add(relationshipKey(relationship));
+        }
+
+        return relationshipKeys;
+    }
+
+    private List<Object> relationshipKey(Relationship relationship) {
+        return List.of(relationship.getDestination(), relationship.getDescription());
+    }
+
+    private void validate() {
+        Set<String> ids = new HashSet<>();
+        Map<Object, Set<String>> namesByScope = new HashMap<>();
+
+        for (Element element : elements) {
+            if (model.getElement(element.getId()) != null || model.getRelationship(element.getId()) != null || !ids.add(element.getId())) {
+                throw new WorkspaceValidationException("The element " + element.getCanonicalName() + " has a non-unique ID of " + element.getId() + ".");
+            }
+
+            Object scope = element.getParent() != null ? element.getParent() : element.getClass();
+            Set<String> names = namesByScope.computeIfAbsent(scope, this::findNames);
+            if (!names.add(element.getName())) {
+                if (element instanceof Container) {
+                    throw new IllegalArgumentException("A container named '" + element.getName() + "' already exists for this software system.");
+                } else if (element instanceof Component) {
+                    throw new IllegalArgumentException("A component named '" + element.getName() + "' already exists for this container.");
+                } else {
+                    throw new IllegalArgumentException("A top-level element named '" + element.getName() + "' already exists.");
+                }
+            }
+        }
+
+        for (Relationship relationship : relationships) {
+            if (model.getElement(relationship.getId()) != null || model.getRelationship(relationship.getId()) != null || !ids.add(relationship.getId())) {
+                throw new WorkspaceValidationException("The relationship " + relationship.toString() + " has a non-unique ID of " + relationship.getId() + ".");
+            }
+        }
+    }
+
+    private Set<String> findNames(Object scope) {
+        Set<String> names = new HashSet<>();
+
+        Collection<? extends Element> existingElements;
+        if (scope == Person.class) {
+            existingElements = model.people();
+        } else if (scope == SoftwareSystem.class) {
+            existingElements = model.softwareSystems();
+        } else if (scope == CustomElement.class) {
+            existingElements = model.customElements();
+        } else if (scope instanceof SoftwareSystem) {
+            existingElements = ((SoftwareSystem)scope).getContainers();
+        } else if (scope instanceof Container) {
+            existingElements = ((Container)scope).getComponents();
+        } else {
+            existingElements = Collections.emptySet();
+        }
+
+        for (Element element : existingElements) {
+            names.add(element.getName());
+        }
+
+        return names;
+    }
+
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.structurizr.PerspectivesHolder;
 import com.structurizr.PropertyHolder;
 import com.structurizr.util.StringUtils;
-import com.structurizr.util.TagUtils;
 import com.structurizr.util.Url;
 
 import java.util.*;
@@ -14,11 +13,17 @@ import java.util.*;
  */
 public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, Comparable<ModelItem> {
 
+    private static final String[] NO_TAGS = new String[0];
+
     private String id = "";
-    private final Set<String> tags = new LinkedHashSet<>();
+
+    // tags are held in insertion order, in a small array of interned strings, since most model items only have a few
+    private String[] tags = NO_TAGS;
 
     private String url;
-    private Map<String, String> properties = new HashMap<>();
+
+    // the properties map is only created when the first property is added
+    private Map<String, String> properties = Collections.emptyMap();
     private final Set<Perspective> perspectives = new TreeSet<>();
 
     @JsonIgnore
@@ -27,6 +32,10 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
     @JsonIgnore
     public abstract Set<String> getDefaultTags();
 
+    static Set<String> createDefaultTags(String... tags) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(tags)));
+    }
+
     /**
      * Gets the ID of this item in the model.
      *
@@ -47,25 +56,39 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      *          or an empty string if there are no tags
      */
     public String getTags() {
-        return TagUtils.toString(getTagsAsSet());
+        Set<String> defaultTags = getDefaultTags();
+        StringBuilder buf = new StringBuilder();
+        for (String tag : defaultTags) {
+            buf.append(tag).append(',');
+        }
+
+        for (String tag : tags) {
+            if (!defaultTags.contains(tag)) {
+                buf.append(tag).append(',');
+            }
+        }
+
+        return buf.length() == 0 ? "" : buf.substring(0, buf.length()-1);
     }
 
     @JsonIgnore
     public Set<String> getTagsAsSet() {
         Set<String> setOfTags = new LinkedHashSet<>(getDefaultTags());
-        setOfTags.addAll(tags);
+        Collections.addAll(setOfTags, tags);
 
         return setOfTags;
     }
 
     void setTags(String tags) {
-        this.tags.clear();
+        this.tags = NO_TAGS;
 
         if (tags == null) {
             return;
         }
 
-        Collections.addAll(this.tags, tags.split(","));
+        for (String tag : tags.split(",")) {
+            addTag(tag);
+        }
     }
 
     public void addTags(String... tags) {
@@ -75,11 +98,28 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
 
         for (String tag : tags) {
             if (tag != null) {
-                this.tags.add(tag.trim());
+                addTag(tag.trim());
             }
         }
     }
 
+    private void addTag(String tag) {
+        if (indexOfTag(tag) == -1) {
+            tags = Arrays.copyOf(tags, tags.length + 1);
+            tags[tags.length - 1] = tag.intern();
+        }
+    }
+
+    private int indexOfTag(String tag) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i].equals(tag)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * Removes the given tag.
      *
@@ -89,7 +129,15 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      */
     public boolean removeTag(String tag) {
         if (tag != null) {
-            return this.tags.remove(tag.trim());
+            int index = indexOfTag(tag.trim());
+            if (index > -1) {
+                String[] remainingTags = new String[tags.length - 1];
+                System.arraycopy(tags, 0, remainingTags, 0, index);
+                System.arraycopy(tags, index + 1, remainingTags, index, tags.length - index - 1);
+                tags = remainingTags.length == 0 ? NO_TAGS : remainingTags;
+
+                return true;
+            }
         }
         return false;
     }
@@ -102,7 +150,9 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
      *              required tags defined by the model in getRequiredTags(), false otherwise
      */
     public boolean hasTag(String tag) {
-        return getTagsAsSet().contains(tag.trim());
+        String trimmedTag = tag.trim();
+
+        return getDefaultTags().contains(trimmedTag) || indexOfTag(trimmedTag) > -1;
     }
 
     /**
@@ -171,7 +221,11 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
             throw new IllegalArgumentException("A property value must be specified.");
         }
 
-        properties.put(name, value);
+        if (properties.isEmpty()) {
+            properties = new HashMap<>();
+        }
+
+        properties.put(name.intern(), value);
     }
 
     /**
@@ -187,7 +241,10 @@ public abstract class ModelItem implements PropertyHolder, PerspectivesHolder, C
 
     void setProperties(Map<String, String> properties) {
         if (properties != null) {
-            this.properties = new HashMap<>(properties);
+            this.properties = properties.isEmpty() ? Collections.emptyMap() : new HashMap<>();
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                this.properties.put(property.getKey().intern(), property.getValue());
+            }
         }
     }
 
@@ -3,8 +3,6 @@ package com.structurizr.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import javax.annotation.Nonnull;
-import java.util.Arrays;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -12,6 +10,8 @@ import java.util.Set;
  */
 public final class Person extends StaticStructureElement {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT, Tags.PERSON);
+
     @Override
     @JsonIgnore
     public Element getParent() {
@@ -28,7 +28,7 @@ public final class Person extends StaticStructureElement {
 
     @Override
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Arrays.asList(Tags.ELEMENT, Tags.PERSON));
+        return DEFAULT_TAGS;
     }
 
     @Override
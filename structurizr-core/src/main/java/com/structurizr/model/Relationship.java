@@ -3,7 +3,6 @@ package com.structurizr.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -11,6 +10,10 @@ import java.util.Set;
  */
 public final class Relationship extends ModelItem {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.RELATIONSHIP);
+    private static final Set<String> DEFAULT_TAGS_SYNCHRONOUS = createDefaultTags(Tags.RELATIONSHIP, Tags.SYNCHRONOUS);
+    private static final Set<String> DEFAULT_TAGS_ASYNCHRONOUS = createDefaultTags(Tags.RELATIONSHIP, Tags.ASYNCHRONOUS);
+
     private Model model;
 
     private Element source;
@@ -151,16 +154,13 @@ public final class Relationship extends ModelItem {
     @Override
     public Set<String> getDefaultTags() {
         if (linkedRelationshipId == null) {
-            Set<String> tags = new LinkedHashSet<>();
-            tags.add(Tags.RELATIONSHIP);
-
             if (interactionStyle == InteractionStyle.Synchronous) {
-                tags.add(Tags.SYNCHRONOUS);
+                return DEFAULT_TAGS_SYNCHRONOUS;
             } else if (interactionStyle == InteractionStyle.Asynchronous) {
-                tags.add(Tags.ASYNCHRONOUS);
+                return DEFAULT_TAGS_ASYNCHRONOUS;
+            } else {
+                return DEFAULT_TAGS;
             }
-
-            return tags;
         } else {
             return Collections.emptySet();
         }
@@ -6,8 +6,6 @@ import com.structurizr.documentation.Documentation;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.Arrays;
-import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -16,6 +14,8 @@ import java.util.TreeSet;
  */
 public final class SoftwareSystem extends StaticStructureElement implements Documentable {
 
+    private static final Set<String> DEFAULT_TAGS = createDefaultTags(Tags.ELEMENT, Tags.SOFTWARE_SYSTEM);
+
     private Set<Container> containers = new TreeSet<>();
 
     private Documentation documentation = new Documentation();
@@ -163,7 +163,7 @@ public final class SoftwareSystem extends StaticStructureElement implements Docu
 
     @Override
     public Set<String> getDefaultTags() {
-        return new LinkedHashSet<>(Arrays.asList(Tags.ELEMENT, Tags.SOFTWARE_SYSTEM));
+        return DEFAULT_TAGS;
     }
 
     /**
@@ -70,16 +70,6 @@ public abstract class StaticStructureElementInstance extends DeploymentElement {
         this.deploymentGroups = Collections.singleton(deploymentGroup);
     }
 
-    boolean inSameDeploymentGroup(StaticStructureElementInstance ssei) {
-        for (String deploymentGroup : getDeploymentGroups()) {
-            if (ssei.getDeploymentGroups().contains(deploymentGroup)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Gets the instance ID of this element instance.
      *
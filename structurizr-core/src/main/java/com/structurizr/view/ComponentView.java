@@ -227,7 +227,7 @@ public final class ComponentView extends StaticView {
                 .forEach(components::add);
 
         // add relationships of all other elements to or from our inside components
-        for (Relationship relationship : getContainer().getModel().getRelationships()) {
+        for (Relationship relationship : getContainer().getModel().relationships()) {
             if (components.contains(relationship.getSource())) {
                 addExternalDependency(relationship.getDestination(), components);
             }
@@ -136,13 +136,13 @@ public final class ContainerView extends StaticView {
     public final void addAllInfluencers() {
 
         // add all software systems with incoming or outgoing dependencies
-        getModel().getSoftwareSystems()
+        getModel().softwareSystems()
                 .stream()
                 .filter(softwareSystem -> softwareSystem.hasEfferentRelationshipWith(getSoftwareSystem()) || getSoftwareSystem().hasEfferentRelationshipWith(softwareSystem))
                 .forEach(this::add);
 
         // then add all people with incoming or outgoing dependencies
-        getModel().getPeople()
+        getModel().people()
                 .stream()
                 .filter(person -> person.hasEfferentRelationshipWith(getSoftwareSystem()) || getSoftwareSystem().hasEfferentRelationshipWith(person))
                 .forEach(this::add);
@@ -180,7 +180,7 @@ public final class ContainerView extends StaticView {
      * {@link SoftwareSystem} of this {@link ContainerView}.
      */
     public final void addDependentSoftwareSystems() {
-        getModel().getSoftwareSystems().stream()
+        getModel().softwareSystems().stream()
                 .filter(softwareSystem -> softwareSystem.hasEfferentRelationshipWith(this.getSoftwareSystem()))
                 .forEach(this::add);
     }
@@ -179,7 +179,7 @@ public final class CustomView extends ModelView implements AnimatedView {
      * Adds all custom elements to this view.
      */
     public void addAllCustomElements() {
-        getModel().getCustomElements().forEach(ce -> {
+        getModel().customElements().forEach(ce -> {
             try {
                 add(ce);
             } catch (ElementNotPermittedInViewException e) {
@@ -58,7 +58,7 @@ public final class DeploymentView extends ModelView implements AnimatedView {
      * Adds all of the top-level deployment nodes to this view, for the same deployment environment (if set).
      */
     public void addAllDeploymentNodes() {
-        for (DeploymentNode deploymentNode : getModel().getDeploymentNodes()) {
+        for (DeploymentNode deploymentNode : getModel().deploymentNodes()) {
             if (deploymentNode.getParent() == null) {
                 if (this.getEnvironment() == null || this.getEnvironment().equals(deploymentNode.getEnvironment())) {
                     add(deploymentNode);
@@ -416,20 +416,16 @@ public final class DeploymentView extends ModelView implements AnimatedView {
     }
 
     private DeploymentNode findDeploymentNode(Element e) {
-        for (Element element : getModel().getElements()) {
-            if (element instanceof DeploymentNode) {
-                DeploymentNode deploymentNode = (DeploymentNode) element;
-
-                if (e instanceof ContainerInstance) {
-                    if (deploymentNode.getContainerInstances().contains(e)) {
-                        return deploymentNode;
-                    }
+        for (DeploymentNode deploymentNode : getModel().getElementsOfType(DeploymentNode.class)) {
+            if (e instanceof ContainerInstance) {
+                if (deploymentNode.getContainerInstances().contains(e)) {
+                    return deploymentNode;
                 }
+            }
 
-                if (e instanceof InfrastructureNode) {
-                    if (deploymentNode.getInfrastructureNodes().contains(e)) {
-                        return deploymentNode;
-                    }
+            if (e instanceof InfrastructureNode) {
+                if (deploymentNode.getInfrastructureNodes().contains(e)) {
+                    return deploymentNode;
                 }
             }
         }
@@ -221,18 +221,16 @@ public abstract class ModelView extends View {
                 .collect(Collectors.toSet());
 
         // add relationships where the destination exists in the view already
-        for (Relationship relationship : element.getRelationships()) {
+        for (Relationship relationship : element.relationships()) {
             if (elements.contains(relationship.getDestination())) {
                 this.relationshipViews.add(new RelationshipView(relationship));
             }
         }
 
         // add relationships where the source exists in the view already
-        for (Element e : elements) {
-            for (Relationship r : e.getRelationships()) {
-                if (r.getDestination().equals(element)) {
-                    this.relationshipViews.add(new RelationshipView(r));
-                }
+        for (Relationship relationship : getModel().getAfferentRelationships(element)) {
+            if (elements.contains(relationship.getSource())) {
+                this.relationshipViews.add(new RelationshipView(relationship));
             }
         }
     }
@@ -478,8 +476,7 @@ public abstract class ModelView extends View {
         try {
             addElement(element, true);
 
-            Set<Relationship> relationships = getModel().getRelationships();
-            relationships.stream().filter(r -> r.getSource().equals(element) && typeOfElement.isInstance(r.getDestination()))
+            getModel().getEfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getDestination()))
                     .map(Relationship::getDestination)
                     .forEach(d -> {
                         try {
@@ -489,7 +486,7 @@ public abstract class ModelView extends View {
                         }
                     });
 
-            relationships.stream().filter(r -> r.getDestination().equals(element) && typeOfElement.isInstance(r.getSource()))
+            getModel().getAfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getSource()))
                     .map(Relationship::getSource)
                     .forEach(s -> {
                         try {
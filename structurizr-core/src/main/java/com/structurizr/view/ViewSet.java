@@ -1168,8 +1168,8 @@ public final class ViewSet {
         systemLandscapeView.addDefaultElements();
         systemLandscapeView.enableAutomaticLayout(AutomaticLayout.RankDirection.TopBottom, 300, 300);
 
-        if (!model.getSoftwareSystems().isEmpty()) {
-            List<SoftwareSystem> softwareSystems = new ArrayList<>(model.getSoftwareSystems());
+        if (!model.softwareSystems().isEmpty()) {
+            List<SoftwareSystem> softwareSystems = new ArrayList<>(model.softwareSystems());
             softwareSystems.sort(Comparator.comparing(Element::getName));
 
             // and a system context view plus container view for each software system
@@ -1199,7 +1199,7 @@ public final class ViewSet {
 
         // and deployment views for each environment and software system pair
         List<String> deploymentEnvironments = new ArrayList<>();
-        for (DeploymentNode deploymentNode : model.getDeploymentNodes()) {
+        for (DeploymentNode deploymentNode : model.deploymentNodes()) {
             String environment = deploymentNode.getEnvironment();
             if (!deploymentEnvironments.contains(environment)) {
                 deploymentEnvironments.add(environment);
@@ -1209,29 +1209,27 @@ public final class ViewSet {
 
         for (String deploymentEnvironment : deploymentEnvironments) {
             List<SoftwareSystem> softwareSystems = new ArrayList<>();
-            for (DeploymentNode deploymentNode : model.getDeploymentNodes()) {
-                if (deploymentNode.getEnvironment().equals(deploymentEnvironment)) {
-                    Set<SoftwareSystemInstance> softwareSystemInstances = getSoftwareSystemInstances(deploymentNode);
-                    for (SoftwareSystemInstance softwareSystemInstance : softwareSystemInstances) {
-                        SoftwareSystem softwareSystem = softwareSystemInstance.getSoftwareSystem();
-                        if (!softwareSystems.contains(softwareSystem)) {
-                            softwareSystems.add(softwareSystem);
-                        }
+            for (SoftwareSystemInstance softwareSystemInstance : model.getElementsOfType(SoftwareSystemInstance.class)) {
+                if (softwareSystemInstance.getEnvironment().equals(deploymentEnvironment)) {
+                    SoftwareSystem softwareSystem = softwareSystemInstance.getSoftwareSystem();
+                    if (!softwareSystems.contains(softwareSystem)) {
+                        softwareSystems.add(softwareSystem);
                     }
+                }
+            }
 
-                    Set<ContainerInstance> containerInstances = getContainerInstances(deploymentNode);
-                    for (ContainerInstance containerInstance : containerInstances) {
-                        SoftwareSystem softwareSystem = containerInstance.getContainer().getSoftwareSystem();
-                        if (!softwareSystems.contains(softwareSystem)) {
-                            softwareSystems.add(softwareSystem);
-                        }
+            for (ContainerInstance containerInstance : model.getElementsOfType(ContainerInstance.class)) {
+                if (containerInstance.getEnvironment().equals(deploymentEnvironment)) {
+                    SoftwareSystem softwareSystem = containerInstance.getContainer().getSoftwareSystem();
+                    if (!softwareSystems.contains(softwareSystem)) {
+                        softwareSystems.add(softwareSystem);
                     }
                 }
             }
 
             if (softwareSystems.isEmpty()) {
                 // there are no container instances, but perhaps there are infrastructure nodes in this environment
-                if (model.getElements().stream().anyMatch(e -> e instanceof InfrastructureNode && ((InfrastructureNode)e).getEnvironment().equals(deploymentEnvironment))) {
+                if (model.getElementsOfType(InfrastructureNode.class).stream().anyMatch(in -> in.getEnvironment().equals(deploymentEnvironment))) {
                     DeploymentView deploymentView = createDeploymentView("", "");
                     deploymentView.setEnvironment(deploymentEnvironment);
                     deploymentView.addDefaultElements();
@@ -1250,26 +1248,6 @@ public final class ViewSet {
         }
     }
 
-    private Set<SoftwareSystemInstance> getSoftwareSystemInstances(DeploymentNode deploymentNode) {
-        Set<SoftwareSystemInstance> softwareSystemInstances = new TreeSet<>(deploymentNode.getSoftwareSystemInstances());
-
-        for (DeploymentNode child : deploymentNode.getChildren()) {
-            softwareSystemInstances.addAll(getSoftwareSystemInstances(child));
-        }
-
-        return softwareSystemInstances;
-    }
-
-    private Set<ContainerInstance> getContainerInstances(DeploymentNode deploymentNode) {
-        Set<ContainerInstance> containerInstances = new TreeSet<>(deploymentNode.getContainerInstances());
-
-        for (DeploymentNode child : deploymentNode.getChildren()) {
-            containerInstances.addAll(getContainerInstances(child));
-        }
-
-        return containerInstances;
-    }
-
     /**
      * Removes all views and configuration.
      */
@@ -0,0 +1,51 @@
+package com.structurizr.model;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.Workspace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+abstract class AbstractImpliedRelationshipsStrategyTests extends AbstractWorkspaceTestBase {
+
+    protected Model createModelWithoutImpliedRelationships() {
+        Model model = new Workspace("Name", "Description").getModel();
+        Person user = model.addPerson("User");
+        for (int i = 1; i <= 3; i++) {
+            SoftwareSystem softwareSystem = model.addSoftwareSystem("S" + i);
+            for (int j = 1; j <= 2; j++) {
+                Container container = softwareSystem.addContainer("S" + i + "C" + j);
+                for (int k = 1; k <= 2; k++) {
+                    container.addComponent("S" + i + "C" + j + "C" + k);
+                }
+            }
+        }
+
+        model.addRelationship(user, model.getElementWithCanonicalName("Component://S1.S1C1.S1C1C1"), "Uses", null, false);
+        model.addRelationship(user, model.getElementWithCanonicalName("Container://S1.S1C2"), "Uses", null, false);
+        model.addRelationship(user, model.getElementWithCanonicalName("SoftwareSystem://S2"), "Reads from", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Component://S1.S1C1.S1C1C1"), model.getElementWithCanonicalName("Component://S2.S2C1.S2C1C1"), "Uses", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Component://S1.S1C1.S1C1C2"), model.getElementWithCanonicalName("Component://S2.S2C1.S2C1C2"), "Uses", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Component://S1.S1C1.S1C1C2"), model.getElementWithCanonicalName("Component://S2.S2C1.S2C1C2"), "Writes to", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Container://S1.S1C2"), model.getElementWithCanonicalName("Component://S3.S3C1.S3C1C1"), "Uses", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Component://S1.S1C1.S1C1C1"), model.getElementWithCanonicalName("Component://S1.S1C2.S1C2C1"), "Calls", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("SoftwareSystem://S2"), model.getElementWithCanonicalName("SoftwareSystem://S3"), "Uses", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Component://S2.S2C2.S2C2C1"), model.getElementWithCanonicalName("Component://S3.S3C2.S3C2C2"), "Sends to", null, false);
+        model.addRelationship(model.getElementWithCanonicalName("Component://S2.S2C1.S2C1C1"), model.getElementWithCanonicalName("Component://S2.S2C1.S2C1C2"), "Uses", null, false);
+        assertEquals(11, model.getRelationships().size());
+
+        return model;
+    }
+
+    protected List<String> summarise(Model model) {
+        List<String> relationships = new ArrayList<>();
+        for (Relationship relationship : model.getRelationships()) {
+            relationships.add(relationship.getId() + " " + relationship.getCanonicalName() + " " + relationship.getLinkedRelationshipId());
+        }
+
+        return relationships;
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.structurizr.model;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AtomicSequentialIdGeneratorStrategyTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    void construction_ThrowsAnException_WhenTheBlockSizeIsLessThanOne() {
+        try {
+            new AtomicSequentialIdGeneratorStrategy(0);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The block size must be 1 or more.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void generateId_GeneratesSequentialIds() {
+        model.setIdGenerator(new AtomicSequentialIdGeneratorStrategy());
+        Person user = model.addPerson("User");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Relationship relationship = user.uses(softwareSystem, "Uses");
+
+        assertEquals("1", user.getId());
+        assertEquals("2", softwareSystem.getId());
+        assertEquals("3", relationship.getId());
+    }
+
+    @Test
+    void found_IgnoresNonNumericIds() {
+        AtomicSequentialIdGeneratorStrategy idGenerator = new AtomicSequentialIdGeneratorStrategy();
+        idGenerator.found("10");
+        idGenerator.found("abc");
+        idGenerator.found("-20");
+        idGenerator.found("1e9");
+        idGenerator.found("");
+        idGenerator.found(null);
+        idGenerator.found("5");
+
+        assertEquals("11", idGenerator.generateId(new Person()));
+    }
+
+    @Test
+    void generateId_ReservesBlocksOfIdsForEachThread() throws Exception {
+        AtomicSequentialIdGeneratorStrategy idGenerator = new AtomicSequentialIdGeneratorStrategy(10);
+        assertEquals("1", idGenerator.generateId(new Person()));
+        assertEquals("2", idGenerator.generateId(new Person()));
+
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            executorService.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ids.add(idGenerator.generateId(new Person()));
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(4000, ids.size());
+        assertFalse(ids.contains("1"));
+        assertFalse(ids.contains("2"));
+    }
+
+    @Test
+    void found_PreventsDuplicateIdsAfterHydration() {
+        AtomicSequentialIdGeneratorStrategy idGenerator = new AtomicSequentialIdGeneratorStrategy(10);
+        idGenerator.found("123");
+
+        assertEquals("124", idGenerator.generateId(new Person()));
+    }
+
+    @Test
+    void found_InvalidatesReservedBlocksThatContainTheFoundId() {
+        AtomicSequentialIdGeneratorStrategy idGenerator = new AtomicSequentialIdGeneratorStrategy(100);
+        assertEquals("1", idGenerator.generateId(new Person()));
+
+        idGenerator.found("50");
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(idGenerator.generateId(new Person()));
+        }
+
+        assertEquals(200, ids.size());
+        assertFalse(ids.contains("50"));
+        assertEquals("51", ids.stream().mapToLong(Long::parseLong).min().orElse(0) + "");
+    }
+
+    @Test
+    void generateId_KeepsIdsDense_WhenAThreadSafeModelIsPopulatedByMultipleThreads() throws Exception {
+        model.setThreadSafe(true);
+        model.setIdGenerator(new AtomicSequentialIdGeneratorStrategy(100));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            int thread = i;
+            executorService.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    model.addSoftwareSystem("Software System " + thread + "-" + j);
+                }
+            });
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(4000, model.getSoftwareSystems().size());
+        long maximumId = model.getSoftwareSystems().stream().mapToLong(softwareSystem -> Long.parseLong(softwareSystem.getId())).max().orElse(0);
+        assertTrue(maximumId <= 4000 + (4 * 100), "Maximum ID was " + maximumId);
+    }
+
+}
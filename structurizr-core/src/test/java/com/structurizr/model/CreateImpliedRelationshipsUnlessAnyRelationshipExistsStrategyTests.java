@@ -1,13 +1,12 @@
 package com.structurizr.model;
 
-import com.structurizr.AbstractWorkspaceTestBase;
 import org.junit.jupiter.api.Test;
 
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-public class CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategyTests extends AbstractWorkspaceTestBase {
+public class CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategyTests extends AbstractImpliedRelationshipsStrategyTests {
 
     @Test
     void impliedRelationshipsAreCreated() {
@@ -95,4 +94,20 @@ public class CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategyTests
         assertTrue(a.hasEfferentRelationshipWith(b, "Uses")); // existing relationship
     }
 
-}
\ No newline at end of file
+    @Test
+    void createImpliedRelationships_CreatesTheSameRelationshipsForABatchAsForEachRelationshipInTurn() {
+        Model model1 = createModelWithoutImpliedRelationships();
+        ImpliedRelationshipsStrategy strategy = new CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy();
+        for (Relationship relationship : model1.getRelationships()) {
+            strategy.createImpliedRelationships(relationship);
+        }
+
+        Model model2 = createModelWithoutImpliedRelationships();
+        model2.setImpliedRelationshipsStrategy(new CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy());
+        model2.createImpliedRelationships();
+
+        assertTrue(model1.getRelationships().size() > 11);
+        assertEquals(summarise(model1), summarise(model2));
+    }
+
+}
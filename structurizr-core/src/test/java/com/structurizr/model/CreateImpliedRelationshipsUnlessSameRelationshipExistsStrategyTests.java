@@ -1,13 +1,12 @@
 package com.structurizr.model;
 
-import com.structurizr.AbstractWorkspaceTestBase;
 import org.junit.jupiter.api.Test;
 
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-public class CreateImpliedRelationshipsUnlessSameRelationshipExistsStrategyTests extends AbstractWorkspaceTestBase {
+public class CreateImpliedRelationshipsUnlessSameRelationshipExistsStrategyTests extends AbstractImpliedRelationshipsStrategyTests {
 
     @Test
     void impliedRelationships_WhenNoSummaryRelationshipsExist() {
@@ -67,4 +66,20 @@ public class CreateImpliedRelationshipsUnlessSameRelationshipExistsStrategyTests
         assertTrue(a.hasEfferentRelationshipWith(b, "Uses 2"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void createImpliedRelationships_CreatesTheSameRelationshipsForABatchAsForEachRelationshipInTurn() {
+        Model model1 = createModelWithoutImpliedRelationships();
+        ImpliedRelationshipsStrategy strategy = new CreateImpliedRelationshipsUnlessSameRelationshipExistsStrategy();
+        for (Relationship relationship : model1.getRelationships()) {
+            strategy.createImpliedRelationships(relationship);
+        }
+
+        Model model2 = createModelWithoutImpliedRelationships();
+        model2.setImpliedRelationshipsStrategy(new CreateImpliedRelationshipsUnlessSameRelationshipExistsStrategy());
+        model2.createImpliedRelationships();
+
+        assertTrue(model1.getRelationships().size() > 11);
+        assertEquals(summarise(model1), summarise(model2));
+    }
+
+}
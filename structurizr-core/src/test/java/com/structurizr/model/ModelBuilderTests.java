@@ -0,0 +1,254 @@
+package com.structurizr.model;
+
+import com.structurizr.AbstractWorkspaceTestBase;
+import com.structurizr.WorkspaceValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelBuilderTests extends AbstractWorkspaceTestBase {
+
+    @Test
+    void construction_ThrowsAnException_WhenANullModelIsSpecified() {
+        try {
+            new ModelBuilder(null);
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A model must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void commit_AddsElementsAndRelationshipsToTheModel() {
+        ModelBuilder builder = new ModelBuilder(model);
+        Person user = builder.addPerson("User", "Description");
+        SoftwareSystem softwareSystem = builder.addSoftwareSystem("Software System", "Description");
+        Container container = builder.addContainer(softwareSystem, "Container", "Description", "Technology");
+        Component component = builder.addComponent(container, "Component", "Description", "Technology");
+        CustomElement customElement = builder.addCustomElement("Custom", "Metadata", "Description");
+        Relationship relationship = builder.addRelationship(user, component, "Uses", "HTTPS");
+
+        assertTrue(model.isEmpty());
+        assertNull(user.getModel());
+
+        builder.commit();
+
+        assertEquals(5, model.getElements().size());
+        assertEquals(1, model.getRelationships().size());
+        assertSame(user, model.getPersonWithName("User"));
+        assertSame(softwareSystem, model.getSoftwareSystemWithName("Software System"));
+        assertSame(container, softwareSystem.getContainerWithName("Container"));
+        assertSame(component, container.getComponentWithName("Component"));
+        assertSame(customElement, model.getCustomElementWithName("Custom"));
+        assertSame(component, model.getElementWithCanonicalName("Component://Software System.Container.Component"));
+        assertSame(relationship, model.getRelationship(relationship.getId()));
+        assertSame(model, relationship.getModel());
+        assertTrue(user.hasEfferentRelationshipWith(component, "Uses"));
+        assertEquals(1, model.getAfferentRelationships(component).size());
+    }
+
+    @Test
+    void commit_AssignsTheSameIdsAsAddingElementsOneAtATime() {
+        ModelBuilder builder = new ModelBuilder(model);
+        Person user = builder.addPerson("User", "");
+        SoftwareSystem softwareSystem = builder.addSoftwareSystem("Software System", "");
+        Relationship relationship = builder.addRelationship(user, softwareSystem, "Uses", "");
+        builder.commit();
+
+        assertEquals("1", user.getId());
+        assertEquals("2", softwareSystem.getId());
+        assertEquals("3", relationship.getId());
+        assertEquals("4", model.addPerson("Admin").getId());
+    }
+
+    @Test
+    void commit_CanAddElementsToElementsThatAlreadyExistInTheModel() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Person user = model.addPerson("User");
+
+        ModelBuilder builder = new ModelBuilder(model);
+        Container container = builder.addContainer(softwareSystem, "Container", "", "");
+        builder.addRelationship(user, container, "Uses", "");
+        builder.commit();
+
+        assertSame(container, softwareSystem.getContainerWithName("Container"));
+        assertTrue(user.hasEfferentRelationshipWith(container));
+    }
+
+    @Test
+    void commit_ThrowsAnException_WhenATopLevelElementNameIsNotUnique() {
+        model.addSoftwareSystem("Software System");
+
+        ModelBuilder builder = new ModelBuilder(model);
+        builder.addPerson("User", "");
+        builder.addSoftwareSystem("Software System", "");
+
+        try {
+            builder.commit();
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A top-level element named 'Software System' already exists.", iae.getMessage());
+            assertNull(model.getPersonWithName("User"));
+            assertEquals(1, model.getElements().size());
+        }
+    }
+
+    @Test
+    void commit_ThrowsAnException_WhenAContainerNameIsNotUniqueWithinTheBatch() {
+        ModelBuilder builder = new ModelBuilder(model);
+        SoftwareSystem softwareSystem = builder.addSoftwareSystem("Software System", "");
+        builder.addContainer(softwareSystem, "Container", "", "");
+        builder.addContainer(softwareSystem, "Container", "", "");
+
+        try {
+            builder.commit();
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A container named 'Container' already exists for this software system.", iae.getMessage());
+            assertTrue(model.isEmpty());
+        }
+    }
+
+    @Test
+    void commit_ThrowsAnException_WhenAComponentNameIsNotUnique() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container");
+        container.addComponent("Component");
+
+        ModelBuilder builder = new ModelBuilder(model);
+        builder.addComponent(container, "Component", "", "");
+
+        try {
+            builder.commit();
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A component named 'Component' already exists for this container.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void commit_AllowsTheSameNameForDifferentTypesOfTopLevelElement() {
+        ModelBuilder builder = new ModelBuilder(model);
+        builder.addPerson("Name", "");
+        builder.addSoftwareSystem("Name", "");
+        builder.commit();
+
+        assertEquals(2, model.getElements().size());
+    }
+
+    @Test
+    void commit_ThrowsAnException_WhenAnIdIsNotUnique() {
+        ModelBuilder builder = new ModelBuilder(model);
+        builder.addPerson("User", "");
+        model.addSoftwareSystem("Software System");
+
+        model.setIdGenerator(new IdGenerator() {
+            @Override
+            public String generateId(Element element) {
+                return "1";
+            }
+
+            @Override
+            public String generateId(Relationship relationship) {
+                return "1";
+            }
+
+            @Override
+            public void found(String id) {
+            }
+        });
+        builder.addPerson("Admin", "");
+
+        try {
+            builder.commit();
+            fail();
+        } catch (WorkspaceValidationException wve) {
+            assertEquals("The element Person://Admin has a non-unique ID of 1.", wve.getMessage());
+            assertEquals(1, model.getElements().size());
+        }
+    }
+
+    @Test
+    void addContainer_ThrowsAnException_WhenTheSoftwareSystemBelongsToAnotherModel() {
+        SoftwareSystem softwareSystem = new com.structurizr.Workspace("Name", "Description").getModel().addSoftwareSystem("Software System");
+
+        try {
+            new ModelBuilder(model).addContainer(softwareSystem, "Container", "", "");
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("A software system must belong to the same model.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void addRelationship_ThrowsAnException_WhenTheDestinationIsNotSpecified() {
+        ModelBuilder builder = new ModelBuilder(model);
+        Person user = builder.addPerson("User", "");
+
+        try {
+            builder.addRelationship(user, null, "Uses", "");
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("The destination must be specified.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void addRelationship_ThrowsAnException_WhenAddingRelationshipsBetweenParentsAndChildren() {
+        ModelBuilder builder = new ModelBuilder(model);
+        SoftwareSystem softwareSystem = builder.addSoftwareSystem("Software System", "");
+        Container container = builder.addContainer(softwareSystem, "Container", "", "");
+
+        try {
+            builder.addRelationship(container, softwareSystem, "Uses", "");
+            fail();
+        } catch (IllegalArgumentException iae) {
+            assertEquals("Relationships cannot be added between parents and children.", iae.getMessage());
+        }
+    }
+
+    @Test
+    void addRelationship_ReturnsNull_WhenTheSameRelationshipExists() {
+        Person user = model.addPerson("User");
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        user.uses(softwareSystem, "Uses");
+
+        ModelBuilder builder = new ModelBuilder(model);
+        assertNull(builder.addRelationship(user, softwareSystem, "Uses", ""));
+        assertNotNull(builder.addRelationship(user, softwareSystem, "Reads from", ""));
+        assertNull(builder.addRelationship(user, softwareSystem, "Reads from", ""));
+        builder.commit();
+
+        assertEquals(2, model.getRelationships().size());
+    }
+
+    @Test
+    void commit_CreatesImpliedRelationshipsForTheBatch() {
+        model.setImpliedRelationshipsStrategy(new CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy());
+
+        ModelBuilder builder = new ModelBuilder(model);
+        Person user = builder.addPerson("User", "");
+        SoftwareSystem a = builder.addSoftwareSystem("A", "");
+        Container aa = builder.addContainer(a, "AA", "", "");
+        Component aaa = builder.addComponent(aa, "AAA", "", "");
+        SoftwareSystem b = builder.addSoftwareSystem("B", "");
+        Container bb = builder.addContainer(b, "BB", "", "");
+        Relationship r1 = builder.addRelationship(user, aaa, "Uses", "");
+        Relationship r2 = builder.addRelationship(aaa, bb, "Uses", "");
+        builder.commit();
+
+        // User->AAA implies User->AA, User->A
+        assertEquals(r1.getId(), user.getEfferentRelationshipWith(aa).getLinkedRelationshipId());
+        assertEquals(r1.getId(), user.getEfferentRelationshipWith(a).getLinkedRelationshipId());
+
+        // AAA->BB implies AAA->B, AA->BB, AA->B, A->BB, A->B
+        assertEquals(r2.getId(), aaa.getEfferentRelationshipWith(b).getLinkedRelationshipId());
+        assertEquals(r2.getId(), aa.getEfferentRelationshipWith(bb).getLinkedRelationshipId());
+        assertEquals(r2.getId(), aa.getEfferentRelationshipWith(b).getLinkedRelationshipId());
+        assertEquals(r2.getId(), a.getEfferentRelationshipWith(bb).getLinkedRelationshipId());
+        assertEquals(r2.getId(), a.getEfferentRelationshipWith(b).getLinkedRelationshipId());
+
+        assertEquals(9, model.getRelationships().size());
+    }
+
+}
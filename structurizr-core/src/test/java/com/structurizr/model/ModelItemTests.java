@@ -79,6 +79,48 @@ public class ModelItemTests extends AbstractWorkspaceTestBase {
         assertFalse(element.removeTag("Element"), "Remove a required tag returns false");
     }
 
+    @Test
+    void removeTags_PreservesTheOrderOfTheRemainingTags() {
+        Element element = model.addSoftwareSystem("Name", "Description");
+        element.addTags("tag1", "tag2", "tag3");
+        assertTrue(element.removeTag("tag2"));
+        assertEquals("Element,Software System,tag1,tag3", element.getTags());
+
+        assertTrue(element.removeTag("tag1"));
+        assertTrue(element.removeTag("tag3"));
+        assertEquals("Element,Software System", element.getTags());
+    }
+
+    @Test
+    void getTags_DoesNotDuplicateTagsThatAreAlsoDefaultTags() {
+        Element element = model.addSoftwareSystem("Name", "Description");
+        element.setTags("Element,Software System,tag1,tag1");
+        assertEquals("Element,Software System,tag1", element.getTags());
+        assertEquals(3, element.getTagsAsSet().size());
+    }
+
+    @Test
+    void hasTag_ChecksTagsAndDefaultTags() {
+        Relationship relationship = model.addPerson("User").uses(model.addSoftwareSystem("Name"), "Uses", "", InteractionStyle.Synchronous, new String[] { "tag1" });
+        assertTrue(relationship.hasTag("Relationship"));
+        assertTrue(relationship.hasTag("Synchronous"));
+        assertTrue(relationship.hasTag(" tag1 "));
+        assertFalse(relationship.hasTag("Asynchronous"));
+        assertFalse(relationship.hasTag("tag2"));
+    }
+
+    @Test
+    void addTags_InternsTags() {
+        Element element1 = model.addSoftwareSystem("Name 1");
+        Element element2 = model.addSoftwareSystem("Name 2");
+        element1.addTags(new String("tag"));
+        element2.addTags(new String("tag"));
+
+        String tag1 = element1.getTagsAsSet().stream().filter("tag"::equals).findFirst().get();
+        String tag2 = element2.getTagsAsSet().stream().filter("tag"::equals).findFirst().get();
+        assertSame(tag1, tag2);
+    }
+
     @Test
     void getProperties_ReturnsAnEmptyList_WhenNoPropertiesHaveBeenAdded() {
         Element element = model.addSoftwareSystem("Name", "Description");
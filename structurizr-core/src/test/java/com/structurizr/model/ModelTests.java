@@ -4,6 +4,10 @@ import com.structurizr.AbstractWorkspaceTestBase;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -307,6 +311,123 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         }
     }
 
+    @Test
+    void elements_ReturnsAnUnmodifiableViewOfTheElements() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        Person b = model.addPerson("B");
+        Relationship r = b.uses(a, "Uses");
+
+        assertEquals(2, model.elements().size());
+        assertTrue(model.elements().contains(a));
+        assertTrue(model.softwareSystems().contains(a));
+        assertTrue(model.people().contains(b));
+        assertTrue(model.relationships().contains(r));
+        assertTrue(b.relationships().contains(r));
+        assertThrows(UnsupportedOperationException.class, () -> model.elements().clear());
+        assertThrows(UnsupportedOperationException.class, () -> model.relationships().clear());
+        assertThrows(UnsupportedOperationException.class, () -> b.relationships().clear());
+
+        // views reflect subsequent changes to the model
+        Set<Element> elements = model.elements();
+        SoftwareSystem c = model.addSoftwareSystem("C");
+        assertTrue(elements.contains(c));
+    }
+
+    @Test
+    void getElementsOfType_ReturnsTheElementsOfTheSpecifiedType() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container");
+        DeploymentNode deploymentNode = model.addDeploymentNode("Deployment Node");
+        InfrastructureNode infrastructureNode = deploymentNode.addInfrastructureNode("Infrastructure Node");
+        ContainerInstance containerInstance = deploymentNode.add(container);
+
+        assertEquals(1, model.getElementsOfType(SoftwareSystem.class).size());
+        assertTrue(model.getElementsOfType(Container.class).contains(container));
+        assertTrue(model.getElementsOfType(ContainerInstance.class).contains(containerInstance));
+        assertEquals(0, model.getElementsOfType(Person.class).size());
+
+        Set<DeploymentElement> deploymentElements = model.getElementsOfType(DeploymentElement.class);
+        assertEquals(3, deploymentElements.size());
+        assertTrue(deploymentElements.contains(deploymentNode));
+        assertTrue(deploymentElements.contains(infrastructureNode));
+        assertTrue(deploymentElements.contains(containerInstance));
+
+        model.remove(containerInstance);
+        assertEquals(0, model.getElementsOfType(ContainerInstance.class).size());
+    }
+
+    @Test
+    void getElementsOfType_ReturnsASnapshot() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        Set<SoftwareSystem> softwareSystems = model.getElementsOfType(SoftwareSystem.class);
+        Set<StaticStructureElement> staticStructureElements = model.getElementsOfType(StaticStructureElement.class);
+
+        model.addSoftwareSystem("B");
+        assertEquals(Set.of(a), softwareSystems);
+        assertEquals(Set.of(a), staticStructureElements);
+
+        assertThrows(UnsupportedOperationException.class, () -> softwareSystems.add(a));
+    }
+
+    @Test
+    void getSoftwareSystemInstancesAndGetContainerInstances_ReturnTheInstancesOfTheSpecifiedElement() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container = softwareSystem.addContainer("Container");
+        DeploymentNode live = model.addDeploymentNode("Live", "Deployment Node", null, null);
+        DeploymentNode development = model.addDeploymentNode("Development", "Deployment Node", null, null);
+        SoftwareSystemInstance softwareSystemInstance = live.add(softwareSystem);
+        ContainerInstance containerInstance1 = live.add(container);
+        ContainerInstance containerInstance2 = development.add(container);
+
+        assertEquals(1, model.getSoftwareSystemInstances(softwareSystem).size());
+        assertTrue(model.getSoftwareSystemInstances(softwareSystem).contains(softwareSystemInstance));
+        assertEquals(2, model.getContainerInstances(container).size());
+
+        model.remove(containerInstance1);
+        assertEquals(1, model.getContainerInstances(container).size());
+        assertTrue(model.getContainerInstances(container).contains(containerInstance2));
+    }
+
+    @Test
+    void getAfferentRelationships_ReturnsTheIncomingRelationships() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        SoftwareSystem c = model.addSoftwareSystem("C");
+        Relationship ac = a.uses(c, "Uses");
+        Relationship bc = b.uses(c, "Uses");
+
+        assertEquals(0, model.getAfferentRelationships(a).size());
+        assertEquals(2, model.getAfferentRelationships(c).size());
+        assertTrue(model.getAfferentRelationships(c).contains(ac));
+        assertTrue(model.getAfferentRelationships(c).contains(bc));
+
+        model.remove(ac);
+        assertEquals(1, model.getAfferentRelationships(c).size());
+        assertTrue(model.getAfferentRelationships(c).contains(bc));
+    }
+
+    @Test
+    void getAfferentRelationships_ReturnsAnEmptySet_WhenTheSourceElementHasBeenRemoved() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        a.uses(b, "Uses");
+
+        model.remove(a);
+        assertEquals(0, model.getAfferentRelationships(b).size());
+        assertEquals(0, model.getRelationships().size());
+    }
+
+    @Test
+    void getEfferentRelationships_ReturnsTheOutgoingRelationships() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship ab = a.uses(b, "Uses");
+
+        assertEquals(1, model.getEfferentRelationships(a).size());
+        assertTrue(model.getEfferentRelationships(a).contains(ab));
+        assertEquals(0, model.getEfferentRelationships(b).size());
+    }
+
     @Test
     void modifyRelationship_ThrowsAnException_WhenARelationshipIsNotSpecified() {
         try {
@@ -545,6 +666,23 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertEquals("Uses", relationship.getDescription());
     }
 
+    @Test
+    void addElementInstance_DoesNotReplicateRelationshipsToElementInstancesThatHaveBeenRemoved() {
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        Container container1 = softwareSystem.addContainer("Container 1");
+        Container container2 = softwareSystem.addContainer("Container 2");
+        container1.uses(container2, "Uses");
+
+        DeploymentNode deploymentNode = model.addDeploymentNode("Deployment Node");
+        ContainerInstance containerInstance2a = deploymentNode.add(container2);
+        ContainerInstance containerInstance2b = deploymentNode.add(container2);
+        model.remove(containerInstance2a);
+
+        ContainerInstance containerInstance1 = deploymentNode.add(container1);
+        assertEquals(1, containerInstance1.getRelationships().size());
+        assertSame(containerInstance2b, containerInstance1.getRelationships().iterator().next().getDestination());
+    }
+
     @Test
     void getElement_ThrowsAnException_WhenANullIdIsSpecified() {
         try {
@@ -595,6 +733,43 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertSame(b, model.getElementWithCanonicalName("Container://A.B"));
     }
 
+    @Test
+    void getElementWithCanonicalName_ReturnsNull_WhenTheElementHasBeenRemoved() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        assertSame(a, model.getElementWithCanonicalName("SoftwareSystem://A"));
+
+        model.remove(a);
+        assertNull(model.getElementWithCanonicalName("SoftwareSystem://A"));
+    }
+
+    @Test
+    void getElementWithCanonicalName_ReturnsTheFirstElement_WhenMultipleElementsHaveTheSameCanonicalName() {
+        SoftwareSystem a = model.addSoftwareSystem("A.B");
+        SoftwareSystem b = model.addSoftwareSystem("AB");
+        assertSame(a, model.getElementWithCanonicalName("SoftwareSystem://AB"));
+
+        model.remove(a);
+        assertSame(b, model.getElementWithCanonicalName("SoftwareSystem://AB"));
+    }
+
+    @Test
+    void getElementWithCanonicalName_ReturnsTheElement_WhenTheModelHasBeenHydrated() {
+        SoftwareSystem softwareSystem = new SoftwareSystem();
+        softwareSystem.setId("1");
+        softwareSystem.setName("A");
+        model.setSoftwareSystems(Collections.singleton(softwareSystem));
+
+        Container container = new Container();
+        container.setId("2");
+        container.setName("B");
+        softwareSystem.setContainers(Collections.singleton(container));
+
+        model.hydrate();
+
+        assertSame(softwareSystem, model.getElementWithCanonicalName("SoftwareSystem://A"));
+        assertSame(container, model.getElementWithCanonicalName("Container://A.B"));
+    }
+
     @Test
     void getRelationshipWithCanonicalName_ThrowsAnException_WhenANullCanonicalNameIsSpecified() {
         try {
@@ -627,6 +802,27 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertSame(r, model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Uses)"));
     }
 
+    @Test
+    void getRelationshipWithCanonicalName_ReturnsTheRelationship_WhenTheRelationshipHasBeenModified() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship r = a.uses(b, "Uses");
+
+        model.modifyRelationship(r, "Reads from", "");
+        assertNull(model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Uses)"));
+        assertSame(r, model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Reads from)"));
+    }
+
+    @Test
+    void getRelationshipWithCanonicalName_ReturnsNull_WhenTheRelationshipHasBeenRemoved() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship r = a.uses(b, "Uses");
+
+        model.remove(r);
+        assertNull(model.getRelationshipWithCanonicalName("Relationship://SoftwareSystem://A -> SoftwareSystem://B (Uses)"));
+    }
+
     @Test
     void addDeploymentNode_ThrowsAnException_WhenADeploymentNodeWithTheSameNameAlreadyExists() {
         model.addDeploymentNode("Amazon AWS", "Description", "Technology");
@@ -826,4 +1022,118 @@ public class ModelTests extends AbstractWorkspaceTestBase {
         assertEquals("ContainerInstance://Default/Deployment Node B/Software System.Container[2]", containerInstanceB2.getCanonicalName());
     }
 
-}
\ No newline at end of file
+    @Test
+    void setThreadSafe() {
+        assertFalse(model.isThreadSafe());
+
+        model.setThreadSafe(true);
+        assertTrue(model.isThreadSafe());
+
+        model.setThreadSafe(false);
+        assertFalse(model.isThreadSafe());
+    }
+
+    @Test
+    void setThreadSafe_ThrowsAnException_WhenTheModelIsNotEmpty() {
+        model.addSoftwareSystem("Software System");
+
+        try {
+            model.setThreadSafe(true);
+            fail();
+        } catch (IllegalStateException ise) {
+            assertEquals("Thread-safe mode can't be changed once elements or relationships have been added to the model.", ise.getMessage());
+        }
+        assertFalse(model.isThreadSafe());
+    }
+
+    @Test
+    void threadSafeMode_ReturnsSnapshotsFromLookupMethods() {
+        model.setThreadSafe(true);
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        DeploymentNode deploymentNode = model.addDeploymentNode("Deployment Node");
+        Relationship relationship1 = a.uses(b, "Uses 1");
+
+        Set<Relationship> afferentRelationships = model.getAfferentRelationships(b);
+        Set<Relationship> efferentRelationships = model.getEfferentRelationships(a);
+        Set<SoftwareSystemInstance> softwareSystemInstances = model.getSoftwareSystemInstances(a);
+
+        a.uses(b, "Uses 2");
+        deploymentNode.add(a);
+
+        assertEquals(Set.of(relationship1), afferentRelationships);
+        assertEquals(Set.of(relationship1), efferentRelationships);
+        assertTrue(softwareSystemInstances.isEmpty());
+        assertEquals(2, model.getAfferentRelationships(b).size());
+        assertEquals(1, model.getSoftwareSystemInstances(a).size());
+    }
+
+    @Test
+    void threadSafeMode_AllowsImpliedRelationshipsToBeCreatedWhileRelationshipsAreAdded() throws Exception {
+        model.setThreadSafe(true);
+        model.setImpliedRelationshipsStrategy(new CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy());
+        SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System");
+        for (int i = 0; i < 200; i++) {
+            softwareSystem.addContainer("Container " + i);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> IntStream.range(0, 200).parallel().forEach(i -> {
+                if (i % 10 == 0) {
+                    model.createImpliedRelationships();
+                } else {
+                    Container source = softwareSystem.getContainerWithName("Container " + i);
+                    Container destination = softwareSystem.getContainerWithName("Container " + ((i + 1) % 200));
+                    source.uses(destination, "Uses");
+                }
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(180, model.getRelationships().size());
+    }
+
+    @Test
+    void threadSafeMode_AllowsIndependentSoftwareSystemsToBePopulatedInParallel() throws Exception {
+        model.setThreadSafe(true);
+        model.setImpliedRelationshipsStrategy(new CreateImpliedRelationshipsUnlessAnyRelationshipExistsStrategy());
+        Person user = model.addPerson("User");
+
+        ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+            pool.submit(() -> IntStream.range(0, 16).parallel().forEach(i -> {
+                SoftwareSystem softwareSystem = model.addSoftwareSystem("Software System " + i);
+                Container previous = null;
+                for (int j = 0; j < 50; j++) {
+                    Container container = softwareSystem.addContainer("Container " + j);
+                    if (previous != null) {
+                        previous.uses(container, "Uses");
+                    }
+                    previous = container;
+                }
+                user.uses(previous, "Uses");
+            })).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        // 1 person + 16 software systems + 16 x 50 containers
+        assertEquals(1 + 16 + 800, model.getElements().size());
+        // 16 x (49 container relationships + user->container + user->software system)
+        assertEquals(16 * 51, model.getRelationships().size());
+        assertEquals(16 * 2, user.getRelationships().size());
+
+        Set<String> ids = new HashSet<>();
+        model.getElements().forEach(e -> ids.add(e.getId()));
+        model.getRelationships().forEach(r -> ids.add(r.getId()));
+        assertEquals(817 + 816, ids.size());
+
+        for (Element element : model.getElements()) {
+            assertSame(element, model.getElement(element.getId()));
+            assertSame(element, model.getElementWithCanonicalName(element.getCanonicalName()));
+        }
+    }
+
+}
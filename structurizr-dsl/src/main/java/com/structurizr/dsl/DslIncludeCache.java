@@ -0,0 +1,164 @@
+package com.structurizr.dsl;
+
+import com.structurizr.http.HttpClient;
+import com.structurizr.http.RemoteContent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of files and URLs included via !include, which can be shared between parser instances
+ * (see {@link StructurizrDslParser#setIncludeCache(DslIncludeCache)}), so that parsing a number of workspaces that
+ * include the same DSL fragments doesn't repeatedly read and pre-process those fragments.
+ * This is the recommended way to re-parse a workspace repeatedly (e.g. as it's being edited); each parse creates
+ * a new workspace, but included files and URLs that haven't changed are not read or pre-processed again.
+ *
+ * Files are keyed by canonical path, and are re-read if their last modified date or size changes.
+ * URLs are revalidated with a conditional request (using the ETag and Last-Modified headers, where provided).
+ * Pre-processed lines are keyed by the source and version of the content, along with the indentation
+ * of the !include statement.
+ *
+ * This class is thread-safe.
+ */
+public final class DslIncludeCache {
+
+    private final Map<String, CachedFile> files = new ConcurrentHashMap<>();
+    private final Map<String, RemoteContent> urls = new ConcurrentHashMap<>();
+    private final Map<String, PreProcessedLines> preProcessedLines = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new, empty, include cache.
+     */
+    public DslIncludeCache() {
+    }
+
+    /**
+     * Removes everything from this cache.
+     */
+    public void clear() {
+        files.clear();
+        urls.clear();
+        preProcessedLines.clear();
+    }
+
+    IncludedFile readFile(File file) throws IOException {
+        String source = file.getCanonicalPath();
+        String version = file.lastModified() + ":" + file.length();
+
+        CachedFile cachedFile = files.get(source);
+        if (cachedFile == null || !cachedFile.version.equals(version)) {
+            List<String> lines = Collections.unmodifiableList(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+            cachedFile = new CachedFile(version, lines);
+            files.put(source, cachedFile);
+        }
+
+        return new IncludedFile(file, cachedFile.lines, source, cachedFile.version);
+    }
+
+    IncludedFile readUrl(String url, HttpClient httpClient, File dslFile) {
+        RemoteContent previousContent = urls.get(url);
+        RemoteContent content = httpClient.get(url, previousContent);
+        if (content != previousContent) {
+            urls.put(url, content);
+        }
+
+        List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
+
+        String version;
+        if (content.getETag() != null) {
+            version = "etag:" + content.getETag();
+        } else if (content.getLastModified() != null) {
+            version = "last-modified:" + content.getLastModified();
+        } else {
+            // the content can't be revalidated, so identify it by a digest instead
+            version = "sha-256:" + digest(content.getContentAsString());
+        }
+
+        return new IncludedFile(dslFile, lines, url, version);
+    }
+
+    PreProcessedLines getPreProcessedLines(IncludedFile includedFile, String leadingSpace) {
+        if (includedFile.getSource() == null) {
+            return null;
+        }
+
+        PreProcessedLines lines = preProcessedLines.get(key(includedFile, leadingSpace));
+        if (lines != null && lines.getVersion().equals(includedFile.getVersion())) {
+            return lines;
+        }
+
+        return null;
+    }
+
+    void putPreProcessedLines(IncludedFile includedFile, String leadingSpace, PreProcessedLines lines) {
+        if (includedFile.getSource() != null) {
+            preProcessedLines.put(key(includedFile, leadingSpace), lines);
+        }
+    }
+
+    private String key(IncludedFile includedFile, String leadingSpace) {
+        return includedFile.getSource() + "\u0000" + leadingSpace;
+    }
+
+    private static String digest(String content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class CachedFile {
+
+        private final String version;
+        private final List<String> lines;
+
+        CachedFile(String version, List<String> lines) {
+            this.version = version;
+            this.lines = lines;
+        }
+
+    }
+
+    /**
+     * The result of pre-processing some included lines; i.e. the logical lines of DSL, along with the text blocks
+     * that were extracted from them (which need to be added to each parser that uses these lines).
+     */
+    static final class PreProcessedLines {
+
+        private final String version;
+        private final List<DslLine> lines;
+        private final Map<String, String> textBlocks;
+
+        PreProcessedLines(String version, List<DslLine> lines, Map<String, String> textBlocks) {
+            this.version = version;
+            this.lines = Collections.unmodifiableList(lines);
+            this.textBlocks = Collections.unmodifiableMap(textBlocks);
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        List<DslLine> getLines() {
+            return lines;
+        }
+
+        Map<String, String> getTextBlocks() {
+            return textBlocks;
+        }
+
+    }
+
+}
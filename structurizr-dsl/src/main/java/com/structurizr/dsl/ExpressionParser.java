@@ -191,18 +191,18 @@ class ExpressionParser {
             });
         } else if (expr.toLowerCase().startsWith(ELEMENT_TECHNOLOGY_EQUALS_EXPRESSION.toLowerCase())) {
             String technology = expr.substring(ELEMENT_TECHNOLOGY_EQUALS_EXPRESSION.length());
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).map(e -> (Container)e).filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).map(e -> (Component)e).filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).filter(dn -> technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).map(e -> (InfrastructureNode)e).filter(in -> technology.equals(in.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(c -> technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class).stream().filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class).stream().filter(c -> technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class).stream().filter(dn -> technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class).stream().filter(in -> technology.equals(in.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class).stream().filter(c -> technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
         } else if (expr.toLowerCase().startsWith(ELEMENT_TECHNOLOGY_NOT_EQUALS_EXPRESSION)) {
             String technology = expr.substring(ELEMENT_TECHNOLOGY_NOT_EQUALS_EXPRESSION.length());
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).map(e -> (Container)e).filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).map(e -> (Component)e).filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).map(e -> (DeploymentNode)e).filter(dn -> !technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).map(e -> (InfrastructureNode)e).filter(in -> !technology.equals(in.getTechnology())).collect(Collectors.toSet()));
-            modelItems.addAll(context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).map(e -> (ContainerInstance)e).filter(c -> !technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class).stream().filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class).stream().filter(c -> !technology.equals(c.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class).stream().filter(dn -> !technology.equals(dn.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class).stream().filter(in -> !technology.equals(in.getTechnology())).collect(Collectors.toSet()));
+            modelItems.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class).stream().filter(c -> !technology.equals(c.getContainer().getTechnology())).collect(Collectors.toSet()));
         } else if (expr.matches(ELEMENT_PROPERTY_EQUALS_EXPRESSION)) {
             String propertyName = expr.substring(expr.indexOf("[")+1, expr.indexOf("]"));
             String propertyValue = expr.substring(expr.indexOf("==")+2);
@@ -310,31 +310,31 @@ class ExpressionParser {
         String type = expr.substring(ELEMENT_TYPE_EQUALS_EXPRESSION.length());
         switch (type.toLowerCase()) {
             case "custom":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof CustomElement).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(CustomElement.class));
                 break;
             case "person":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Person).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Person.class));
                 break;
             case "softwaresystem":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystem).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystem.class));
                 break;
             case "container":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Container).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Container.class));
                 break;
             case "component":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof Component).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(Component.class));
                 break;
             case "deploymentnode":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof DeploymentNode).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(DeploymentNode.class));
                 break;
             case "infrastructurenode":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof InfrastructureNode).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(InfrastructureNode.class));
                 break;
             case "softwaresysteminstance":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof SoftwareSystemInstance).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(SoftwareSystemInstance.class));
                 break;
             case "containerinstance":
-                context.getWorkspace().getModel().getElements().stream().filter(e -> e instanceof ContainerInstance).forEach(elements::add);
+                elements.addAll(context.getWorkspace().getModel().getElementsOfType(ContainerInstance.class));
                 break;
         }
 
@@ -398,8 +398,7 @@ class ExpressionParser {
     protected <T extends Element> Set<Element> findAfferentCouplings(Element element, Class<T> typeOfElement) {
         Set<Element> elements = new LinkedHashSet<>();
 
-        Set<Relationship> relationships = element.getModel().getRelationships();
-        relationships.stream().filter(r -> r.getDestination().equals(element) && typeOfElement.isInstance(r.getSource()))
+        element.getModel().getAfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getSource()))
                 .map(Relationship::getSource)
                 .forEach(elements::add);
 
@@ -413,8 +412,7 @@ class ExpressionParser {
     protected <T extends Element> Set<Element> findEfferentCouplings(Element element, Class<T> typeOfElement) {
         Set<Element> elements = new LinkedHashSet<>();
 
-        Set<Relationship> relationships = element.getModel().getRelationships();
-        relationships.stream().filter(r -> r.getSource().equals(element) && typeOfElement.isInstance(r.getDestination()))
+        element.getModel().getEfferentRelationships(element).stream().filter(r -> typeOfElement.isInstance(r.getDestination()))
                 .map(Relationship::getDestination)
                 .forEach(elements::add);
 
@@ -6,6 +6,7 @@ import com.structurizr.model.Relationship;
 import com.structurizr.util.StringUtils;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -13,10 +14,14 @@ import java.util.regex.Pattern;
 
 /**
  * A register of elements and relationships that were created with an identifier in the DSL.
+ *
+ * Identifiers are case-insensitive, so elements and relationships are also indexed by a normalised (lower case)
+ * version of their identifier, along with reverse indexes from element/relationship to identifier.
  */
 public class IdentifiersRegister {
 
     private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("\\w[a-zA-Z0-9_-]*");
+    private static final Pattern UUID_PATTERN = Pattern.compile("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}");
 
     private IdentifierScope identifierScope = IdentifierScope.Flat;
 
@@ -24,6 +29,14 @@ public class IdentifiersRegister {
 
     private final Map<String, Relationship> relationshipsByIdentifier = new HashMap<>();
 
+    private final Map<String, Element> elementsByNormalisedIdentifier = new HashMap<>();
+
+    private final Map<String, Relationship> relationshipsByNormalisedIdentifier = new HashMap<>();
+
+    private final Map<Element, String> identifiersByElement = new HashMap<>();
+
+    private final Map<Relationship, String> identifiersByRelationship = new HashMap<>();
+
     IdentifiersRegister() {
     }
 
@@ -70,13 +83,11 @@ public class IdentifiersRegister {
      * @return                  an Element, or null if one doesn't exist
      */
     public Element getElement(String identifier) {
-        for (String key : elementsByIdentifier.keySet()) {
-            if (key.equalsIgnoreCase(identifier)) {
-                return elementsByIdentifier.get(key);
-            }
+        if (identifier == null) {
+            return null;
         }
 
-        return null;
+        return elementsByNormalisedIdentifier.get(normalise(identifier));
     }
 
     /**
@@ -99,15 +110,12 @@ public class IdentifiersRegister {
         }
 
         // check whether this element has already been registered with another identifier
-        for (String id : elementsByIdentifier.keySet()) {
-            Element e = elementsByIdentifier.get(id);
-
-            if (e.equals(element) && !id.equalsIgnoreCase(identifier)) {
-                if (id.matches("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}")) {
-                    throw new RuntimeException("Please assign an identifier to \"" + element.getCanonicalName() + "\" before using it");
-                } else {
-                    throw new RuntimeException("The element is already registered with an identifier of \"" + id + "\"");
-                }
+        String id = identifiersByElement.get(element);
+        if (id != null && !id.equalsIgnoreCase(identifier)) {
+            if (UUID_PATTERN.matcher(id).matches()) {
+                throw new RuntimeException("Please assign an identifier to \"" + element.getCanonicalName() + "\" before using it");
+            } else {
+                throw new RuntimeException("The element is already registered with an identifier of \"" + id + "\"");
             }
         }
 
@@ -116,6 +124,8 @@ public class IdentifiersRegister {
 
         if ((e == null && r == null) || (e == element)) {
             elementsByIdentifier.put(identifier, element);
+            elementsByNormalisedIdentifier.put(normalise(identifier), element);
+            identifiersByElement.putIfAbsent(element, identifier);
         } else {
             throw new RuntimeException("The identifier \"" + identifier + "\" is already in use");
         }
@@ -128,13 +138,11 @@ public class IdentifiersRegister {
      * @return                  a Relationship, or null if one doesn't exist
      */
     public Relationship getRelationship(String identifier) {
-        for (String key : relationshipsByIdentifier.keySet()) {
-            if (key.equalsIgnoreCase(identifier)) {
-                return relationshipsByIdentifier.get(key);
-            }
+        if (identifier == null) {
+            return null;
         }
 
-        return null;
+        return relationshipsByNormalisedIdentifier.get(normalise(identifier));
     }
 
     /**
@@ -153,15 +161,12 @@ public class IdentifiersRegister {
         }
 
         // check whether this relationship has already been registered with another identifier
-        for (String id : relationshipsByIdentifier.keySet()) {
-            Relationship r = relationshipsByIdentifier.get(id);
-
-            if (r.equals(relationship) && !id.equalsIgnoreCase(identifier)) {
-                if (id.matches("[a-f0-9]{8}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{4}-[a-f0-9]{12}")) {
-                    throw new RuntimeException("Please assign an identifier to \"" + relationship.getCanonicalName() + "\" before using it");
-                } else {
-                    throw new RuntimeException("The relationship is already registered with an identifier of \"" + id + "\"");
-                }
+        String id = identifiersByRelationship.get(relationship);
+        if (id != null && !id.equalsIgnoreCase(identifier)) {
+            if (UUID_PATTERN.matcher(id).matches()) {
+                throw new RuntimeException("Please assign an identifier to \"" + relationship.getCanonicalName() + "\" before using it");
+            } else {
+                throw new RuntimeException("The relationship is already registered with an identifier of \"" + id + "\"");
             }
         }
 
@@ -170,6 +175,8 @@ public class IdentifiersRegister {
 
         if ((e == null && r == null) || (r == relationship)) {
             relationshipsByIdentifier.put(identifier, relationship);
+            relationshipsByNormalisedIdentifier.put(normalise(identifier), relationship);
+            identifiersByRelationship.putIfAbsent(relationship, identifier);
         } else {
             throw new RuntimeException("The identifier \"" + identifier + "\" is already in use");
         }
@@ -195,17 +202,7 @@ public class IdentifiersRegister {
      * @return  a String identifier (could be null if no identifier was explicitly specified)
      */
     public String findIdentifier(Element element) {
-        if (elementsByIdentifier.containsValue(element)) {
-            for (String identifier : elementsByIdentifier.keySet()) {
-                Element e = elementsByIdentifier.get(identifier);
-
-                if (e.equals(element)) {
-                    return identifier;
-                }
-            }
-        }
-
-        return null;
+        return identifiersByElement.get(element);
     }
 
     /**
@@ -215,17 +212,11 @@ public class IdentifiersRegister {
      * @return  a String identifier (could be null if no identifier was explicitly specified, or for implied relationships)
      */
     public String findIdentifier(Relationship relationship) {
-        if (relationshipsByIdentifier.containsValue(relationship)) {
-            for (String identifier : relationshipsByIdentifier.keySet()) {
-                Relationship r = relationshipsByIdentifier.get(identifier);
-
-                if (r.equals(relationship)) {
-                    return identifier;
-                }
-            }
-        }
+        return identifiersByRelationship.get(relationship);
+    }
 
-        return null;
+    private static String normalise(String identifier) {
+        return identifier.toLowerCase(Locale.ROOT);
     }
 
     void validateIdentifierName(String identifier) {
@@ -11,6 +11,10 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 final class IncludeParser extends AbstractParser {
 
@@ -18,6 +22,18 @@ final class IncludeParser extends AbstractParser {
 
     private static final int SOURCE_INDEX = 1;
 
+    private final DslIncludeCache includeCache;
+    private final Executor executor;
+
+    IncludeParser() {
+        this(null, null);
+    }
+
+    IncludeParser(DslIncludeCache includeCache, Executor executor) {
+        this.includeCache = includeCache;
+        this.executor = executor;
+    }
+
     List<IncludedFile> parse(DslContext context, File dslFile, Tokens tokens) {
         // !include <file|directory|url>
 
@@ -38,17 +54,13 @@ final class IncludeParser extends AbstractParser {
         String source = tokens.get(SOURCE_INDEX);
         if (Url.isHttpsUrl(source)) {
             if (context.getFeatures().isEnabled(Features.HTTPS)) {
-                RemoteContent content = context.getHttpClient().get(source);
-                List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
-                includedFiles.add(new IncludedFile(dslFile, lines));
+                includedFiles.add(readUrl(context, dslFile, source));
             } else {
                 throw new FeatureNotEnabledException(Features.HTTPS, "Includes via HTTPS are not permitted");
             }
         } else if (Url.isHttpUrl(source)) {
             if (context.getFeatures().isEnabled(Features.HTTP)) {
-                RemoteContent content = context.getHttpClient().get(source);
-                List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
-                includedFiles.add(new IncludedFile(dslFile, lines));
+                includedFiles.add(readUrl(context, dslFile, source));
             } else {
                 throw new FeatureNotEnabledException(Features.HTTP, "Includes via HTTP are not permitted");
             }
@@ -76,32 +88,112 @@ final class IncludeParser extends AbstractParser {
         return includedFiles;
     }
 
-    private List<IncludedFile> readFiles(File path) throws IOException {
-        List<IncludedFile> includedFiles = new ArrayList<>();
+    private IncludedFile readUrl(DslContext context, File dslFile, String url) {
+        if (includeCache != null) {
+            return includeCache.readUrl(url, context.getHttpClient(), dslFile);
+        }
+
+        RemoteContent content = context.getHttpClient().get(url);
+        List<String> lines = Arrays.asList(content.getContentAsString().split("\n"));
+
+        return new IncludedFile(dslFile, lines);
+    }
+
+    private List<IncludedFile> readFiles(File path) {
+        List<File> files = new ArrayList<>();
+        findFiles(path, files);
+
+        if (files.size() == 1) {
+            return List.of(readFile(files.get(0)));
+        }
+
+        // read the files in parallel (if there's an executor), but return them in their original (sorted) order
+        List<CompletableFuture<IncludedFile>> futures = new ArrayList<>();
+        try {
+            for (File file : files) {
+                futures.add(supply(() -> readFile(file), executor));
+            }
+
+            List<IncludedFile> includedFiles = new ArrayList<>();
+            for (CompletableFuture<IncludedFile> future : futures) {
+                includedFiles.add(join(future));
+            }
+
+            return includedFiles;
+        } finally {
+            // there's no point reading the remaining files if one of them can't be read
+            cancel(futures);
+        }
+    }
 
+    private void findFiles(File path, List<File> files) {
         if (path.isHidden() || path.getName().startsWith(".")) {
             // ignore
-            return includedFiles;
+            return;
         }
 
         if (path.isDirectory()) {
-            File[] files = path.listFiles();
-            if (files != null) {
-                Arrays.sort(files);
+            File[] children = path.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
 
-                for (File file : files) {
-                    includedFiles.addAll(readFiles(file));
+                for (File child : children) {
+                    findFiles(child, files);
                 }
             }
         } else {
-            try {
-                includedFiles.add(new IncludedFile(path, Files.readAllLines(path.toPath(), StandardCharsets.UTF_8)));
-            } catch (IOException e) {
-                throw new RuntimeException("Error reading file at " + path.getAbsolutePath() + ": " + e.getMessage());
+            files.add(path);
+        }
+    }
+
+    private IncludedFile readFile(File file) {
+        try {
+            if (includeCache != null) {
+                return includeCache.readFile(file);
+            } else {
+                return new IncludedFile(file, Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
             }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading file at " + file.getAbsolutePath() + ": " + e.getMessage());
         }
+    }
 
-        return includedFiles;
+    /**
+     * Runs some work using the given executor or, if there isn't one, immediately on the current thread.
+     */
+    static <T> CompletableFuture<T> supply(Supplier<T> supplier, Executor executor) {
+        if (executor != null) {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } else {
+            return CompletableFuture.completedFuture(supplier.get());
+        }
+    }
+
+    /**
+     * Cancels any work that hasn't completed yet; work that has already started is allowed to finish,
+     * but its result is ignored.
+     */
+    static void cancel(List<? extends CompletableFuture<?>> futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Waits for the result of some asynchronous work, rethrowing any runtime exception as-is.
+     */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+
+            throw e;
+        }
     }
 
 }
\ No newline at end of file
@@ -7,10 +7,18 @@ final class IncludedFile {
 
     private final File file;
     private final List<String> lines;
+    private final String source;
+    private final String version;
 
     IncludedFile(File file, List<String> lines) {
+        this(file, lines, null, null);
+    }
+
+    IncludedFile(File file, List<String> lines, String source, String version) {
         this.file = file;
         this.lines = lines;
+        this.source = source;
+        this.version = version;
     }
 
     List<String> getLines() {
@@ -21,4 +29,18 @@ final class IncludedFile {
         return file;
     }
 
-}
\ No newline at end of file
+    /**
+     * Gets the canonical path or URL that the lines were included from, if they can be cached.
+     */
+    String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets a string that identifies the version of the lines (e.g. the last modified date and size of a file).
+     */
+    String getVersion() {
+        return version;
+    }
+
+}
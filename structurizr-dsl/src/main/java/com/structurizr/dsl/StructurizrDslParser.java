@@ -16,9 +16,14 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Main DSL parser class - forms the API for using the parser.
@@ -29,9 +34,6 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
 
     private static final String BOM = "\uFEFF";
 
-    private static final Pattern EMPTY_LINE_PATTERN = Pattern.compile("^\\s*");
-
-    private static final Pattern COMMENT_PATTERN = Pattern.compile("^\\s*?(//|#).*$");
     private static final String MULTI_LINE_COMMENT_START_TOKEN = "/*";
     private static final String MULTI_LINE_COMMENT_END_TOKEN = "*/";
     private static final String MULTI_LINE_SEPARATOR = "\\";
@@ -39,9 +41,14 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
 
     private static final Pattern STRING_SUBSTITUTION_PATTERN = Pattern.compile("(\\$\\{[a-zA-Z0-9-_.]+?})");
     private static final String STRING_SUBSTITUTION_TEMPLATE = "${%s}";
+    private static final String STRING_SUBSTITUTION_START = "${";
 
     private static final String STRUCTURIZR_DSL_IDENTIFIER_PROPERTY_NAME = "structurizr.dsl.identifier";
 
+    private static final int MAXIMUM_INCLUDE_THREADS = 4;
+    private static final int INCLUDE_THREAD_TIMEOUT = 60; // seconds
+    private static final Executor DEFAULT_INCLUDE_EXECUTOR = createDefaultIncludeExecutor();
+
     private Charset characterEncoding = StandardCharsets.UTF_8;
     private IdentifierScope identifierScope = IdentifierScope.Flat;
     private final Stack<DslContext> contextStack;
@@ -50,6 +57,8 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
     private Map<String, NameValuePair> constantsAndVariables;
     private Features features = new Features();
     private HttpClient httpClient = new HttpClient();
+    private DslIncludeCache includeCache;
+    private Executor includeExecutor = DEFAULT_INCLUDE_EXECUTOR;
 
     private Map<String,Map<String,Archetype>> archetypes = Map.of(
             StructurizrDslTokens.GROUP_TOKEN, new HashMap<>(),
@@ -95,6 +104,34 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         setIdentifierScope(parser.getIdentifierScope());
         archetypes = parser.archetypes;
         constantsAndVariables = parser.constantsAndVariables;
+        includeCache = parser.includeCache;
+        includeExecutor = parser.includeExecutor;
+    }
+
+    /**
+     * Creates the executor used (by default) to read and pre-process included files; this is a small pool of
+     * daemon threads shared by all parser instances, rather than the common fork/join pool, since the work
+     * blocks on I/O.
+     */
+    private static Executor createDefaultIncludeExecutor() {
+        int numberOfThreads = Math.min(MAXIMUM_INCLUDE_THREADS, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                numberOfThreads,
+                numberOfThreads,
+                INCLUDE_THREAD_TIMEOUT,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "structurizr-dsl-include-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        // idle threads are stopped, so that the pool doesn't keep threads around between parses
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
     }
 
     /**
@@ -110,6 +147,28 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         this.characterEncoding = characterEncoding;
     }
 
+    /**
+     * Sets the cache used for files and URLs included via !include; the same cache can be shared between parser
+     * instances, so that DSL fragments included by a number of workspaces are only read and pre-processed once.
+     * This is also the way to speed up parsing the same workspace repeatedly (e.g. after every change in an editor),
+     * since unchanged included files don't need to be read and pre-processed again.
+     *
+     * @param includeCache      a DslIncludeCache instance, or null to not cache included files and URLs
+     */
+    public void setIncludeCache(DslIncludeCache includeCache) {
+        this.includeCache = includeCache;
+    }
+
+    /**
+     * Sets the executor used to read and pre-process the files included from a directory via !include, in parallel.
+     * By default, a small pool of threads shared by all parser instances is used.
+     *
+     * @param includeExecutor   an Executor, or null to read and pre-process included files sequentially
+     */
+    public void setIncludeExecutor(Executor includeExecutor) {
+        this.includeExecutor = includeExecutor;
+    }
+
     IdentifierScope getIdentifierScope() {
         return identifierScope;
     }
@@ -241,8 +300,14 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
             dslSourceLines.addAll(lines);
         }
 
-        List<DslLine> dslLines = preProcessLines(lines);
+        Map<String, String> textBlocks = new HashMap<>();
+        List<DslLine> dslLines = preProcessLines(lines, textBlocks);
+        addTextBlocks(textBlocks);
+
+        parseDslLines(dslLines, dslFile, fragment);
+    }
 
+    private void parseDslLines(List<DslLine> dslLines, File dslFile, boolean fragment) throws StructurizrDslParserException {
         for (DslLine dslLine : dslLines) {
             String line = dslLine.getSource();
 
@@ -252,9 +317,9 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
             }
 
             try {
-                if (EMPTY_LINE_PATTERN.matcher(line).matches()) {
+                if (Tokenizer.isEmpty(line)) {
                     // do nothing
-                } else if (COMMENT_PATTERN.matcher(line).matches()) {
+                } else if (Tokenizer.isComment(line)) {
                     // do nothing
                 } else if (inContext(InlineScriptDslContext.class)) {
                     if (DslContext.CONTEXT_END_TOKEN.equals(line.trim())) {
@@ -264,7 +329,9 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                     }
                 } else {
                     List<String> listOfTokens = new Tokenizer().tokenize(line);
-                    listOfTokens = listOfTokens.stream().map(this::substituteStrings).collect(Collectors.toList());
+                    for (int i = 0; i < listOfTokens.size(); i++) {
+                        listOfTokens.set(i, substituteStrings(listOfTokens.get(i)));
+                    }
 
                     Tokens tokens = new Tokens(listOfTokens);
 
@@ -295,18 +362,24 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                     } else if (INCLUDE_FILE_TOKEN.equalsIgnoreCase(firstToken)) {
                         String leadingSpace = line.substring(0, line.indexOf(INCLUDE_FILE_TOKEN));
 
-                        List<IncludedFile> files = new IncludeParser().parse(getContext(), dslFile, tokens);
-                        for (IncludedFile includedFile : files) {
-                            List<String> paddedLines = new ArrayList<>();
-                            for (String unpaddedLine : includedFile.getLines()) {
-                                if (unpaddedLine.startsWith(BOM)) {
-                                    // this caters for files encoded as "UTF-8 with BOM"
-                                    unpaddedLine = unpaddedLine.substring(1);
-                                }
-                                paddedLines.add(leadingSpace + unpaddedLine);
+                        List<IncludedFile> files = new IncludeParser(includeCache, includeExecutor).parse(getContext(), dslFile, tokens);
+                        List<CompletableFuture<DslIncludeCache.PreProcessedLines>> preProcessedFiles = new ArrayList<>();
+                        try {
+                            if (files.size() > 1 && includeExecutor != null) {
+                                preProcessIncludedFiles(files, leadingSpace, preProcessedFiles);
                             }
 
-                            parse(paddedLines, includedFile.getFile(), true, false);
+                            for (int i = 0; i < files.size(); i++) {
+                                IncludedFile includedFile = files.get(i);
+                                DslIncludeCache.PreProcessedLines preProcessedLines = preProcessedFiles.isEmpty() ?
+                                        preProcessIncludedFile(includedFile, leadingSpace) : IncludeParser.join(preProcessedFiles.get(i));
+
+                                addTextBlocks(preProcessedLines.getTextBlocks());
+                                parseDslLines(preProcessedLines.getLines(), includedFile.getFile(), true);
+                            }
+                        } finally {
+                            // the remaining files don't need to be pre-processed if an earlier file fails to parse
+                            IncludeParser.cancel(preProcessedFiles);
                         }
 
                     } else if (PLUGIN_TOKEN.equalsIgnoreCase(firstToken)) {
@@ -1308,7 +1381,45 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         }
     }
 
-    private List<DslLine> preProcessLines(List<String> lines) {
+    /**
+     * Pre-processes the included files in parallel, since this doesn't depend upon the state of the parser.
+     * The lines of each file still need to be parsed sequentially, in the original order.
+     */
+    private void preProcessIncludedFiles(List<IncludedFile> includedFiles, String leadingSpace, List<CompletableFuture<DslIncludeCache.PreProcessedLines>> futures) {
+        for (IncludedFile includedFile : includedFiles) {
+            futures.add(CompletableFuture.supplyAsync(() -> preProcessIncludedFile(includedFile, leadingSpace), includeExecutor));
+        }
+    }
+
+    private DslIncludeCache.PreProcessedLines preProcessIncludedFile(IncludedFile includedFile, String leadingSpace) {
+        DslIncludeCache.PreProcessedLines preProcessedLines = null;
+        if (includeCache != null) {
+            preProcessedLines = includeCache.getPreProcessedLines(includedFile, leadingSpace);
+        }
+
+        if (preProcessedLines == null) {
+            List<String> paddedLines = new ArrayList<>();
+            for (String unpaddedLine : includedFile.getLines()) {
+                if (unpaddedLine.startsWith(BOM)) {
+                    // this caters for files encoded as "UTF-8 with BOM"
+                    unpaddedLine = unpaddedLine.substring(1);
+                }
+                paddedLines.add(leadingSpace + unpaddedLine);
+            }
+
+            Map<String, String> textBlocks = new HashMap<>();
+            List<DslLine> dslLines = preProcessLines(paddedLines, textBlocks);
+            preProcessedLines = new DslIncludeCache.PreProcessedLines(includedFile.getVersion(), dslLines, textBlocks);
+
+            if (includeCache != null) {
+                includeCache.putPreProcessedLines(includedFile, leadingSpace, preProcessedLines);
+            }
+        }
+
+        return preProcessedLines;
+    }
+
+    private List<DslLine> preProcessLines(List<String> lines, Map<String, String> textBlocks) {
         List<DslLine> dslLines = new ArrayList<>();
 
         int lineNumber = 1;
@@ -1342,20 +1453,21 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                         buf.append("\n");
                     }
                 }
-            } else if (!COMMENT_PATTERN.matcher(line).matches() && line.endsWith(MULTI_LINE_SEPARATOR)) {
+            } else if (line.endsWith(MULTI_LINE_SEPARATOR) && !Tokenizer.isComment(line)) {
                 buf.append(line, 0, line.length() - 1);
                 lineComplete = false;
-            } else if (!COMMENT_PATTERN.matcher(line).matches() && line.endsWith(TEXT_BLOCK_MARKER)) {
+            } else if (line.endsWith(TEXT_BLOCK_MARKER) && !Tokenizer.isComment(line)) {
                 buf.append(line, 0, line.length());
                 lineComplete = false;
                 textBlock = true;
+            } else if (lineComplete) {
+                // the common case of a single, complete line doesn't need to be copied
+                dslLines.add(new DslLine(line, lineNumber));
+                lineNumber++;
+                continue;
             } else {
-                if (lineComplete) {
-                    buf.append(line);
-                } else {
-                    buf.append(line.stripLeading());
-                    lineComplete = true;
-                }
+                buf.append(line.stripLeading());
+                lineComplete = true;
             }
 
             if (lineComplete) {
@@ -1367,13 +1479,13 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
                     String[] parts = source.split(TEXT_BLOCK_MARKER);
                     String textBlockName = UUID.randomUUID().toString();
                     String textBlockValue = parts[1].substring(0, parts[1].length() - 1); // remove final line break
-                    addTextBlock(textBlockName, textBlockValue);
+                    textBlocks.put(textBlockName, textBlockValue);
                     dslLines.add(new DslLine(parts[0] + "\"" + String.format(STRING_SUBSTITUTION_TEMPLATE, textBlockName) + "\"", lineNumber));
                 } else {
                     dslLines.add(new DslLine(source, lineNumber));
                 }
 
-                buf = new StringBuilder();
+                buf.setLength(0);
             }
 
             lineNumber++;
@@ -1383,6 +1495,10 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
     }
 
     private String substituteStrings(String token) {
+        if (!token.contains(STRING_SUBSTITUTION_START)) {
+            return token;
+        }
+
         Matcher m = STRING_SUBSTITUTION_PATTERN.matcher(token);
         while (m.find()) {
             String before = m.group(0);
@@ -1591,6 +1707,15 @@ public final class StructurizrDslParser extends StructurizrDslTokens {
         constantsAndVariables.put(nameValuePair.getName(), nameValuePair);
     }
 
+    private void addTextBlocks(Map<String, String> textBlocks) {
+        for (Map.Entry<String, String> textBlock : textBlocks.entrySet()) {
+            // text blocks from cached pre-processed lines may have already been added, if the same file is included more than once
+            if (!constantsAndVariables.containsKey(textBlock.getKey())) {
+                addTextBlock(textBlock.getKey(), textBlock.getValue());
+            }
+        }
+    }
+
     private void addTextBlock(String name, String value) {
         if (StringUtils.isNullOrEmpty(name)) {
             throw new IllegalArgumentException("A text block name must be specified");
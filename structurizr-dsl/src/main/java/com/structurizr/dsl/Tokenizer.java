@@ -3,56 +3,120 @@ package com.structurizr.dsl;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Splits a line of DSL into tokens, and classifies lines (empty lines and single line comments),
+ * in a single pass over the characters of the line.
+ *
+ * Tokens are always contiguous regions of the line (escaped double quotes are retained as-is),
+ * so each token is created with a single substring, rather than being built up character by character.
+ */
 class Tokenizer {
 
+    private static final char DOUBLE_QUOTE = '"';
+    private static final char ESCAPE = '\\';
+
     List<String> tokenize(String line) {
         List<String> tokens = new ArrayList<>();
-        line = line.trim();
+
+        // equivalent to line.trim(), without creating a new string
+        int start = 0;
+        int end = line.length();
+        while (start < end && line.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
+        }
 
         boolean tokenStarted = false;
         boolean quoted = false;
-        StringBuilder token = new StringBuilder();
+        int tokenStart = 0;
 
-        for (int i = 0; i < line.length(); i++) {
+        for (int i = start; i < end; i++) {
             char c = line.charAt(i);
 
             if (!tokenStarted) {
-                if (c == '"') {
+                if (c == DOUBLE_QUOTE) {
                     quoted = true;
                     tokenStarted = true;
-                    token = new StringBuilder();
-                } else if (Character.isWhitespace(c)) {
-                    // skip
-                } else {
+                    tokenStart = i + 1;
+                } else if (!Character.isWhitespace(c)) {
                     quoted = false;
                     tokenStarted = true;
-                    token = new StringBuilder();
-                    token.append(c);
-                }
-            } else {
-                if (c == '"' && line.charAt(i-1) == '\\') {
-                    // escaped quote
-                    token.append(c);
-                } else if (quoted && c == '"') {
-                    // this is the end of the token
-                    tokens.add(token.toString());
-                    tokenStarted = false;
-                    quoted = false;
-                } else if (!quoted && Character.isWhitespace(c)) {
-                    tokens.add(token.toString());
-                    tokenStarted = false;
-                    quoted = false;
-                } else {
-                    token.append(c);
+                    tokenStart = i;
                 }
+            } else if (c == DOUBLE_QUOTE && line.charAt(i - 1) == ESCAPE) {
+                // escaped quote, which is part of the token
+            } else if (quoted && c == DOUBLE_QUOTE) {
+                // this is the end of the token
+                tokens.add(line.substring(tokenStart, i));
+                tokenStarted = false;
+                quoted = false;
+            } else if (!quoted && Character.isWhitespace(c)) {
+                tokens.add(line.substring(tokenStart, i));
+                tokenStarted = false;
             }
         }
 
         if (tokenStarted) {
-            tokens.add(token.toString());
+            tokens.add(line.substring(tokenStart, end));
         }
 
         return tokens;
     }
 
-}
\ No newline at end of file
+    /**
+     * Determines whether a line is empty (i.e. contains only whitespace).
+     */
+    static boolean isEmpty(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (!isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Determines whether a line is a single line comment (i.e. starts with // or #, ignoring leading whitespace).
+     */
+    static boolean isComment(String line) {
+        int i = 0;
+        while (i < line.length() && isWhitespace(line.charAt(i))) {
+            i++;
+        }
+
+        if (line.startsWith("//", i)) {
+            i += 2;
+        } else if (line.startsWith("#", i)) {
+            i += 1;
+        } else {
+            return false;
+        }
+
+        // the remainder of the comment cannot span multiple lines
+        for (; i < line.length(); i++) {
+            if (isLineTerminator(line.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The set of characters matched by \s in a regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * The set of characters not matched by . in a regular expression.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.structurizr.dsl;
+
+import com.structurizr.Workspace;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DslIncludeCacheTests extends AbstractTests {
+
+    private final DslIncludeCache includeCache = new DslIncludeCache();
+
+    @Test
+    void test_includeLocalFile_WhenTheCacheIsSharedByParsers() throws Exception {
+        File directory = Files.createTempDirectory("structurizr").toFile();
+        File workspaceFile = write(new File(directory, "workspace.dsl"), "workspace {\n    model {\n        !include model.dsl\n    }\n}");
+        File modelFile = write(new File(directory, "model.dsl"), "a = softwareSystem \"A\"");
+
+        assertNotNull(parse(workspaceFile).getModel().getSoftwareSystemWithName("A"));
+        assertNotNull(parse(workspaceFile).getModel().getSoftwareSystemWithName("A"));
+
+        // the included file is re-read when it changes
+        write(modelFile, "b = softwareSystem \"Software System B\"");
+        Workspace workspace = parse(workspaceFile);
+        assertNull(workspace.getModel().getSoftwareSystemWithName("A"));
+        assertNotNull(workspace.getModel().getSoftwareSystemWithName("Software System B"));
+    }
+
+    @Test
+    void test_includeLocalFile_WhenTheSameFileWithATextBlockIsIncludedMoreThanOnce() throws Exception {
+        File directory = Files.createTempDirectory("structurizr").toFile();
+        File workspaceFile = write(new File(directory, "workspace.dsl"),
+                "workspace {\n" +
+                "    model {\n" +
+                "        a = softwareSystem \"A\" {\n" +
+                "            !include description.dsl\n" +
+                "        }\n" +
+                "        b = softwareSystem \"B\" {\n" +
+                "            !include description.dsl\n" +
+                "        }\n" +
+                "    }\n" +
+                "}");
+        write(new File(directory, "description.dsl"), "description \"\"\"\n    Line 1\n    Line 2\n    \"\"\"");
+
+        for (int i = 0; i < 2; i++) {
+            Workspace workspace = parse(workspaceFile);
+            assertEquals("Line 1\nLine 2", workspace.getModel().getSoftwareSystemWithName("A").getDescription());
+            assertEquals("Line 1\nLine 2", workspace.getModel().getSoftwareSystemWithName("B").getDescription());
+        }
+    }
+
+    @Test
+    void test_includeUrl_RevalidatesTheCachedContent() throws Exception {
+        List<String> responses = new ArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/model.dsl", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                responses.add("304");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                responses.add("200");
+                byte[] content = "a = softwareSystem \"A\"".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, content.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(content);
+                }
+            }
+        });
+        server.start();
+
+        try {
+            String dsl = "workspace {\n    model {\n        !include http://localhost:" + server.getAddress().getPort() + "/model.dsl\n    }\n}";
+
+            for (int i = 0; i < 2; i++) {
+                StructurizrDslParser parser = new StructurizrDslParser();
+                parser.setIncludeCache(includeCache);
+                parser.getHttpClient().allow(".*");
+                parser.parse(dsl);
+
+                assertNotNull(parser.getWorkspace().getModel().getSoftwareSystemWithName("A"));
+            }
+
+            assertEquals(List.of("200", "304"), responses);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private Workspace parse(File file) throws Exception {
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.setIncludeCache(includeCache);
+        parser.parse(file);
+
+        return parser.getWorkspace();
+    }
+
+    private File write(File file, String content) throws Exception {
+        Files.writeString(file.toPath(), content);
+        return file;
+    }
+
+}
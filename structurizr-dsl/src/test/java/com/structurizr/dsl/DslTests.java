@@ -370,6 +370,120 @@ class DslTests extends AbstractTests {
         parser.parse(new File("src/test/resources/dsl/include-directory.dsl"));
     }
 
+    @Test
+    void test_includeLocalDirectory_WhenThereAreManyFiles() throws Exception {
+        File directory = Files.createTempDirectory("structurizr").toFile();
+        File modelDirectory = new File(directory, "model");
+        assertTrue(modelDirectory.mkdir());
+
+        // each file refers to the software system defined in the previous file, so must be parsed in order
+        for (int i = 1; i <= 200; i++) {
+            StringBuilder dsl = new StringBuilder();
+            dsl.append(String.format("s%03d = softwareSystem \"Software System %d\" {\n", i, i));
+            dsl.append("    description \"\"\"\n");
+            dsl.append(String.format("        Description %d\n", i));
+            dsl.append("        \"\"\"\n");
+            dsl.append("}\n");
+            if (i > 1) {
+                dsl.append(String.format("s%03d -> s%03d \"Uses\"\n", i, i - 1));
+            }
+
+            Files.writeString(new File(modelDirectory, String.format("%03d.dsl", i)).toPath(), dsl.toString());
+        }
+
+        File workspaceFile = new File(directory, "workspace.dsl");
+        Files.writeString(workspaceFile.toPath(), "workspace {\n    model {\n        !include model\n    }\n}");
+
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.parse(workspaceFile);
+
+        Model model = parser.getWorkspace().getModel();
+        assertEquals(200, model.getSoftwareSystems().size());
+        assertEquals(199, model.getRelationships().size());
+
+        SoftwareSystem previousSoftwareSystem = null;
+        for (int i = 1; i <= 200; i++) {
+            SoftwareSystem softwareSystem = model.getSoftwareSystemWithName("Software System " + i);
+            assertEquals("Description " + i, softwareSystem.getDescription());
+
+            if (previousSoftwareSystem != null) {
+                // IDs are allocated in the order the files were parsed
+                assertTrue(Integer.parseInt(softwareSystem.getId()) > Integer.parseInt(previousSoftwareSystem.getId()));
+                assertTrue(softwareSystem.hasEfferentRelationshipWith(previousSoftwareSystem));
+            }
+            previousSoftwareSystem = softwareSystem;
+        }
+    }
+
+    @Test
+    void test_includeLocalDirectory_WhenTheIncludeExecutorIsSpecified() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.setIncludeExecutor(task -> {
+            tasks.add(task);
+            task.run();
+        });
+        parser.parse(createWorkspaceWithIncludedDirectory("a = softwareSystem \"A\"", "b = softwareSystem \"B\"", "c = softwareSystem \"C\""));
+
+        assertEquals(3, parser.getWorkspace().getModel().getSoftwareSystems().size());
+        assertEquals(6, tasks.size()); // 3 files to read, and 3 to pre-process
+    }
+
+    @Test
+    void test_includeLocalDirectory_WhenTheIncludeExecutorIsNull() throws Exception {
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.setIncludeExecutor(null);
+        parser.parse(createWorkspaceWithIncludedDirectory("a = softwareSystem \"A\"", "b = softwareSystem \"B\"", "c = softwareSystem \"C\""));
+
+        assertEquals(3, parser.getWorkspace().getModel().getSoftwareSystems().size());
+    }
+
+    @Test
+    void test_includeLocalDirectory_CancelsThePreProcessingOfTheRemainingFiles_WhenAFileCannotBeParsed() throws Exception {
+        File workspaceFile = createWorkspaceWithIncludedDirectory("a = softwareSystem", "b = softwareSystem \"B\"", "c = softwareSystem \"C\"");
+        DslIncludeCache includeCache = new DslIncludeCache();
+
+        // the files are read, and the first file is pre-processed, but the other files are held until after parsing
+        List<Runnable> heldTasks = new ArrayList<>();
+        StructurizrDslParser parser = new StructurizrDslParser();
+        parser.setIncludeCache(includeCache);
+        parser.setIncludeExecutor(task -> {
+            if (heldTasks.size() < 4) {
+                task.run();
+            }
+            heldTasks.add(task);
+        });
+
+        try {
+            parser.parse(workspaceFile);
+            fail();
+        } catch (StructurizrDslParserException e) {
+            // expected
+        }
+
+        heldTasks.subList(4, heldTasks.size()).forEach(Runnable::run);
+        File modelDirectory = new File(workspaceFile.getParentFile(), "model");
+        String leadingSpace = "        ";
+        assertNotNull(includeCache.getPreProcessedLines(includeCache.readFile(new File(modelDirectory, "1.dsl")), leadingSpace));
+        assertNull(includeCache.getPreProcessedLines(includeCache.readFile(new File(modelDirectory, "2.dsl")), leadingSpace));
+        assertNull(includeCache.getPreProcessedLines(includeCache.readFile(new File(modelDirectory, "3.dsl")), leadingSpace));
+    }
+
+    private File createWorkspaceWithIncludedDirectory(String... includedFiles) throws Exception {
+        File directory = Files.createTempDirectory("structurizr").toFile();
+        File modelDirectory = new File(directory, "model");
+        assertTrue(modelDirectory.mkdir());
+
+        for (int i = 0; i < includedFiles.length; i++) {
+            Files.writeString(new File(modelDirectory, (i + 1) + ".dsl").toPath(), includedFiles[i]);
+        }
+
+        File workspaceFile = new File(directory, "workspace.dsl");
+        Files.writeString(workspaceFile.toPath(), "workspace {\n    model {\n        !include model\n    }\n}");
+
+        return workspaceFile;
+    }
+
     @Test
     @Tag("IntegrationTest")
     void test_includeUrl() throws Exception {
@@ -120,4 +120,32 @@ class IdentifierRegisterTests extends AbstractTests {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    void test_register_ThrowsAnException_WhenTheIdentifierIsInUseCasedDifferently() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        try {
+            register.register("SoftwareSystem", a);
+            register.register("softwaresystem", b);
+            fail();
+        } catch (Exception e) {
+            assertEquals("The identifier \"softwaresystem\" is already in use", e.getMessage());
+        }
+    }
+
+    @Test
+    void test_findIdentifier() {
+        SoftwareSystem a = model.addSoftwareSystem("A");
+        SoftwareSystem b = model.addSoftwareSystem("B");
+        Relationship rel = a.uses(b, "Uses");
+        register.register("SoftwareSystemA", a);
+        register.register("Rel", rel);
+
+        assertEquals("SoftwareSystemA", register.findIdentifier(a));
+        assertNull(register.findIdentifier(b));
+        assertEquals("Rel", register.findIdentifier(rel));
+        assertNull(register.getElement(null));
+        assertNull(register.getRelationship("SoftwareSystemA"));
+    }
+
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TokenizerTests extends AbstractTests {
 
@@ -68,4 +70,37 @@ class TokenizerTests extends AbstractTests {
         assertEquals("User", tokens.get(3));
     }
 
-}
\ No newline at end of file
+    @Test
+    void tokenize_ReturnsTokens_WhenTheLastQuotedTokenIsNotClosed() {
+        List<String> tokens = new Tokenizer().tokenize("  person \"User  ");
+        assertEquals(2, tokens.size());
+        assertEquals("person", tokens.get(0));
+        assertEquals("User", tokens.get(1));
+    }
+
+    @Test
+    void tokenize_ReturnsAnEmptyToken_WhenTheLineIncludesAnEmptyQuotedToken() {
+        List<String> tokens = new Tokenizer().tokenize("person \"\" \"Description\"");
+        assertEquals(3, tokens.size());
+        assertEquals("", tokens.get(1));
+        assertEquals("Description", tokens.get(2));
+    }
+
+    @Test
+    void isEmpty() {
+        assertTrue(Tokenizer.isEmpty(""));
+        assertTrue(Tokenizer.isEmpty(" \t "));
+        assertFalse(Tokenizer.isEmpty(" } "));
+    }
+
+    @Test
+    void isComment() {
+        assertTrue(Tokenizer.isComment("// comment"));
+        assertTrue(Tokenizer.isComment("\t# comment"));
+        assertTrue(Tokenizer.isComment("  //"));
+        assertFalse(Tokenizer.isComment("/* comment */"));
+        assertFalse(Tokenizer.isComment("person \"User\" // comment"));
+        assertFalse(Tokenizer.isComment(""));
+    }
+
+}
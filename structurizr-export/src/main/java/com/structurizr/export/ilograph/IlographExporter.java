@@ -57,21 +57,21 @@ public class IlographExporter extends AbstractWorkspaceExporter {
         Model model = workspace.getModel();
         List<GroupableElement> elements = new ArrayList<>();
 
-        List<CustomElement> customElements = new ArrayList<>(model.getCustomElements());
+        List<CustomElement> customElements = new ArrayList<>(model.customElements());
         customElements.sort(Comparator.comparing(CustomElement::getId));
         for (CustomElement customElement : customElements) {
             writeElement(writer, workspace, customElement);
             elements.add(customElement);
         }
 
-        List<Person> people = new ArrayList<>(model.getPeople());
+        List<Person> people = new ArrayList<>(model.people());
         people.sort(Comparator.comparing(Person::getId));
         for (Person person : people) {
             writeElement(writer, workspace, person);
             elements.add(person);
         }
 
-        List<SoftwareSystem> softwareSystems = new ArrayList<>(model.getSoftwareSystems());
+        List<SoftwareSystem> softwareSystems = new ArrayList<>(model.softwareSystems());
         softwareSystems.sort(Comparator.comparing(SoftwareSystem::getId));
         for (SoftwareSystem softwareSystem : softwareSystems) {
             writeElement(writer, workspace, softwareSystem);
@@ -111,7 +111,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
             }
         }
 
-        List<DeploymentNode> deploymentNodes = new ArrayList<>(model.getDeploymentNodes());
+        List<DeploymentNode> deploymentNodes = new ArrayList<>(model.deploymentNodes());
         deploymentNodes.sort(Comparator.comparing(DeploymentNode::getId));
         for (DeploymentNode deploymentNode : deploymentNodes) {
             writeDeploymentNode(workspace, deploymentNode, writer);
@@ -124,7 +124,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
         elementTypes.add(Person.class);
         elementTypes.add(SoftwareSystem.class);
         for (GroupableElement element : elements) {
-            List<Relationship> sortedRelationships = new ArrayList<>(element.getRelationships());
+            List<Relationship> sortedRelationships = new ArrayList<>(element.relationships());
             sortedRelationships.sort(Comparator.comparing(Relationship::getId));
             for (Relationship relationship : sortedRelationships) {
                 if (include(relationship, elementTypes)) {
@@ -135,7 +135,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
 
         elementTypes.add(Container.class);
         for (GroupableElement element : elements) {
-            List<Relationship> sortedRelationships = new ArrayList<>(element.getRelationships());
+            List<Relationship> sortedRelationships = new ArrayList<>(element.relationships());
             sortedRelationships.sort(Comparator.comparing(Relationship::getId));
             for (Relationship relationship : sortedRelationships) {
                 if (include(relationship, elementTypes)) {
@@ -146,7 +146,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
 
         elementTypes.add(Component.class);
         for (GroupableElement element : elements) {
-            List<Relationship> sortedRelationships = new ArrayList<>(element.getRelationships());
+            List<Relationship> sortedRelationships = new ArrayList<>(element.relationships());
             sortedRelationships.sort(Comparator.comparing(Relationship::getId));
             for (Relationship relationship : sortedRelationships) {
                 if (include(relationship, elementTypes)) {
@@ -164,7 +164,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
         }
 
         Set<String> deploymentEnvironments = new HashSet<>();
-        for (DeploymentNode deploymentNode : model.getDeploymentNodes()) {
+        for (DeploymentNode deploymentNode : model.deploymentNodes()) {
             deploymentEnvironments.add(deploymentNode.getEnvironment());
         }
         List<String> sortedDeploymentEnvironments = new ArrayList<>(deploymentEnvironments);
@@ -359,7 +359,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
         writer.indent();
         writer.writeLine("relations:");
 
-        List<DeploymentNode> topLevelDeploymentNodes = workspace.getModel().getDeploymentNodes().stream().filter(dn -> dn.getEnvironment().equals(deploymentEnvironment)).sorted(Comparator.comparing(DeploymentNode::getId)).collect(Collectors.toList());
+        List<DeploymentNode> topLevelDeploymentNodes = workspace.getModel().deploymentNodes().stream().filter(dn -> dn.getEnvironment().equals(deploymentEnvironment)).sorted(Comparator.comparing(DeploymentNode::getId)).collect(Collectors.toList());
         List<Element> deploymentElementsInEnvironment = new ArrayList<>(topLevelDeploymentNodes);
         for (DeploymentNode deploymentNode : topLevelDeploymentNodes) {
             deploymentElementsInEnvironment.addAll(findAllChildren(deploymentNode));
@@ -415,7 +415,7 @@ public class IlographExporter extends AbstractWorkspaceExporter {
         List<Relationship> relationships = new ArrayList<>();
 
         for (Element element : elements) {
-            List<Relationship> sortedRelationships = new ArrayList<>(element.getRelationships());
+            List<Relationship> sortedRelationships = new ArrayList<>(element.relationships());
             sortedRelationships.sort(Comparator.comparing(Relationship::getId));
             for (Relationship relationship : sortedRelationships) {
                 if (elements.contains(relationship.getSource()) && elements.contains(relationship.getDestination())) {
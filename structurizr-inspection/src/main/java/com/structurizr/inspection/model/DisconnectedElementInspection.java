@@ -4,22 +4,12 @@ import com.structurizr.inspection.Inspector;
 import com.structurizr.inspection.Violation;
 import com.structurizr.model.DeploymentNode;
 import com.structurizr.model.Element;
-import com.structurizr.model.Relationship;
-
-import java.util.HashSet;
-import java.util.Set;
+import com.structurizr.model.Model;
 
 public class DisconnectedElementInspection extends AbstractElementInspection {
 
-    private final Set<String> elementsWithRelationships = new HashSet<>();
-
     public DisconnectedElementInspection(Inspector inspector) {
         super(inspector);
-
-        for (Relationship relationship : getWorkspace().getModel().getRelationships()) {
-            elementsWithRelationships.add(relationship.getSourceId());
-            elementsWithRelationships.add(relationship.getDestinationId());
-        }
     }
 
     @Override
@@ -29,7 +19,8 @@ public class DisconnectedElementInspection extends AbstractElementInspection {
             return noViolation();
         }
 
-        if (!elementsWithRelationships.contains(element.getId())) {
+        Model model = getWorkspace().getModel();
+        if (model.getEfferentRelationships(element).isEmpty() && model.getAfferentRelationships(element).isEmpty()) {
             return violation("The " + terminologyFor(element).toLowerCase() + " \"" + nameOf(element) + "\" is disconnected - add a relationship to/from it, or consider removing it from the model.");
         }
 
@@ -14,7 +14,7 @@ public class MultipleSoftwareSystemsDetailedInspection extends AbstractModelInsp
     @Override
     protected Violation inspect(Workspace workspace) {
         int softwareSystemsWithDetails = 0;
-        for (SoftwareSystem softwareSystem : workspace.getModel().getSoftwareSystems()) {
+        for (SoftwareSystem softwareSystem : workspace.getModel().softwareSystems()) {
             if (softwareSystem.hasContainers() || !softwareSystem.getDocumentation().isEmpty()) {
                 softwareSystemsWithDetails++;
             }